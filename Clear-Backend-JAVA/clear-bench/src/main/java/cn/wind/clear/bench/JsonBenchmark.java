@@ -0,0 +1,45 @@
+package cn.wind.clear.bench;
+
+import cn.wind.clear.json.JacksonObjectMapper;
+import cn.wind.clear.result.PageResult;
+import cn.wind.clear.result.Result;
+import cn.wind.clear.vo.TodoVO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分页查询响应 Result&lt;PageResult&lt;TodoVO&gt;&gt; 的 JSON 序列化
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Result<PageResult<TodoVO>> result;
+
+    @Setup
+    public void setup() {
+        objectMapper = new JacksonObjectMapper();
+        PageResult<TodoVO> pageResult = new PageResult<>();
+        pageResult.setTotal(1000L);
+        pageResult.setSize((long) pageSize);
+        pageResult.setCurrent(1L);
+        pageResult.setRecords(TodoFixtures.todoVOs(pageSize));
+        result = Result.success(pageResult);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(result);
+    }
+}
@@ -0,0 +1,49 @@
+package cn.wind.clear.bench;
+
+import cn.wind.clear.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 签发与校验
+ * <p>
+ * parseJWT 命中已校验令牌缓存，verifyJWT 每次完整验签，两者对比即缓存的收益
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "clear-bench-secret-key-clear-bench-secret-key";
+    private static final long TTL_MILLIS = 60 * 60 * 1000L;
+
+    private Map<String, Object> claims;
+    private String token;
+
+    @Setup
+    public void setup() {
+        claims = Map.of("userId", "1892834523472384001");
+        token = JwtUtil.createJWT(SECRET, TTL_MILLIS, claims);
+    }
+
+    @Benchmark
+    public String createJWT() {
+        return JwtUtil.createJWT(SECRET, TTL_MILLIS, claims);
+    }
+
+    @Benchmark
+    public Claims parseJWT() {
+        return JwtUtil.parseJWT(SECRET, token);
+    }
+
+    @Benchmark
+    public Claims verifyJWT() {
+        return JwtUtil.verifyJWT(SECRET, token);
+    }
+}
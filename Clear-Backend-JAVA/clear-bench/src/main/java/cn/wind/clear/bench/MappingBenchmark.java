@@ -0,0 +1,78 @@
+package cn.wind.clear.bench;
+
+import cn.wind.clear.converter.TodoConverter;
+import cn.wind.clear.entity.Todo;
+import cn.wind.clear.vo.TodoVO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一页 Todo 到 TodoVO 的转换
+ * <p>
+ * 比较反射拷贝(BeanUtils)、编译期生成的转换器(MapStruct)和手写 setter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private static final String CATEGORY_NAME = "默认";
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private List<Todo> todos;
+
+    @Setup
+    public void setup() {
+        todos = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            todos.add(TodoFixtures.todo(i));
+        }
+    }
+
+    @Benchmark
+    public List<TodoVO> copyProperties() {
+        return todos.stream()
+                .map(todo -> {
+                    TodoVO todoVO = new TodoVO();
+                    BeanUtils.copyProperties(todo, todoVO);
+                    todoVO.setCategoryName(CATEGORY_NAME);
+                    return todoVO;
+                })
+                .toList();
+    }
+
+    @Benchmark
+    public List<TodoVO> generated() {
+        return todos.stream()
+                .map(todo -> TodoConverter.INSTANCE.toVO(todo, CATEGORY_NAME))
+                .toList();
+    }
+
+    @Benchmark
+    public List<TodoVO> handwritten() {
+        return todos.stream()
+                .map(todo -> {
+                    TodoVO todoVO = new TodoVO();
+                    todoVO.setId(todo.getId());
+                    todoVO.setTitle(todo.getTitle());
+                    todoVO.setContent(todo.getContent());
+                    todoVO.setStatus(todo.getStatus());
+                    todoVO.setCategoryId(todo.getCategoryId());
+                    todoVO.setCategoryName(CATEGORY_NAME);
+                    todoVO.setDueDate(todo.getDueDate());
+                    todoVO.setCreatedAt(todo.getCreatedAt());
+                    todoVO.setUpdatedAt(todo.getUpdatedAt());
+                    return todoVO;
+                })
+                .toList();
+    }
+}
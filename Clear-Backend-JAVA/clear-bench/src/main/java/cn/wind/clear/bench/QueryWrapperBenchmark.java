@@ -0,0 +1,58 @@
+package cn.wind.clear.bench;
+
+import cn.wind.clear.entity.Todo;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分页查询条件的构造
+ * <p>
+ * 与 TodoServiceImpl.pageQuery 的条件一致，包含生成 SQL 片段时的 lambda 列名解析
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryWrapperBenchmark {
+
+    private static final String USER_ID = "1892834523472384001";
+    private static final String CATEGORY_ID = "1892834523472385001";
+
+    @Setup
+    public void setup() {
+        // lambda 列名解析依赖实体的表信息，服务中由 MyBatis-Plus 启动时初始化
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), Todo.class);
+    }
+
+    @Benchmark
+    public String userOnly() {
+        LambdaQueryWrapper<Todo> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(Todo::getUserId, USER_ID)
+                .orderByDesc(Todo::getDueDate)
+                .orderByDesc(Todo::getId);
+        return queryWrapper.getCustomSqlSegment();
+    }
+
+    @Benchmark
+    public String allConditions() {
+        String keyword = "会议";
+        LambdaQueryWrapper<Todo> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(Todo::getUserId, USER_ID)
+                .eq(Todo::getCategoryId, CATEGORY_ID)
+                .eq(Todo::getStatus, 0)
+                .and(w -> w.like(Todo::getTitle, keyword).or().like(Todo::getContent, keyword))
+                .ge(Todo::getDueDate, LocalDate.of(2025, 1, 1))
+                .lt(Todo::getDueDate, LocalDate.of(2025, 2, 1))
+                .orderByDesc(Todo::getDueDate)
+                .orderByDesc(Todo::getId);
+        return queryWrapper.getCustomSqlSegment();
+    }
+}
@@ -0,0 +1,40 @@
+package cn.wind.clear.bench;
+
+import cn.wind.clear.utils.JwtUtil;
+import cn.wind.clear.utils.RedisUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis key 的构造
+ * <p>
+ * 用户上下文以完整令牌拼接 key，令牌吊销以令牌摘要作为成员
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisKeyBenchmark {
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        token = JwtUtil.createJWT("clear-bench-secret-key-clear-bench-secret-key", 60 * 60 * 1000L,
+                Map.of("userId", "1892834523472384001"));
+    }
+
+    @Benchmark
+    public String contextKey() {
+        return RedisUtils.contextKey(token);
+    }
+
+    @Benchmark
+    public String revocationMember() {
+        return JwtUtil.digestHex(token);
+    }
+}
@@ -0,0 +1,52 @@
+package cn.wind.clear.bench;
+
+import cn.wind.clear.entity.Todo;
+import cn.wind.clear.vo.TodoVO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试使用的 To Do 数据
+ */
+final class TodoFixtures {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private TodoFixtures() {
+    }
+
+    static Todo todo(int i) {
+        return Todo.builder()
+                .id(String.valueOf(1892834523472384001L + i))
+                .title("待办事项 " + i)
+                .content("整理第 " + i + " 周的会议纪要并发送给项目组")
+                .status(i % 2)
+                .dueDate(BASE_TIME.plusDays(i))
+                .userId("1892834523472384001")
+                .categoryId("1892834523472385001")
+                .createdAt(BASE_TIME)
+                .updatedAt(BASE_TIME.plusHours(i))
+                .build();
+    }
+
+    static List<TodoVO> todoVOs(int size) {
+        List<TodoVO> todoVOs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Todo todo = todo(i);
+            todoVOs.add(TodoVO.builder()
+                    .id(todo.getId())
+                    .title(todo.getTitle())
+                    .content(todo.getContent())
+                    .status(todo.getStatus())
+                    .categoryId(todo.getCategoryId())
+                    .categoryName("默认")
+                    .dueDate(todo.getDueDate())
+                    .createdAt(todo.getCreatedAt())
+                    .updatedAt(todo.getUpdatedAt())
+                    .build());
+        }
+        return todoVOs;
+    }
+}
@@ -6,6 +6,7 @@ package cn.wind.clear.constant;
 public class MessageConstant {
     // 系统相关
     public static final String SYSTEM_ERROR = "系统异常，请稍后再试";
+    public static final String INVALID_ID = "无效的id";
 
     // 用户相关
     public static final String EMPTY_NAME = "缺少用户昵称";
@@ -16,4 +17,32 @@ public class MessageConstant {
     // Todo相关
     public static final String EMPTY_TITLE = "Todo的标题不能为空";
     public static final String DATE_EXPIRE = "截止日期不能小于当前时间";
+    public static final String INVALID_CURSOR = "无效的分页游标";
+    public static final String TODO_NOT_EXIST = "待办事项不存在";
+    public static final String TODO_CONCURRENT_UPDATE = "待办事项已被修改，请刷新后重试";
+    public static final String UNSUPPORTED_BATCH_OP = "不支持的批量操作";
+    public static final String EMPTY_BATCH_CONDITION = "缺少批量操作条件";
+    public static final String EMPTY_TARGET_STATUS = "缺少目标状态";
+    public static final String BATCH_NOT_EXECUTED = "批量操作中存在错误，未执行";
+    public static final String UNSUPPORTED_EXPORT_FORMAT = "不支持的导出格式";
+    public static final String UNSUPPORTED_IMPORT_FORMAT = "不支持的导入格式";
+    public static final String TITLE_TOO_LONG = "Todo的标题不能超过255个字符";
+    public static final String INVALID_DATE = "无效的日期格式";
+    public static final String INVALID_STATUS = "无效的状态";
+    public static final String INVALID_IMPORT_ROW = "无法解析的数据行";
+    public static final String IMPORT_LINE_TOO_LONG = "单行数据过长，停止导入";
+    public static final String IMPORT_MISSING_TITLE = "缺少title列，停止导入";
+    public static final String IMPORT_READ_FAILED = "读取导入数据失败，停止导入";
+    public static final String IMPORT_ROWS_EXCEEDED = "导入行数超过上限，停止导入";
+    public static final String IMPORT_BATCH_FAILED = "所在批次写入失败，未导入";
+
+    // 分类相关
+    public static final String CATEGORY_NOT_EXIST = "分类不存在";
+    public static final String CATEGORY_EXISTS = "分类已存在";
+    public static final String CATEGORY_NAME_TOO_LONG = "分类名称不能超过50个字符";
+
+    // 管理相关
+    public static final String RECORDING_IN_PROGRESS = "已有进行中的JFR录制";
+    public static final String RECORDING_NOT_STARTED = "没有可导出的JFR录制";
+    public static final String INVALID_RECORDING_SETTINGS = "无效的JFR配置";
 }
@@ -0,0 +1,45 @@
+package cn.wind.clear.context;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Redis 命令计数器
+ * <p>
+ * 统计当前请求以及进程启动以来发出的 Redis 命令数量
+ */
+public class RedisCommandCounter {
+
+    private static final ThreadLocal<int[]> REQUEST_COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    private static final LongAdder TOTAL_COUNT = new LongAdder();
+
+    public static void increment() {
+        REQUEST_COUNT.get()[0]++;
+        TOTAL_COUNT.increment();
+    }
+
+    /**
+     * 重置当前请求的计数
+     */
+    public static void reset() {
+        REQUEST_COUNT.get()[0] = 0;
+    }
+
+    /**
+     * 当前请求已发出的命令数
+     */
+    public static int getRequestCount() {
+        return REQUEST_COUNT.get()[0];
+    }
+
+    /**
+     * 进程启动以来发出的命令总数
+     */
+    public static long getTotalCount() {
+        return TOTAL_COUNT.sum();
+    }
+
+    public static void remove() {
+        REQUEST_COUNT.remove();
+    }
+}
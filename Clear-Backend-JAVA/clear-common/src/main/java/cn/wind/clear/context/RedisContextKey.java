@@ -0,0 +1,21 @@
+package cn.wind.clear.context;
+
+/**
+ * 用户上下文在 Redis 中的 key
+ * <p>
+ * 请求不再写入这个 key，用户身份只取自JWT；保留它只为注销时清除旧版本写入、尚未过期的条目。
+ * 不依赖 Servlet，clear-server(RedisUtils)与 clear-reactive 共用
+ */
+public class RedisContextKey {
+
+    // 用户上下文 ID 在 Redis 中的前缀
+    private static final String CONTEXT_KEY_PREFIX = "clear:context:user:";
+
+    /**
+     * @param header 令牌请求头的完整值，即 "Bearer &lt;jwt&gt;"
+     * @return key
+     */
+    public static String of(String header) {
+        return CONTEXT_KEY_PREFIX + header;
+    }
+}
@@ -0,0 +1,45 @@
+package cn.wind.clear.context;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQL 语句计数器
+ * <p>
+ * 统计当前请求以及进程启动以来执行的 SQL 语句数量
+ */
+public class SqlStatementCounter {
+
+    private static final ThreadLocal<int[]> REQUEST_COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    private static final LongAdder TOTAL_COUNT = new LongAdder();
+
+    public static void increment() {
+        REQUEST_COUNT.get()[0]++;
+        TOTAL_COUNT.increment();
+    }
+
+    /**
+     * 重置当前请求的计数
+     */
+    public static void reset() {
+        REQUEST_COUNT.get()[0] = 0;
+    }
+
+    /**
+     * 当前请求已执行的语句数
+     */
+    public static int getRequestCount() {
+        return REQUEST_COUNT.get()[0];
+    }
+
+    /**
+     * 进程启动以来执行的语句总数
+     */
+    public static long getTotalCount() {
+        return TOTAL_COUNT.sum();
+    }
+
+    public static void remove() {
+        REQUEST_COUNT.remove();
+    }
+}
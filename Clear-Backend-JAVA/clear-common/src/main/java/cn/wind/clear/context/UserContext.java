@@ -0,0 +1,24 @@
+package cn.wind.clear.context;
+
+/**
+ * 请求级用户上下文
+ * <p>
+ * 由 JwtTokenInterceptor 在校验令牌后写入，请求结束时清除，
+ * 业务代码读取当前用户ID时不再访问 Redis
+ */
+public class UserContext {
+
+    private static final ThreadLocal<String> CURRENT_ID = new ThreadLocal<>();
+
+    public static void setCurrentId(String id) {
+        CURRENT_ID.set(id);
+    }
+
+    public static String getCurrentId() {
+        return CURRENT_ID.get();
+    }
+
+    public static void removeCurrentId() {
+        CURRENT_ID.remove();
+    }
+}
@@ -0,0 +1,26 @@
+package cn.wind.clear.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 对象批量转换事件
+ */
+@Name("cn.wind.clear.BeanMapping")
+@Label("Bean Mapping")
+@Category({"Clear", "Mapping"})
+@Description("一批实体到 VO 的属性拷贝")
+public class BeanMappingEvent extends Event {
+
+    @Label("Source Type")
+    public Class<?> sourceType;
+
+    @Label("Target Type")
+    public Class<?> targetType;
+
+    @Label("Count")
+    public int count;
+}
@@ -0,0 +1,23 @@
+package cn.wind.clear.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JWT 校验事件
+ */
+@Name("cn.wind.clear.JwtVerification")
+@Label("JWT Verification")
+@Category({"Clear", "Security"})
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    @Label("Cached")
+    public boolean cached;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,31 @@
+package cn.wind.clear.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Redis 命令事件
+ * <p>
+ * 每条命令都会经过这里，默认不采集调用栈，且只记录耗时超过 1 ms 的命令，
+ * 需要全量记录时在 JFR 配置中把 threshold 调为 0 ms
+ */
+@Name("cn.wind.clear.RedisCommand")
+@Label("Redis Command")
+@Category({"Clear", "Redis"})
+@Description("通过 StringRedisTemplate 发出的一次 Redis 调用")
+@StackTrace(false)
+@Threshold("1 ms")
+public class RedisCommandEvent extends Event {
+
+    @Label("URI")
+    @Description("发起调用的接口")
+    public String uri;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,30 @@
+package cn.wind.clear.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * SQL 语句执行事件
+ */
+@Name("cn.wind.clear.SqlStatement")
+@Label("SQL Statement")
+@Category({"Clear", "Database"})
+@Description("发给数据库的一条 SQL 语句，耗时包含结果映射")
+public class SqlStatementEvent extends Event {
+
+    @Label("Statement Id")
+    public String statementId;
+
+    @Label("Fingerprint")
+    @Description("去掉字面量后的语句")
+    public String fingerprint;
+
+    @Label("Rows")
+    public long rows;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,23 @@
+package cn.wind.clear.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "clear.admin")
+public class AdminProperties {
+    /**
+     * 管理接口的访问令牌，通过请求头 X-Admin-Token 传递，为空时管理接口不可用
+     */
+    private String token;
+    /**
+     * JFR 录制的最长时间(秒)，超时后自动停止
+     */
+    private Integer maxRecordingSeconds = 300;
+    /**
+     * JFR 录制文件的临时目录，为空时使用系统临时目录
+     */
+    private String recordingDir;
+}
@@ -0,0 +1,23 @@
+package cn.wind.clear.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "clear.auth")
+public class AuthProperties {
+    /**
+     * 从Redis同步吊销名单到本地布隆过滤器的间隔(毫秒)
+     */
+    private Long revocationSyncInterval = 30000L;
+    /**
+     * 布隆过滤器预计容纳的吊销令牌数
+     */
+    private Integer bloomExpectedInsertions = 100000;
+    /**
+     * 布隆过滤器期望误判率
+     */
+    private Double bloomFalsePositiveRate = 0.01;
+}
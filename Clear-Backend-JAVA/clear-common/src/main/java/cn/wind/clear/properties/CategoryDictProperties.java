@@ -0,0 +1,19 @@
+package cn.wind.clear.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "clear.category-dict")
+public class CategoryDictProperties {
+    /**
+     * 进程内最多缓存的用户字典数
+     */
+    private Long maximumSize = 10000L;
+    /**
+     * 进程内字典的过期时间(毫秒)
+     */
+    private Long ttl = 600000L;
+}
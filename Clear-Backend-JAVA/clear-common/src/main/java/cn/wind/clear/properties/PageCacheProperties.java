@@ -0,0 +1,23 @@
+package cn.wind.clear.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "clear.page-cache")
+public class PageCacheProperties {
+    /**
+     * 是否缓存常用 To Do 首页查询序列化后的响应
+     */
+    private boolean enabled = true;
+    /**
+     * 缓存的响应总字节数上限，超出时淘汰最久未访问的用户
+     */
+    private Long maxBytes = 64L * 1024 * 1024;
+    /**
+     * 每个用户最多缓存的查询数
+     */
+    private Integer maxEntriesPerUser = 8;
+}
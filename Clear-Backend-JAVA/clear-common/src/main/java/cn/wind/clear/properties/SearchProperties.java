@@ -0,0 +1,31 @@
+package cn.wind.clear.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "clear.search")
+public class SearchProperties {
+    /**
+     * 是否启用倒排索引检索，关闭时关键字检索退回 LIKE 查询
+     */
+    private boolean enabled = true;
+    /**
+     * 索引快照文件路径
+     */
+    private String indexPath = "data/search-index.bin";
+    /**
+     * 是否保存和加载索引快照，数据库不持久化时(如 local 环境)应关闭
+     */
+    private boolean snapshot = true;
+    /**
+     * 快照保存与增量同步的间隔(毫秒)
+     */
+    private Long syncInterval = 300000L;
+    /**
+     * 索引命中数的上限，超过时退回 LIKE 查询，避免把过长的 id 列表传给 SQL；不会截断结果
+     */
+    private Integer maxMatches = 1000;
+}
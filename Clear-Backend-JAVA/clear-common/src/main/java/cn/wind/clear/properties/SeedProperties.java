@@ -0,0 +1,31 @@
+package cn.wind.clear.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "clear.seed")
+public class SeedProperties {
+    /**
+     * 生成的用户数，为 0 时不生成
+     */
+    private Integer users = 0;
+    /**
+     * 每个用户的 To Do 数量
+     */
+    private Integer todosPerUser = 100;
+    /**
+     * 生成用户的密码
+     */
+    private String password = "123456";
+    /**
+     * 随机数种子，相同的种子生成相同的内容
+     */
+    private Long randomSeed = 42L;
+    /**
+     * 每批插入的行数
+     */
+    private Integer batchSize = 1000;
+}
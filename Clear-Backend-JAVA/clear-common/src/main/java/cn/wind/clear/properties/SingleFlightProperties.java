@@ -0,0 +1,19 @@
+package cn.wind.clear.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "clear.single-flight")
+public class SingleFlightProperties {
+    /**
+     * 是否合并同一用户相同的并发查询
+     */
+    private boolean enabled = true;
+    /**
+     * 等待正在执行的相同查询的最长时间(毫秒)，超时后自行查询
+     */
+    private Long maxWait = 2000L;
+}
@@ -0,0 +1,23 @@
+package cn.wind.clear.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "clear.sql")
+public class SqlProperties {
+    /**
+     * 慢 SQL 阈值(毫秒)，超过时记录日志
+     */
+    private Long slowThreshold = 200L;
+    /**
+     * 最多统计的语句指纹数，超过后新的指纹不再统计
+     */
+    private Integer maxFingerprints = 1000;
+    /**
+     * 每个指纹保留的耗时样本数，用于计算分位数
+     */
+    private Integer reservoirSize = 1024;
+}
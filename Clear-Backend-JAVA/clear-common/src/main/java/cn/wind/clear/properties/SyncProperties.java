@@ -0,0 +1,28 @@
+package cn.wind.clear.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "clear.sync")
+public class SyncProperties {
+    /**
+     * 删除记录保留天数，水位早于该期限的客户端需要重新拉取全部数据
+     */
+    private Integer tombstoneRetentionDays = 30;
+    /**
+     * 返回的水位相对查询时间的回退量(毫秒)，覆盖尚未提交的事务和节点间的时钟偏差，
+     * 回退窗口内的数据会被重复返回，客户端按 id 覆盖即可
+     */
+    private Long watermarkLag = 5000L;
+    /**
+     * 增量同步每页每类数据(To Do、分类、删除记录)的最大数量
+     */
+    private Integer maxChanges = 500;
+    /**
+     * 过期删除记录的清理间隔(毫秒)
+     */
+    private Long purgeInterval = 3600000L;
+}
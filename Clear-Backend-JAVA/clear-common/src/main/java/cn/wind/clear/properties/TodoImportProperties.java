@@ -0,0 +1,23 @@
+package cn.wind.clear.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "clear.import")
+public class TodoImportProperties {
+    /**
+     * 每批插入的行数，每批在一个事务中提交
+     */
+    private Integer batchSize = 500;
+    /**
+     * 单次导入的最大行数，超过后停止读取，已提交的批次保留
+     */
+    private Long maxRows = 100000L;
+    /**
+     * 单行(CSV 为单条记录)的最大字符数，防止缺少换行或引号未闭合时无限缓冲
+     */
+    private Integer maxLineLength = 65536;
+}
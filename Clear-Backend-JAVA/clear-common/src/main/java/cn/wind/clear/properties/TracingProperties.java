@@ -0,0 +1,23 @@
+package cn.wind.clear.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "clear.tracing")
+public class TracingProperties {
+    /**
+     * 是否把结束的 span 以 JSON 行写入文件，用于离线分析
+     */
+    private boolean fileEnabled = false;
+    /**
+     * span 文件路径，每行一个 Zipkin v2 格式的 span
+     */
+    private String filePath = "logs/spans.ndjson";
+    /**
+     * 待写入 span 的队列长度，写满后丢弃新的 span
+     */
+    private Integer queueSize = 10000;
+}
@@ -15,4 +15,5 @@ public class PageResult<T> implements Serializable {
     private Long size;
     private Long current;
     private List<T> records;
+    private String nextCursor; // 游标分页时下一页的游标，没有下一页时为空
 }
@@ -0,0 +1,55 @@
+package cn.wind.clear.utils;
+
+/**
+ * 简单的布隆过滤器
+ * <p>
+ * 元素以摘要(至少16字节)形式加入，取摘要前16字节作为两个哈希值做双重哈希
+ */
+public class BloomFilter {
+
+    private final long[] bits;
+    private final long bitSize;
+    private final int numHashes;
+
+    /**
+     * @param expectedInsertions 预计插入的元素数量
+     * @param falsePositiveRate  期望误判率
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(expectedInsertions, 1);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        m = Math.max(m, 64);
+        this.bits = new long[(int) ((m + 63) >>> 6)];
+        this.bitSize = (long) bits.length << 6;
+        this.numHashes = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+    }
+
+    public synchronized void put(byte[] digest) {
+        long h1 = toLong(digest, 0);
+        long h2 = toLong(digest, 8);
+        for (int i = 0; i < numHashes; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+    }
+
+    public boolean mightContain(byte[] digest) {
+        long h1 = toLong(digest, 0);
+        long h2 = toLong(digest, 8);
+        for (int i = 0; i < numHashes; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long toLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,93 @@
+package cn.wind.clear.utils;
+
+import cn.wind.clear.context.RedisCommandCounter;
+import cn.wind.clear.jfr.RedisCommandEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 带命令计数的 StringRedisTemplate
+ * <p>
+ * opsForXxx()、delete() 等操作最终都会经过 execute(RedisCallback, boolean, boolean)，
+ * 在这里计数即可覆盖所有通过模板发出的命令。设置了 MeterRegistry 时同时按接口记录耗时，
+ * 设置了 Tracer 时每次调用生成一个 redis span。每次调用同时产生一个 JFR 事件
+ */
+public class CountingStringRedisTemplate extends StringRedisTemplate {
+
+    public static final String METRIC_NAME = "clear.redis.commands";
+
+    private MeterRegistry meterRegistry;
+    private Tracer tracer;
+    // 按接口缓存已注册的计时器，避免每条命令都走一遍 builder 和注册表查找
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public CountingStringRedisTemplate(RedisConnectionFactory connectionFactory) {
+        super(connectionFactory);
+    }
+
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void setTracer(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public <T> T execute(RedisCallback<T> action, boolean exposeConnection, boolean pipeline) {
+        RedisCommandCounter.increment();
+        RedisCommandEvent event = new RedisCommandEvent();
+        event.begin();
+        try {
+            T result = tracedExecute(action, exposeConnection, pipeline);
+            event.success = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.uri = MetricsUtils.currentUri();
+                event.commit();
+            }
+        }
+    }
+
+    private <T> T tracedExecute(RedisCallback<T> action, boolean exposeConnection, boolean pipeline) {
+        if (tracer == null) {
+            return timedExecute(action, exposeConnection, pipeline);
+        }
+        Span span = tracer.nextSpan().name("redis").tag("db.system", "redis").start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return timedExecute(action, exposeConnection, pipeline);
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private <T> T timedExecute(RedisCallback<T> action, boolean exposeConnection, boolean pipeline) {
+        if (meterRegistry == null) {
+            return super.execute(action, exposeConnection, pipeline);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.execute(action, exposeConnection, pipeline);
+        } finally {
+            timers.computeIfAbsent(MetricsUtils.currentUri(), uri -> Timer.builder(METRIC_NAME)
+                            .description("通过 StringRedisTemplate 发出的 Redis 命令")
+                            .tag("uri", uri)
+                            .register(meterRegistry))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
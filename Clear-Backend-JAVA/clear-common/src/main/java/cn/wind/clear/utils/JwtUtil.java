@@ -1,17 +1,29 @@
 package cn.wind.clear.utils;
 
+import cn.wind.clear.jfr.JwtVerificationEvent;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class JwtUtil {
 
+    // 已校验令牌缓存的容量
+    public static final int VERIFIED_CACHE_SIZE = 10000;
+
+    // 按密钥缓存的签名密钥、解析器和已校验令牌，密钥派生与解析器构建只做一次
+    private static final Map<String, Verifier> VERIFIERS = new ConcurrentHashMap<>();
+
     /**
      * 生成JWT
      *
@@ -21,8 +33,8 @@ public class JwtUtil {
      * @return
      */
     public static String createJWT(String secretKey, long ttlMillis, Map<String, Object> claims) {
-        // 1. 生成密钥
-        SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        // 1. 获取密钥
+        SecretKey key = verifier(secretKey).key();
 
         // 2. 生成JWT过期时间
         long expMillis = System.currentTimeMillis() + ttlMillis;
@@ -39,18 +51,104 @@ public class JwtUtil {
 
     /**
      * Token 解密
+     * <p>
+     * 近期校验过且未过期的令牌直接从缓存返回
      * @param secretKey
      * @param token
      * @return
      */
     public static Claims parseJWT(String secretKey, String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        Verifier verifier = verifier(secretKey);
+        byte[] digest = digest(token);
+        Claims claims = verifier.cache().get(digest);
+        boolean cached = claims != null;
+        boolean success = false;
+        try {
+            if (claims == null) {
+                claims = verifier.parser().parseSignedClaims(token).getPayload();
+                verifier.cache().put(digest, claims);
+            }
+            success = true;
+            return claims;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.cached = cached;
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Token 解密，不使用已校验令牌缓存，每次都完整校验签名
+     * @param secretKey
+     * @param token
+     * @return
+     */
+    public static Claims verifyJWT(String secretKey, String token) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        boolean success = false;
+        try {
+            Claims claims = verifier(secretKey).parser()
+                    .parseSignedClaims(token)
+                    .getPayload();
+            success = true;
+            return claims;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * 已校验令牌缓存，用于查看命中率等统计信息
+     * @param secretKey
+     * @return
+     */
+    public static VerifiedTokenCache getVerifiedTokenCache(String secretKey) {
+        return verifier(secretKey).cache();
+    }
+
+    private static Verifier verifier(String secretKey) {
+        return VERIFIERS.computeIfAbsent(secretKey, k -> {
+            SecretKey key = Keys.hmacShaKeyFor(k.getBytes(StandardCharsets.UTF_8));
+            JwtParser parser = Jwts.parser()
+                    .verifyWith(key)
+                    .build();
+            return new Verifier(key, parser, new VerifiedTokenCache(VERIFIED_CACHE_SIZE));
+        });
+    }
+
+    /**
+     * 计算令牌的SHA-256摘要，用于吊销名单等场景，避免直接存储令牌原文
+     * @param token
+     * @return
+     */
+    public static byte[] digest(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 令牌摘要的十六进制形式
+     * @param token
+     * @return
+     */
+    public static String digestHex(String token) {
+        return HexFormat.of().formatHex(digest(token));
+    }
 
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private record Verifier(SecretKey key, JwtParser parser, VerifiedTokenCache cache) {
     }
 
 }
@@ -0,0 +1,30 @@
+package cn.wind.clear.utils;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 指标工具类
+ */
+public class MetricsUtils {
+
+    // 不在请求中(如定时任务)时的 uri 标签
+    public static final String NO_URI = "none";
+
+    /**
+     * 当前请求匹配到的接口路径模板，如 /todo/deleteTodo/{id}，用作指标的 uri 标签
+     * <p>
+     * 使用模板而不是实际路径，避免标签基数随路径参数增长
+     * @return 路径模板，不在请求中或尚未匹配到接口时返回 none
+     */
+    public static String currentUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return NO_URI;
+        }
+        Object pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        return pattern == null ? NO_URI : pattern.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package cn.wind.clear.utils;
 
+import cn.wind.clear.context.RedisContextKey;
 import cn.wind.clear.properties.JwtProperties;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -7,8 +8,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.util.concurrent.TimeUnit;
-
 /**
  * Redis 工具类
  */
@@ -17,9 +16,6 @@ public class RedisUtils {
 
     private static StringRedisTemplate stringRedisTemplate;
 
-    // 用户上下文 ID 在 Redis 中的前缀
-    private static final String CONTEXT_KEY_PREFIX = "clear:context:user:";
-
     private static JwtProperties jwtProperties;
 
 
@@ -28,6 +24,15 @@ public class RedisUtils {
         RedisUtils.jwtProperties = jwtProperties;
     }
 
+    /**
+     * 用户上下文在 Redis 中的 key
+     * @param token 令牌请求头的完整值
+     * @return key
+     */
+    public static String contextKey(String token) {
+        return RedisContextKey.of(token);
+    }
+
     /**
      * 获取当前请求中的token
      * @return token字符串
@@ -41,59 +46,13 @@ public class RedisUtils {
         return null;
     }
 
-    /**
-     * 将用户ID存入Redis，使用token作为key
-     * @param userId 用户ID
-     * @param token 用户的token
-     */
-    public static void setCurrentId(String userId, String token) {
-        if (userId != null && token != null) {
-            String key = CONTEXT_KEY_PREFIX + token;
-            stringRedisTemplate.opsForValue().set(key, userId, jwtProperties.getTtl(), TimeUnit.MINUTES);
-        }
-    }
-
-    /**
-     * 将用户ID存入Redis，自动从当前请求获取token
-     * @param userId 用户ID
-     */
-    public static void setCurrentId(String userId) {
-        String token = getCurrentToken();
-        if (userId != null && token != null) {
-            String key = CONTEXT_KEY_PREFIX + token;
-            stringRedisTemplate.opsForValue().set(key, userId,  jwtProperties.getTtl(), TimeUnit.MINUTES);
-        }
-    }
-
-    /**
-     * 从Redis获取当前用户ID，使用指定token
-     * @param token 用户token
-     * @return 当前用户ID
-     */
-    public static String getCurrentId(String token) {
-        if (token != null) {
-            String key = CONTEXT_KEY_PREFIX + token;
-            return stringRedisTemplate.opsForValue().get(key);
-        }
-        return null;
-    }
-
-    /**
-     * 从Redis获取当前用户ID，自动从当前请求获取token
-     * @return 当前用户ID
-     */
-    public static String getCurrentId() {
-        String token = getCurrentToken();
-        return getCurrentId(token);
-    }
-
     /**
      * 从Redis清除当前用户ID，使用指定token
      * @param token 用户token
      */
     public static void clearCurrentId(String token) {
         if (token != null) {
-            String key = CONTEXT_KEY_PREFIX + token;
+            String key = contextKey(token);
             stringRedisTemplate.delete(key);
         }
     }
@@ -104,7 +63,7 @@ public class RedisUtils {
     public static void clearCurrentId() {
         String token = getCurrentToken();
         if (token != null) {
-            String key = CONTEXT_KEY_PREFIX + token;
+            String key = contextKey(token);
             stringRedisTemplate.delete(key);
         }
     }
@@ -0,0 +1,105 @@
+package cn.wind.clear.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 合并相同 key 的并发调用
+ * <p>
+ * 同一时刻相同 key 只有第一个调用(leader)真正执行，其余调用等待并共享它的结果或异常；
+ * leader 结束后即移除，之后的调用重新执行，不缓存结果。
+ * 等待超过上限时不再等待，自行执行，慢调用不会拖住所有请求
+ *
+ * @param <K> key 类型
+ * @param <V> 结果类型
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * 执行调用，相同 key 的并发调用共享一次执行
+     * @param key
+     * @param supplier 实际执行的调用
+     * @param maxWaitMillis 等待其它调用结果的最长时间(毫秒)
+     * @return
+     */
+    public V execute(K key, Supplier<V> supplier, long maxWaitMillis) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = calls.putIfAbsent(key, future);
+        if (inFlight == null) {
+            executions.increment();
+            try {
+                V value = supplier.get();
+                future.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                calls.remove(key, future);
+            }
+        }
+
+        try {
+            V value = inFlight.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+            shared.increment();
+            return value;
+        } catch (TimeoutException e) {
+            // 等待超时，自行执行
+            timeouts.increment();
+            executions.increment();
+            return supplier.get();
+        } catch (ExecutionException e) {
+            // 与 leader 抛出相同的异常
+            shared.increment();
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 实际执行的次数
+     */
+    public long getExecutionCount() {
+        return executions.sum();
+    }
+
+    /**
+     * 共享了其它调用结果的次数，即节省的执行次数
+     */
+    public long getSharedCount() {
+        return shared.sum();
+    }
+
+    /**
+     * 等待超时后自行执行的次数
+     */
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    /**
+     * 正在执行的调用数
+     */
+    public int inFlight() {
+        return calls.size();
+    }
+}
@@ -0,0 +1,40 @@
+package cn.wind.clear.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQL 工具类
+ */
+public class SqlUtils {
+
+    /**
+     * 把 IN 列表补齐到 2 的幂，多出的位置重复最后一个元素
+     * <p>
+     * IN 列表每种长度都会生成不同的 SQL 文本，各自占用一条预编译语句缓存；
+     * 补齐后长度只有 log2(n) 种，重复的值不影响查询结果
+     *
+     * @param values 列表，为 null 或空时原样返回
+     * @return 补齐后的新列表
+     */
+    public static <T> List<T> padInList(List<T> values) {
+        if (values == null || values.isEmpty()) {
+            return values;
+        }
+        int size = values.size();
+        int bucket = Integer.highestOneBit(size);
+        if (bucket < size) {
+            bucket <<= 1;
+        }
+        if (bucket == size) {
+            return values;
+        }
+        List<T> padded = new ArrayList<>(bucket);
+        padded.addAll(values);
+        T last = values.get(size - 1);
+        while (padded.size() < bucket) {
+            padded.add(last);
+        }
+        return padded;
+    }
+}
@@ -0,0 +1,110 @@
+package cn.wind.clear.utils;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 已校验令牌缓存
+ * <p>
+ * 以令牌摘要为 key 缓存校验通过的 Claims，容量有限(LRU淘汰)，
+ * 条目在令牌过期时失效。同一令牌的重复请求可以跳过 Base64 解码和 HMAC 校验。
+ * 访问顺序的 LinkedHashMap 在读取时也会调整顺序，所有访问都持有 lock
+ */
+public class VerifiedTokenCache {
+
+    private final int maxSize;
+
+    private final LinkedHashMap<ByteBuffer, Entry> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Entry> eldest) {
+                return size() > VerifiedTokenCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * 获取缓存的 Claims，未命中或已过期返回 null
+     * @param digest 令牌摘要
+     * @return
+     */
+    public Claims get(byte[] digest) {
+        ByteBuffer key = ByteBuffer.wrap(digest);
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+                entries.remove(key);
+                entry = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.claims;
+    }
+
+    /**
+     * 缓存校验通过的 Claims，没有过期时间的令牌不缓存
+     * @param digest 令牌摘要
+     * @param claims
+     */
+    public void put(byte[] digest, Claims claims) {
+        if (claims.getExpiration() == null) {
+            return;
+        }
+        Entry entry = new Entry(claims, claims.getExpiration().getTime());
+        lock.lock();
+        try {
+            entries.put(ByteBuffer.wrap(digest), entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 命中率，尚无请求时返回0
+     */
+    public double getHitRate() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Entry(Claims claims, long expiresAt) {
+    }
+}
@@ -0,0 +1,58 @@
+package cn.wind.clear.loadgen;
+
+/**
+ * 压测访问的接口
+ * <p>
+ * 同一个路径的不同查询方式分别统计，key 用于命令行中的 mix 参数
+ */
+public enum Endpoint {
+    REGISTER("register", "POST", "/user/register", 0),
+    LOGIN("login", "POST", "/user/login", 0),
+    PAGE("page", "GET", "/todo/page", 30),
+    CURSOR("cursor", "GET", "/todo/page", 10),
+    SEARCH("search", "GET", "/todo/page", 10),
+    DATE_FILTER("date", "GET", "/todo/page", 10),
+    CATEGORY_FILTER("category", "GET", "/todo/page", 5),
+    STATUS("status", "GET", "/user/status", 10),
+    CATEGORIES("categories", "GET", "/category/categories", 5),
+    CATEGORY_COUNTS("counts", "GET", "/category/counts", 5),
+    ADD_TODO("add", "POST", "/todo/addTodo", 10),
+    ADD_CATEGORY("add-category", "POST", "/category/add", 1);
+
+    private final String key;
+    private final String method;
+    private final String path;
+    private final int defaultWeight;
+
+    Endpoint(String key, String method, String path, int defaultWeight) {
+        this.key = key;
+        this.method = method;
+        this.path = path;
+        this.defaultWeight = defaultWeight;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    public static Endpoint ofKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("unknown endpoint in mix: " + key);
+    }
+}
@@ -0,0 +1,64 @@
+package cn.wind.clear.loadgen;
+
+import java.util.Arrays;
+
+/**
+ * 单个接口的请求统计
+ * <p>
+ * 保存全部延迟样本(微秒)，结束时排序计算精确的分位数
+ */
+public class EndpointStats {
+
+    private long[] samples = new long[1024];
+    private int count = 0;
+    private long errors = 0;
+
+    public synchronized void record(long latencyMicros, boolean success) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = latencyMicros;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    public synchronized Summary summarize() {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Summary(sorted, errors);
+    }
+
+    /**
+     * 统计结果，延迟单位为毫秒
+     */
+    public record Summary(long[] sorted, long errors) {
+
+        public long count() {
+            return sorted.length;
+        }
+
+        public double min() {
+            return sorted.length == 0 ? 0 : sorted[0] / 1000.0;
+        }
+
+        public double max() {
+            return sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000.0;
+        }
+
+        public double mean() {
+            return sorted.length == 0 ? 0 : Arrays.stream(sorted).average().orElse(0) / 1000.0;
+        }
+
+        /**
+         * 最近秩法计算分位数
+         */
+        public double percentile(double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+            return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))] / 1000.0;
+        }
+    }
+}
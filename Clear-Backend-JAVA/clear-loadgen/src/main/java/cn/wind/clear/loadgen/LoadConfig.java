@@ -0,0 +1,127 @@
+package cn.wind.clear.loadgen;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 压测参数，命令行以 --name=value 指定
+ * <pre>
+ * --base-url=http://localhost:8888/api   服务地址，包含 context-path
+ * --users=20                             虚拟用户数
+ * --duration=60                          持续时间(秒)，不含预热
+ * --ramp-up=10                           虚拟用户在多少秒内逐个启动
+ * --think-time=500                       两次请求之间的平均思考时间(毫秒)，按指数分布
+ * --accounts=register                    register: 注册新用户; login: 登录已有用户 {user-prefix}0..N-1
+ * --user-prefix=seed_                    登录已有用户时的用户名前缀，与 clear.seed 生成的用户一致
+ * --password=123456
+ * --token-header=Authorization           与服务端 clear.jwt.token-name 一致
+ * --mix=page:30,search:10,add:10         各接口的权重，未列出的接口使用默认权重
+ * --report=loadgen-report.json           报告文件
+ * --label=platform                       写入报告的标签，用于区分对比的场景(如 platform / virtual)
+ * --seed=42                              随机数种子
+ * </pre>
+ */
+public class LoadConfig {
+
+    private String baseUrl = "http://localhost:8888/api";
+    private int users = 20;
+    private int durationSeconds = 60;
+    private int rampUpSeconds = 10;
+    private long thinkTimeMillis = 500;
+    private boolean register = true;
+    private String userPrefix = "seed_";
+    private String password = "123456";
+    private String tokenHeader = "Authorization";
+    private String report = "loadgen-report.json";
+    private String label = "";
+    private long randomSeed = 42;
+    private final Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+
+    public static LoadConfig parse(String[] args) {
+        LoadConfig config = new LoadConfig();
+        for (Endpoint endpoint : Endpoint.values()) {
+            config.mix.put(endpoint, endpoint.getDefaultWeight());
+        }
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "base-url" -> config.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "users" -> config.users = Integer.parseInt(value);
+                case "duration" -> config.durationSeconds = Integer.parseInt(value);
+                case "ramp-up" -> config.rampUpSeconds = Integer.parseInt(value);
+                case "think-time" -> config.thinkTimeMillis = Long.parseLong(value);
+                case "accounts" -> config.register = !"login".equals(value);
+                case "user-prefix" -> config.userPrefix = value;
+                case "password" -> config.password = value;
+                case "token-header" -> config.tokenHeader = value;
+                case "report" -> config.report = value;
+                case "label" -> config.label = value;
+                case "seed" -> config.randomSeed = Long.parseLong(value);
+                case "mix" -> {
+                    for (String entry : value.split(",")) {
+                        String[] pair = entry.trim().split(":");
+                        config.mix.put(Endpoint.ofKey(pair[0]), Integer.parseInt(pair[1]));
+                    }
+                }
+                default -> throw new IllegalArgumentException("unknown option: --" + name);
+            }
+        }
+        return config;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getRampUpSeconds() {
+        return rampUpSeconds;
+    }
+
+    public long getThinkTimeMillis() {
+        return thinkTimeMillis;
+    }
+
+    public boolean isRegister() {
+        return register;
+    }
+
+    public String getUserPrefix() {
+        return userPrefix;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public String getTokenHeader() {
+        return tokenHeader;
+    }
+
+    public String getReport() {
+        return report;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public Map<Endpoint, Integer> getMix() {
+        return mix;
+    }
+}
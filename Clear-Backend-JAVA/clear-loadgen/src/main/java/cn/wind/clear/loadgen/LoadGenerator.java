@@ -0,0 +1,120 @@
+package cn.wind.clear.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 压测入口
+ * <p>
+ * 启动一组虚拟用户访问真实的 HTTP 接口，结束后按接口输出吞吐量和 p50/p95/p99 延迟，
+ * 同时写入 JSON 报告，便于不同版本之间对比(见 {@link ReportComparison})。参数见 {@link LoadConfig}
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.parse(args);
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+
+        // 虚拟用户在 ramp-up 内逐个启动，全部启动后再持续 duration 秒
+        Instant startedAt = Instant.now();
+        long now = System.nanoTime();
+        long rampUpNanos = Duration.ofSeconds(config.getRampUpSeconds()).toNanos();
+        long deadline = now + rampUpNanos + Duration.ofSeconds(config.getDurationSeconds()).toNanos();
+        List<Thread> threads = new ArrayList<>(config.getUsers());
+        for (int i = 0; i < config.getUsers(); i++) {
+            long startAt = now + rampUpNanos * i / Math.max(1, config.getUsers());
+            VirtualUser user = new VirtualUser(i, config, client, objectMapper, stats, startAt, deadline);
+            Thread thread = new Thread(user, "vu-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+        System.out.printf("%d virtual users against %s, ramp-up %ds, duration %ds%n",
+                config.getUsers(), config.getBaseUrl(), config.getRampUpSeconds(), config.getDurationSeconds());
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double elapsedSeconds = (System.nanoTime() - now) / 1e9;
+
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("startedAt", startedAt.toString());
+        report.put("elapsedSeconds", round(elapsedSeconds));
+        ObjectNode settings = report.putObject("config");
+        settings.put("label", config.getLabel());
+        settings.put("baseUrl", config.getBaseUrl());
+        settings.put("users", config.getUsers());
+        settings.put("durationSeconds", config.getDurationSeconds());
+        settings.put("rampUpSeconds", config.getRampUpSeconds());
+        settings.put("thinkTimeMillis", config.getThinkTimeMillis());
+        settings.put("accounts", config.isRegister() ? "register" : "login");
+        ObjectNode mix = settings.putObject("mix");
+        config.getMix().forEach((endpoint, weight) -> mix.put(endpoint.getKey(), weight));
+
+        ArrayNode endpoints = report.putArray("endpoints");
+        EndpointStats total = new EndpointStats();
+        System.out.printf("%-14s %-6s %-22s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "method", "path", "count", "errors", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)");
+        stats.forEach((endpoint, endpointStats) -> {
+            EndpointStats.Summary summary = endpointStats.summarize();
+            if (summary.count() == 0) {
+                return;
+            }
+            for (long sample : summary.sorted()) {
+                total.record(sample, true);
+            }
+            ObjectNode node = endpoints.addObject();
+            node.put("endpoint", endpoint.getKey());
+            node.put("method", endpoint.getMethod());
+            node.put("path", endpoint.getPath());
+            writeSummary(node, summary, elapsedSeconds);
+            System.out.printf("%-14s %-6s %-22s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.getKey(), endpoint.getMethod(), endpoint.getPath(), summary.count(), summary.errors(),
+                    summary.count() / elapsedSeconds, summary.percentile(50), summary.percentile(95),
+                    summary.percentile(99), summary.max());
+        });
+        long errors = stats.values().stream().mapToLong(s -> s.summarize().errors()).sum();
+        EndpointStats.Summary totalSummary = total.summarize();
+        writeSummary(report.putObject("total"), new EndpointStats.Summary(totalSummary.sorted(), errors), elapsedSeconds);
+        System.out.printf("total: %d requests, %d errors, %.1f req/s, p99 %.2f ms%n",
+                totalSummary.count(), errors, totalSummary.count() / elapsedSeconds, totalSummary.percentile(99));
+
+        objectMapper.writeValue(new File(config.getReport()), report);
+        System.out.println("report written to " + config.getReport());
+    }
+
+    private static void writeSummary(ObjectNode node, EndpointStats.Summary summary, double elapsedSeconds) {
+        node.put("count", summary.count());
+        node.put("errors", summary.errors());
+        node.put("throughput", round(summary.count() / elapsedSeconds));
+        ObjectNode latency = node.putObject("latencyMs");
+        latency.put("min", round(summary.min()));
+        latency.put("mean", round(summary.mean()));
+        latency.put("p50", round(summary.percentile(50)));
+        latency.put("p95", round(summary.percentile(95)));
+        latency.put("p99", round(summary.percentile(99)));
+        latency.put("max", round(summary.max()));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
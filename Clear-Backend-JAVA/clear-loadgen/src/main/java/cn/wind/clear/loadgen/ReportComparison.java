@@ -0,0 +1,82 @@
+package cn.wind.clear.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 对比两份压测报告
+ * <p>
+ * 按接口输出吞吐量、错误数和 p50/p95/p99 延迟及其变化，例如对比平台线程与虚拟线程:
+ * <pre>
+ * java -cp loadgen.jar cn.wind.clear.loadgen.ReportComparison platform.json virtual.json
+ * </pre>
+ */
+public class ReportComparison {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("usage: ReportComparison <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode baseline = objectMapper.readTree(new File(args[0]));
+        JsonNode candidate = objectMapper.readTree(new File(args[1]));
+        System.out.printf("baseline:  %s (%s, %d users)%n", args[0],
+                baseline.path("config").path("label").asText(), baseline.path("config").path("users").asInt());
+        System.out.printf("candidate: %s (%s, %d users)%n%n", args[1],
+                candidate.path("config").path("label").asText(), candidate.path("config").path("users").asInt());
+
+        System.out.printf("%-10s %-8s %12s %12s %12s %12s %12s%n",
+                "endpoint", "", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms");
+        Map<String, JsonNode> baselineEndpoints = byEndpoint(baseline);
+        Map<String, JsonNode> candidateEndpoints = byEndpoint(candidate);
+        for (Map.Entry<String, JsonNode> entry : candidateEndpoints.entrySet()) {
+            JsonNode before = baselineEndpoints.get(entry.getKey());
+            if (before != null) {
+                print(entry.getKey(), before, entry.getValue());
+            }
+        }
+        print("total", baseline.path("total"), candidate.path("total"));
+    }
+
+    private static Map<String, JsonNode> byEndpoint(JsonNode report) {
+        Map<String, JsonNode> endpoints = new LinkedHashMap<>();
+        for (JsonNode node : report.path("endpoints")) {
+            if (node.path("count").asLong() > 0) {
+                endpoints.put(node.path("endpoint").asText(), node);
+            }
+        }
+        return endpoints;
+    }
+
+    private static void print(String name, JsonNode before, JsonNode after) {
+        row(name, "base", before);
+        row("", "cand", after);
+        System.out.printf("%-10s %-8s %12s %12s %12s %12s %12s%n", "", "change",
+                change(before.path("throughput"), after.path("throughput")),
+                after.path("errors").asLong() - before.path("errors").asLong(),
+                change(before.path("latencyMs").path("p50"), after.path("latencyMs").path("p50")),
+                change(before.path("latencyMs").path("p95"), after.path("latencyMs").path("p95")),
+                change(before.path("latencyMs").path("p99"), after.path("latencyMs").path("p99")));
+    }
+
+    private static void row(String name, String kind, JsonNode node) {
+        System.out.printf("%-10s %-8s %12.1f %12d %12.2f %12.2f %12.2f%n", name, kind,
+                node.path("throughput").asDouble(), node.path("errors").asLong(),
+                node.path("latencyMs").path("p50").asDouble(),
+                node.path("latencyMs").path("p95").asDouble(),
+                node.path("latencyMs").path("p99").asDouble());
+    }
+
+    private static String change(JsonNode before, JsonNode after) {
+        double base = before.asDouble();
+        if (base == 0) {
+            return "-";
+        }
+        return String.format("%+.1f%%", (after.asDouble() - base) / base * 100);
+    }
+}
@@ -0,0 +1,226 @@
+package cn.wind.clear.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 虚拟用户
+ * <p>
+ * 注册或登录后按权重随机访问接口，两次请求之间按指数分布思考，模拟一个真实用户的会话
+ */
+public class VirtualUser implements Runnable {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    // 与 clear.seed 生成的内容中的词一致，保证检索有结果
+    private static final String[] KEYWORDS = {"周报", "会议", "代码评审", "预算", "review", "Redis", "upgrade", "体检"};
+    private static final String[] TITLES = {"整理周报", "准备会议材料", "review release notes", "预约体检", "检查 Redis 缓存"};
+
+    private final int index;
+    private final LoadConfig config;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final Map<Endpoint, EndpointStats> stats;
+    private final long startAtNanos;
+    private final long deadlineNanos;
+    private final Random random;
+    private final Endpoint[] weighted;
+
+    private String token;
+    private final List<String> categoryIds = new ArrayList<>();
+    private String cursor;
+    private int created = 0;
+
+    public VirtualUser(int index, LoadConfig config, HttpClient client, ObjectMapper objectMapper,
+                       Map<Endpoint, EndpointStats> stats, long startAtNanos, long deadlineNanos) {
+        this.index = index;
+        this.config = config;
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.stats = stats;
+        this.startAtNanos = startAtNanos;
+        this.deadlineNanos = deadlineNanos;
+        this.random = new Random(config.getRandomSeed() + index);
+        this.weighted = weightedEndpoints(config.getMix());
+    }
+
+    /**
+     * 按权重展开接口，随机取一个下标即按权重选择
+     */
+    private static Endpoint[] weightedEndpoints(Map<Endpoint, Integer> mix) {
+        List<Endpoint> endpoints = new ArrayList<>();
+        mix.forEach((endpoint, weight) -> {
+            if (endpoint != Endpoint.REGISTER && endpoint != Endpoint.LOGIN) {
+                for (int i = 0; i < weight; i++) {
+                    endpoints.add(endpoint);
+                }
+            }
+        });
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("mix has no endpoint with a positive weight");
+        }
+        return endpoints.toArray(new Endpoint[0]);
+    }
+
+    @Override
+    public void run() {
+        try {
+            sleepNanos(startAtNanos - System.nanoTime());
+            if (!this.authenticate()) {
+                return;
+            }
+            this.refreshCategories(Endpoint.CATEGORIES);
+            while (System.nanoTime() < deadlineNanos) {
+                this.execute(weighted[random.nextInt(weighted.length)]);
+                this.think();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean authenticate() throws InterruptedException {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("password", config.getPassword());
+        JsonNode data;
+        if (config.isRegister()) {
+            body.put("username", "lg_" + Long.toString(config.getRandomSeed(), 36) + "_"
+                    + Long.toString(System.currentTimeMillis(), 36) + "_" + index);
+            data = this.request(Endpoint.REGISTER, Endpoint.REGISTER.getPath(), body);
+        } else {
+            body.put("username", config.getUserPrefix() + index);
+            data = this.request(Endpoint.LOGIN, Endpoint.LOGIN.getPath(), body);
+        }
+        if (data == null || !data.hasNonNull("tk")) {
+            return false;
+        }
+        token = data.get("tk").asText();
+        return true;
+    }
+
+    private void execute(Endpoint endpoint) throws InterruptedException {
+        switch (endpoint) {
+            case PAGE -> this.request(endpoint, "/todo/page?page=" + (1 + random.nextInt(3)) + "&pageSize=10", null);
+            case CURSOR -> {
+                String path = "/todo/page?pageSize=10" + (cursor == null ? "" : "&cursor=" + encode(cursor));
+                JsonNode data = this.request(endpoint, path, null);
+                // 翻到最后一页后从首页重新开始
+                cursor = data != null && data.hasNonNull("nextCursor") ? data.get("nextCursor").asText() : null;
+            }
+            case SEARCH -> this.request(endpoint, "/todo/page?page=1&pageSize=10&keyword="
+                    + encode(KEYWORDS[random.nextInt(KEYWORDS.length)]), null);
+            case DATE_FILTER -> {
+                LocalDate start = LocalDate.now().plusDays(random.nextInt(60) - 30);
+                LocalDate end = start.plusDays(1 + random.nextInt(14));
+                this.request(endpoint, "/todo/page?page=1&pageSize=10&startDate=" + start + "&endDate=" + end, null);
+            }
+            case CATEGORY_FILTER -> {
+                if (categoryIds.isEmpty()) {
+                    this.execute(Endpoint.PAGE);
+                    return;
+                }
+                this.request(endpoint, "/todo/page?page=1&pageSize=10&categoryId="
+                        + categoryIds.get(random.nextInt(categoryIds.size())), null);
+            }
+            case STATUS, CATEGORY_COUNTS -> this.request(endpoint, endpoint.getPath(), null);
+            case CATEGORIES -> this.refreshCategories(endpoint);
+            case ADD_TODO -> {
+                ObjectNode body = objectMapper.createObjectNode();
+                body.put("title", TITLES[random.nextInt(TITLES.length)] + " " + (++created));
+                body.put("content", "created by loadgen user " + index);
+                body.put("dueDate", LocalDateTime.now().plusDays(1 + random.nextInt(30)).withNano(0).format(DATE_TIME));
+                if (!categoryIds.isEmpty()) {
+                    body.put("categoryId", categoryIds.get(random.nextInt(categoryIds.size())));
+                }
+                this.request(endpoint, endpoint.getPath(), body);
+            }
+            case ADD_CATEGORY -> {
+                ObjectNode body = objectMapper.createObjectNode();
+                body.put("name", "lg-" + index + "-" + (++created));
+                if (this.request(endpoint, endpoint.getPath(), body) != null) {
+                    this.refreshCategories(Endpoint.CATEGORIES);
+                }
+            }
+            default -> throw new IllegalStateException("not a session endpoint: " + endpoint);
+        }
+    }
+
+    private void refreshCategories(Endpoint endpoint) throws InterruptedException {
+        JsonNode data = this.request(endpoint, Endpoint.CATEGORIES.getPath(), null);
+        if (data != null && data.isArray()) {
+            categoryIds.clear();
+            data.forEach(category -> categoryIds.add(category.get("categoryId").asText()));
+        }
+    }
+
+    /**
+     * 发送请求并记录延迟，HTTP 状态不是 200 或 Result.code 不是 1 时记为失败
+     *
+     * @return Result.data，失败时返回 null
+     */
+    private JsonNode request(Endpoint endpoint, String pathAndQuery, JsonNode body) throws InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(config.getBaseUrl() + pathAndQuery))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header(config.getTokenHeader(), "Bearer " + token);
+        }
+        builder.method(endpoint.getMethod(), body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body.toString()));
+
+        long start = System.nanoTime();
+        JsonNode data = null;
+        boolean success = false;
+        try {
+            HttpResponse<byte[]> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            long latency = System.nanoTime() - start;
+            if (response.statusCode() == 200) {
+                JsonNode result = objectMapper.readTree(response.body());
+                success = result.path("code").asInt() == 1;
+                data = success ? result.get("data") : null;
+            }
+            stats.get(endpoint).record(latency / 1000, success);
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            stats.get(endpoint).record((System.nanoTime() - start) / 1000, false);
+        }
+        return success && data == null ? objectMapper.nullNode() : data;
+    }
+
+    private void think() throws InterruptedException {
+        if (config.getThinkTimeMillis() <= 0) {
+            return;
+        }
+        // 指数分布，截断在平均值的 5 倍
+        double factor = Math.min(5, -Math.log(1 - random.nextDouble()));
+        sleepNanos((long) (factor * config.getThinkTimeMillis() * 1_000_000));
+    }
+
+    private static void sleepNanos(long nanos) throws InterruptedException {
+        if (nanos > 0) {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,32 @@
+package cn.wind.clear.converter;
+
+import cn.wind.clear.dto.CategoryDTO;
+import cn.wind.clear.entity.Category;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.factory.Mappers;
+
+@Mapper(config = ConverterConfig.class)
+public interface CategoryConverter {
+
+    CategoryConverter INSTANCE = Mappers.getMapper(CategoryConverter.class);
+
+    /**
+     * 新增的分类，id 由 ASSIGN_ID 生成，所属用户由调用方设置
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "userId", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    Category toEntity(CategoryDTO categoryDTO);
+
+    /**
+     * 用请求中的名称等字段覆盖已有分类，不修改 id
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "userId", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void update(CategoryDTO categoryDTO, @MappingTarget Category category);
+}
@@ -0,0 +1,15 @@
+package cn.wind.clear.converter;
+
+import org.mapstruct.Builder;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * 对象转换器的公共配置
+ * <p>
+ * 转换代码在编译期生成，目标对象中有未映射的属性时编译失败，新增或改名的字段必须显式映射或忽略。
+ * 不使用 Lombok 生成的 builder，生成的代码直接调用 setter
+ */
+@MapperConfig(unmappedTargetPolicy = ReportingPolicy.ERROR, builder = @Builder(disableBuilder = true))
+public interface ConverterConfig {
+}
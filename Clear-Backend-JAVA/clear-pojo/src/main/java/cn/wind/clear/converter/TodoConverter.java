@@ -0,0 +1,47 @@
+package cn.wind.clear.converter;
+
+import cn.wind.clear.dto.TodoBatchOperationDTO;
+import cn.wind.clear.dto.TodoDTO;
+import cn.wind.clear.dto.UpdateTodoDTO;
+import cn.wind.clear.entity.Todo;
+import cn.wind.clear.vo.TodoVO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+@Mapper(config = ConverterConfig.class)
+public interface TodoConverter {
+
+    TodoConverter INSTANCE = Mappers.getMapper(TodoConverter.class);
+
+    /**
+     * 新增的 To Do，状态、所属用户由调用方设置
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "userId", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    Todo toEntity(TodoDTO todoDTO);
+
+    /**
+     * 待更新的 To Do，未传的字段为 null，所属用户由调用方设置，不取自请求
+     */
+    @Mapping(target = "userId", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    Todo toEntity(UpdateTodoDTO updateTodoDTO);
+
+    /**
+     * 批量操作中的一项，所属用户由调用方设置
+     */
+    @Mapping(target = "userId", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    Todo toEntity(TodoBatchOperationDTO operation);
+
+    /**
+     * @param categoryName 分类名称，取自分类字典
+     */
+    TodoVO toVO(Todo todo, String categoryName);
+}
@@ -0,0 +1,23 @@
+package cn.wind.clear.converter;
+
+import cn.wind.clear.dto.UserLoginDTO;
+import cn.wind.clear.entity.User;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+@Mapper(config = ConverterConfig.class)
+public interface UserConverter {
+
+    UserConverter INSTANCE = Mappers.getMapper(UserConverter.class);
+
+    /**
+     * 登录凭证，只包含用户名和密码
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "email", ignore = true)
+    @Mapping(target = "theme", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    User toEntity(UserLoginDTO userLoginDTO);
+}
@@ -0,0 +1,14 @@
+package cn.wind.clear.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+public class TodoBatchDTO implements Serializable {
+    /**
+     * 批量操作，在同一个事务中执行
+     */
+    private List<TodoBatchOperationDTO> operations;
+}
@@ -0,0 +1,22 @@
+package cn.wind.clear.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+public class TodoBatchOperationDTO implements Serializable {
+    /**
+     * 操作类型: add、update、delete
+     */
+    private String op;
+    private String id;
+    private String title;
+    private String content;
+    private String categoryId;
+    private Integer status;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime dueDate;
+}
@@ -0,0 +1,21 @@
+package cn.wind.clear.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+@Data
+public class TodoBulkDTO implements Serializable {
+    /**
+     * 过滤条件: 分类
+     */
+    private String categoryId;
+    /**
+     * 过滤条件: 状态
+     */
+    private Integer status;
+    /**
+     * 批量修改状态时的目标状态
+     */
+    private Integer targetStatus;
+}
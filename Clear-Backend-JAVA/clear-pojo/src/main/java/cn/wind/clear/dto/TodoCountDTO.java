@@ -0,0 +1,15 @@
+package cn.wind.clear.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 按分类、状态分组的 To Do 数量
+ */
+@Data
+public class TodoCountDTO implements Serializable {
+    private String categoryId;
+    private Integer status;
+    private Long total;
+}
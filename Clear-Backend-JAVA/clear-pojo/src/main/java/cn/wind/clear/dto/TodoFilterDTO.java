@@ -0,0 +1,46 @@
+package cn.wind.clear.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * To Do 列表查询条件，对应 TodoMapper.xml 中的查询模板，为 null 的条件不参与查询
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoFilterDTO implements Serializable {
+    private String userId;
+    private String categoryId;
+    private Integer status;
+    /**
+     * 标题或内容模糊匹配，倒排索引不可用时使用
+     */
+    private String keyword;
+    /**
+     * 倒排索引检索到的 id，为空列表时没有结果
+     */
+    private List<String> ids;
+    /**
+     * 截止日期下界(含)
+     */
+    private LocalDateTime dueFrom;
+    /**
+     * 截止日期上界(不含)
+     */
+    private LocalDateTime dueTo;
+    /**
+     * 游标: 上一页最后一条的截止日期和 id
+     */
+    private LocalDateTime cursorDueDate;
+    private Long cursorId;
+    private Long offset;
+    private Integer limit;
+}
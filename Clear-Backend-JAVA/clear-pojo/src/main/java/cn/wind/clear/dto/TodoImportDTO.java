@@ -0,0 +1,21 @@
+package cn.wind.clear.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 导入文件中的一行 To Do，字段保持原始文本，由服务端统一校验和转换
+ */
+@Data
+public class TodoImportDTO implements Serializable {
+    private String title;
+    private String content;
+    // 0 未完成，1 已完成，为空时按未完成导入
+    private String status;
+    // 分类名称优先，不存在时自动创建；只有分类id时必须是当前用户的分类
+    private String categoryId;
+    private String categoryName;
+    // yyyy-MM-dd HH:mm[:ss]
+    private String dueDate;
+}
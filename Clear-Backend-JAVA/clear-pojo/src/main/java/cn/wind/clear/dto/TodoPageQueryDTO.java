@@ -26,4 +26,12 @@ public class TodoPageQueryDTO implements Serializable {
      * 全文检索
      * */
     private String keyword;
+    /**
+     * 分页游标，不传 page 时按游标分页，首页不传游标
+     * */
+    private String cursor;
+    /**
+     * 是否查询精确总数，不传时页码分页查询总数、游标分页使用计数器中的近似总数
+     * */
+    private Boolean withTotal;
 }
@@ -0,0 +1,21 @@
+package cn.wind.clear.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class Tombstone implements Serializable {
+    private String id; // 主键自增
+    private String userId; // 用户id 逻辑外键
+    private String entityType; // 被删除的数据类型: todo、category
+    private String entityId; // 被删除的数据id
+    private LocalDateTime deletedAt; // 删除时间
+}
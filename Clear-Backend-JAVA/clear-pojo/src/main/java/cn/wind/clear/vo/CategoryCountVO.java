@@ -0,0 +1,18 @@
+package cn.wind.clear.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CategoryCountVO implements Serializable {
+    private String categoryId;
+    private String categoryName;
+    private Long numOfTodo; // 分类下的 To Do 数量
+}
@@ -0,0 +1,32 @@
+package cn.wind.clear.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ChangesVO implements Serializable {
+    /**
+     * 下次同步时传入的水位(毫秒时间戳)，同一次同步的各页相同，取完所有分页后再保存
+     */
+    private Long watermark;
+    /**
+     * 水位早于删除记录的保留期限，需要重新拉取全部数据，此时其它字段为空
+     */
+    private Boolean fullResync;
+    private List<TodoVO> todos; // 新增或修改的 To Do
+    private List<CategoryVO> categories; // 新增或修改的分类
+    private List<String> deletedTodoIds; // 已删除的 To Do id
+    private List<String> deletedCategoryIds; // 已删除的分类 id，其下的 To Do 变为未分类
+    /**
+     * 下一页的游标，为 null 时已取完
+     */
+    private String nextCursor;
+}
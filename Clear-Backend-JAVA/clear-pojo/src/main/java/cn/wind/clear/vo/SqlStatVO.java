@@ -0,0 +1,26 @@
+package cn.wind.clear.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SqlStatVO implements Serializable {
+    private String fingerprint; // 去掉字面量后的语句
+    private String statementId; // 首次出现时的 mapper 方法
+    private Long count; // 执行次数
+    private Long errors; // 失败次数
+    private Long rows; // 返回或影响的总行数
+    private Double totalMs; // 总耗时
+    private Double meanMs; // 平均耗时
+    private Double maxMs; // 最大耗时
+    private Double p50Ms;
+    private Double p95Ms;
+    private Double p99Ms;
+}
@@ -0,0 +1,20 @@
+package cn.wind.clear.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TodoBatchResultVO implements Serializable {
+    private Integer index; // 操作在请求中的序号
+    private String op; // 操作类型
+    private String id; // To Do id, 新增时为生成的id
+    private Boolean success; // 是否成功
+    private String msg; // 失败原因
+}
@@ -0,0 +1,29 @@
+package cn.wind.clear.vo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+// 进度和错误只输出各自的字段
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TodoImportProgressVO implements Serializable {
+    public static final String TYPE_PROGRESS = "progress";
+    public static final String TYPE_ERROR = "error";
+    public static final String TYPE_DONE = "done";
+
+    private String type; // progress 每批提交后，error 单行失败，done 导入结束
+    private Integer line; // 出错数据在文件中的行号，仅 error
+    private String msg; // 错误信息，仅 error
+    private Long processed; // 已读取的行数
+    private Long imported; // 已导入的数量
+    private Long failed; // 失败的行数
+    private Integer createdCategories; // 自动创建的分类数量
+}
@@ -0,0 +1,27 @@
+package cn.wind.clear.reactive;
+
+import cn.wind.clear.properties.AuthProperties;
+import cn.wind.clear.properties.JwtProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 非阻塞版本的启动类
+ * <p>
+ * 只扫描 cn.wind.clear.reactive，clear-common 中依赖 Servlet 的组件不会被加载。
+ * <p>
+ * 不支持与 clear-server 同时对外提供服务：这里的写入不会更新 clear-server 的 Redis 计数、检索索引、
+ * 数据版本(ETag 与首页缓存)，也不写删除记录，clear-server 会返回过期的数量、检索结果和缓存页面。
+ * 只用于单独部署，或在独立的数据库上与 clear-server 对比压测
+ */
+@SpringBootApplication
+@Import({JwtProperties.class, AuthProperties.class})
+@Slf4j
+public class ClearReactiveApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ClearReactiveApplication.class, args);
+        log.info("Clear Reactive Server started!");
+    }
+}
@@ -0,0 +1,30 @@
+package cn.wind.clear.reactive.config;
+
+import cn.wind.clear.json.JacksonObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * 配置类，注册WebFlux相关组件
+ */
+@Configuration
+@Slf4j
+public class WebFluxConfiguration implements WebFluxConfigurer {
+
+    /**
+     * 使用与 clear-server 相同的对象转换器，日期格式保持一致
+     * @param configurer
+     */
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        log.info("扩展消息编解码器");
+        JacksonObjectMapper objectMapper = new JacksonObjectMapper();
+        configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper, MediaType.APPLICATION_JSON));
+        configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper, MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,23 @@
+package cn.wind.clear.reactive.context;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * 响应式的用户上下文
+ * <p>
+ * 请求不固定在某个线程上执行，用户 id 由 JwtAuthenticationFilter 写入 Reactor Context，
+ * 代替 clear-server 中基于 ThreadLocal 的 UserContext
+ */
+public class ReactiveUserContext {
+
+    private static final String USER_ID_KEY = ReactiveUserContext.class.getName() + ".USER_ID";
+
+    public static Context withCurrentId(String userId) {
+        return Context.of(USER_ID_KEY, userId);
+    }
+
+    public static Mono<String> getCurrentId() {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(context.<String>getOrEmpty(USER_ID_KEY)));
+    }
+}
@@ -0,0 +1,137 @@
+package cn.wind.clear.reactive.controller;
+
+import cn.wind.clear.constant.MessageConstant;
+import cn.wind.clear.dto.TodoBatchDTO;
+import cn.wind.clear.dto.TodoBulkDTO;
+import cn.wind.clear.dto.TodoDTO;
+import cn.wind.clear.dto.TodoPageQueryDTO;
+import cn.wind.clear.dto.UpdateTodoDTO;
+import cn.wind.clear.reactive.service.TodoService;
+import cn.wind.clear.result.PageResult;
+import cn.wind.clear.result.Result;
+import cn.wind.clear.vo.TodoBatchResultVO;
+import cn.wind.clear.vo.TodoVO;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Todo
+ */
+@RestController
+@RequestMapping("/todo")
+@Slf4j
+public class TodoController {
+
+    @Resource
+    TodoService todoService;
+
+    /**
+     * 添加待办事项
+     *
+     * @param todoDTO 待办事项数据传输对象，包含待办事项的详细信息
+     * @return 操作结果，成功返回success状态
+     */
+    @PostMapping("/addTodo")
+    public Mono<Result<String>> addTodo(@RequestBody TodoDTO todoDTO) {
+        return todoService.addTodo(todoDTO)
+                .thenReturn(Result.success("添加成功"));
+    }
+
+    /**
+     * 待办事项分页查询
+     * <p>
+     * 传 page 时按页码分页，否则按游标分页
+     *
+     * @param todoPageQueryDTO 分页查询参数，包含页码、每页大小等查询条件
+     * @return 分页结果，包含TodoVO列表和分页信息
+     */
+    @GetMapping("/page")
+    public Mono<Result<PageResult<TodoVO>>> pageTodo(TodoPageQueryDTO todoPageQueryDTO) {
+        return todoService.pageQuery(todoPageQueryDTO)
+                .map(Result::success);
+    }
+
+    /**
+     * 重建检索索引
+     * <p>
+     * 非阻塞版本没有内存倒排索引，关键字检索直接查询数据库，始终返回 0
+     *
+     * @return 重建后索引的待办事项数量
+     */
+    @PostMapping("/search/rebuild")
+    public Mono<Result<Integer>> rebuildSearchIndex() {
+        return Mono.just(Result.success(0));
+    }
+
+    /**
+     * 删除待办事项
+     *
+     * @param id 待删除的待办事项ID
+     * @return 操作结果，成功返回success状态
+     */
+    @DeleteMapping("/deleteTodo/{id}")
+    public Mono<Result<String>> deleteTodo(@PathVariable String id) {
+        return todoService.deleteTodo(id)
+                .thenReturn(Result.success("删除成功"));
+    }
+
+    /**
+     * 更新待办事项
+     *
+     * @param updateTodoDTO 待办事项更新数据传输对象，包含需要更新的字段
+     * @return 操作结果，成功返回success状态
+     */
+    @PutMapping("/updateTodo")
+    public Mono<Result<String>> updateTodo(@RequestBody UpdateTodoDTO updateTodoDTO) {
+        return todoService.updateTodo(updateTodoDTO)
+                .thenReturn(Result.success("更新成功"));
+    }
+
+    /**
+     * 批量操作待办事项
+     * <p>
+     * 在同一个事务中执行多条新增、更新、删除操作，任意一条不合法时全部不执行
+     *
+     * @param todoBatchDTO 批量操作，op 为 add、update 或 delete
+     * @return 与请求顺序一致的每条操作结果
+     */
+    @PostMapping("/batch")
+    public Mono<Result<List<TodoBatchResultVO>>> batch(@RequestBody TodoBatchDTO todoBatchDTO) {
+        return todoService.batch(todoBatchDTO).map(results -> {
+            if (results.stream().allMatch(TodoBatchResultVO::getSuccess)) {
+                return Result.success(results);
+            }
+            Result<List<TodoBatchResultVO>> result = Result.error(MessageConstant.BATCH_NOT_EXECUTED);
+            result.setData(results);
+            return result;
+        });
+    }
+
+    /**
+     * 按条件批量修改状态
+     *
+     * @param todoBulkDTO 过滤条件(分类、状态)及目标状态
+     * @return 修改的数量
+     */
+    @PutMapping("/batch/status")
+    public Mono<Result<Integer>> bulkUpdateStatus(@RequestBody TodoBulkDTO todoBulkDTO) {
+        return todoService.bulkUpdateStatus(todoBulkDTO)
+                .map(Result::success);
+    }
+
+    /**
+     * 按条件批量删除
+     *
+     * @param todoBulkDTO 过滤条件(分类、状态)
+     * @return 删除的数量
+     */
+    @DeleteMapping("/batch")
+    public Mono<Result<Integer>> bulkDelete(TodoBulkDTO todoBulkDTO) {
+        return todoService.bulkDelete(todoBulkDTO)
+                .map(Result::success);
+    }
+}
@@ -0,0 +1,154 @@
+package cn.wind.clear.reactive.controller;
+
+import cn.wind.clear.constant.JwtClaimsConstant;
+import cn.wind.clear.constant.MessageConstant;
+import cn.wind.clear.context.RedisContextKey;
+import cn.wind.clear.dto.UserDTO;
+import cn.wind.clear.dto.UserLoginDTO;
+import cn.wind.clear.entity.User;
+import cn.wind.clear.exception.BaseException;
+import cn.wind.clear.properties.JwtProperties;
+import cn.wind.clear.reactive.service.TokenRevocationService;
+import cn.wind.clear.reactive.service.UserService;
+import cn.wind.clear.result.Result;
+import cn.wind.clear.utils.JwtUtil;
+import cn.wind.clear.vo.UserLoginVO;
+import cn.wind.clear.vo.UserStatusVO;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+
+/**
+ * User
+ * */
+@RestController
+@RequestMapping("/user")
+@Slf4j
+public class UserController {
+
+    @Resource
+    UserService userService;
+    @Resource
+    private JwtProperties jwtProperties;
+    @Resource
+    private TokenRevocationService tokenRevocationService;
+    @Resource
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    /**
+     * 用户登录
+     *
+     * @param userLoginDTO 用户登录数据传输对象，包含用户名和密码
+     * @return 带有用户信息和认证令牌的登录结果
+     */
+    @PostMapping("/login")
+    public Mono<Result<UserLoginVO>> login(@RequestBody UserLoginDTO userLoginDTO) {
+        return userService.login(userLoginDTO)
+                .map(user -> Result.success(this.generateRes(user)));
+    }
+
+    /**
+     * 用户注册
+     *
+     * @param userDTO 用户数据传输对象，包含注册所需的用户信息
+     * @return 带有用户信息和认证令牌的注册结果
+     */
+    @PostMapping("/register")
+    public Mono<Result<UserLoginVO>> register(@RequestBody UserDTO userDTO) {
+        return userService.register(userDTO)
+                .switchIfEmpty(Mono.error(new BaseException(MessageConstant.SYSTEM_ERROR)))
+                .map(user -> Result.success(this.generateRes(user)));
+    }
+
+    /**
+     * 用户注销
+     * <p>
+     * 将当前令牌加入吊销名单，令牌在过期前都不能再使用
+     *
+     * @param request 当前请求，用于获取令牌
+     * @return 操作结果，成功返回提示信息
+     */
+    @PostMapping("/logout")
+    public Mono<Result<String>> logout(ServerHttpRequest request) {
+        // 过滤器已校验过令牌格式
+        String header = request.getHeaders().getFirst(jwtProperties.getTokenName());
+        String token = header.split(" ")[1];
+        // 旧版本按请求写入的用户上下文在令牌过期前仍留在Redis中，注销时一并清除
+        return tokenRevocationService.revoke(token)
+                .then(reactiveStringRedisTemplate.delete(RedisContextKey.of(header)))
+                .thenReturn(Result.success("注销成功"));
+    }
+
+    /**
+     * 更新用户主题设置
+     *
+     * @param theme 主题标识值，整数类型
+     * @return Result 操作结果，成功返回提示信息
+     */
+    @PutMapping("/theme/{theme}")
+    public Mono<Result<String>> updateTheme(@PathVariable Integer theme) {
+        return userService.updateTheme(theme)
+                .thenReturn(Result.success("主题更新成功"));
+    }
+
+    /**
+     * 发送简单文本邮件
+     *
+     * @param mail 收件人邮箱地址
+     * @return Result 发送结果，成功返回提示信息
+     */
+    @PostMapping("/send/{mail}")
+    public Mono<Result<String>> send(@PathVariable String mail) {
+        return Mono.just(Result.success("当前功能正在开发中,请耐心等待"));
+    }
+
+    /**
+     * 验证邮箱验证码
+     *
+     * @param mail 用户邮箱地址
+     * @param code 用户输入的验证码
+     * @return Result 验证结果，成功返回提示信息
+     */
+    @PostMapping("/check/{mail}/{code}")
+    public Mono<Result<String>> check(@PathVariable String mail, @PathVariable String code) {
+        return Mono.just(Result.success("当前功能正在开发中,请耐心等待"));
+    }
+
+    /**
+     * 获取用户状态信息
+     *
+     * @return Result 包含用户状态信息的结果对象
+     */
+    @GetMapping("/status")
+    public Mono<Result<UserStatusVO>> getUserStatus() {
+        return userService.getUserStatus()
+                .map(Result::success);
+    }
+
+    /**
+     * 生成响应结果
+     * */
+    private UserLoginVO generateRes(User user) {
+        // 登陆成功，生成JWT令牌
+        HashMap<String, Object> claims = new HashMap<>();
+        claims.put(JwtClaimsConstant.USER_ID, user.getId());
+        claims.put(JwtClaimsConstant.USER_NAME, user.getUsername());
+        String token = JwtUtil.createJWT(
+                jwtProperties.getSecretKey(),
+                jwtProperties.getTtl(),
+                claims
+        );
+
+        return UserLoginVO.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .tk(token)
+                .theme(user.getTheme())
+                .build();
+    }
+}
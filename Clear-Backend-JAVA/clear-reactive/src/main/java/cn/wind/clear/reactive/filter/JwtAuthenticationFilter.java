@@ -0,0 +1,93 @@
+package cn.wind.clear.reactive.filter;
+
+import cn.wind.clear.constant.JwtClaimsConstant;
+import cn.wind.clear.properties.JwtProperties;
+import cn.wind.clear.reactive.context.ReactiveUserContext;
+import cn.wind.clear.reactive.service.TokenRevocationService;
+import cn.wind.clear.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 校验JWT，代替 clear-server 中的 JwtTokenInterceptor，拦截路径与 WebMvcConfiguration 中的配置一致
+ * <p>
+ * 校验通过后用户 id 写入 Reactor Context，有状态模式下同时写入 Redis 中的用户上下文
+ */
+@Component
+@Slf4j
+public class JwtAuthenticationFilter implements WebFilter {
+
+    private static final List<PathPattern> INCLUDE_PATTERNS = parse("/user/**", "/todo/**", "/category/**");
+    private static final List<PathPattern> EXCLUDE_PATTERNS = parse("/user/login", "/user/register");
+
+    @Resource
+    private JwtProperties jwtProperties;
+    @Resource
+    private TokenRevocationService tokenRevocationService;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        if (!matches(INCLUDE_PATTERNS, path) || matches(EXCLUDE_PATTERNS, path)) {
+            return chain.filter(exchange);
+        }
+
+        // 1. 从请求头中获取令牌
+        String header = exchange.getRequest().getHeaders().getFirst(jwtProperties.getTokenName());
+        if (header == null) {
+            // 如果令牌不存在，响应401状态码
+            return unauthorized(exchange);
+        }
+        String[] res = header.split(" ");
+        if (res.length != 2 || !("Bearer".equals(res[0]))) {
+            // 如果令牌格式不正确，响应401状态码
+            return unauthorized(exchange);
+        }
+        String token = res[1];
+
+        // 2. 校验令牌
+        String userId;
+        try {
+            Claims claims = JwtUtil.parseJWT(jwtProperties.getSecretKey(), token);
+            userId = claims.get(JwtClaimsConstant.USER_ID).toString();
+        } catch (Exception e) {
+            // 不通过，响应401状态码
+            return unauthorized(exchange);
+        }
+
+        return tokenRevocationService.isRevoked(token).flatMap(revoked -> {
+            if (revoked) {
+                // 令牌已注销，响应401状态码
+                return unauthorized(exchange);
+            }
+            log.debug("当前用户id: {}", userId);
+            return chain.filter(exchange)
+                    .contextWrite(ReactiveUserContext.withCurrentId(userId));
+        });
+    }
+
+    private static Mono<Void> unauthorized(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        return exchange.getResponse().setComplete();
+    }
+
+    private static boolean matches(List<PathPattern> patterns, PathContainer path) {
+        return patterns.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    private static List<PathPattern> parse(String... patterns) {
+        return List.of(patterns).stream().map(PathPatternParser.defaultInstance::parse).toList();
+    }
+}
@@ -0,0 +1,77 @@
+package cn.wind.clear.reactive.repository;
+
+import cn.wind.clear.entity.Category;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.Resource;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static cn.wind.clear.reactive.repository.TodoRepository.toLong;
+import static cn.wind.clear.reactive.repository.TodoRepository.toStr;
+
+/**
+ * category 表的 R2DBC 访问，对应 clear-server 中的 CategoryMapper
+ */
+@Repository
+public class CategoryRepository {
+
+    private static final String COLUMNS = "id, user_id, name, created_at, updated_at";
+
+    @Resource
+    private DatabaseClient databaseClient;
+
+    public Flux<Category> findByUserId(String userId) {
+        return databaseClient.sql("select " + COLUMNS + " from category where user_id = :userId order by id")
+                .bind("userId", toLong(userId))
+                .map(CategoryRepository::toCategory)
+                .all();
+    }
+
+    public Mono<Category> findById(String userId, String id) {
+        return databaseClient.sql("select " + COLUMNS + " from category where user_id = :userId and id = :id")
+                .bind("userId", toLong(userId))
+                .bind("id", toLong(id))
+                .map(CategoryRepository::toCategory)
+                .one();
+    }
+
+    public Mono<Long> insert(Category category) {
+        return databaseClient.sql("insert into category (id, user_id, name) values (:id, :userId, :name)")
+                .bind("id", toLong(category.getId()))
+                .bind("userId", toLong(category.getUserId()))
+                .bind("name", category.getName())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> updateName(String userId, String id, String name) {
+        return databaseClient.sql("update category set name = :name where user_id = :userId and id = :id")
+                .bind("name", name)
+                .bind("userId", toLong(userId))
+                .bind("id", toLong(id))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> delete(String userId, String id) {
+        return databaseClient.sql("delete from category where user_id = :userId and id = :id")
+                .bind("userId", toLong(userId))
+                .bind("id", toLong(id))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static Category toCategory(Readable row) {
+        return Category.builder()
+                .id(toStr(row.get("id", Long.class)))
+                .userId(toStr(row.get("user_id", Long.class)))
+                .name(row.get("name", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,318 @@
+package cn.wind.clear.reactive.repository;
+
+import cn.wind.clear.constant.MessageConstant;
+import cn.wind.clear.dto.TodoCountDTO;
+import cn.wind.clear.dto.TodoFilterDTO;
+import cn.wind.clear.entity.Todo;
+import cn.wind.clear.exception.BaseException;
+import cn.wind.clear.utils.SqlUtils;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.Resource;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * todo 表的 R2DBC 访问，对应 clear-server 中的 TodoMapper 与 TodoMapper.xml
+ * <p>
+ * 过滤条件与游标条件和 TodoMapper.xml 的模板保持一致，条件组合有限，生成的 SQL 文本固定；
+ * 检索 id 的 IN 列表补齐到 2 的幂长度，只产生少数几种 SQL 文本
+ */
+@Repository
+public class TodoRepository {
+
+    private static final String COLUMNS =
+            "id, user_id, title, content, status, category_id, due_date, created_at, updated_at";
+
+    @Resource
+    private DatabaseClient databaseClient;
+
+    public Mono<Long> insert(Todo todo) {
+        return this.insertBatch(List.of(todo));
+    }
+
+    /**
+     * 多行 INSERT，一条语句写入全部数据
+     * @param todos id 已生成
+     * @return 写入的行数
+     */
+    public Mono<Long> insertBatch(List<Todo> todos) {
+        StringBuilder sql = new StringBuilder(
+                "insert into todo (id, user_id, title, content, status, category_id, due_date) values ");
+        Map<String, Object> params = new LinkedHashMap<>();
+        for (int i = 0; i < todos.size(); i++) {
+            Todo todo = todos.get(i);
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(:id").append(i)
+                    .append(", :userId").append(i)
+                    .append(", :title").append(i)
+                    .append(", :content").append(i)
+                    .append(", :status").append(i)
+                    .append(", :categoryId").append(i)
+                    .append(", :dueDate").append(i).append(")");
+            params.put("id" + i, toLong(todo.getId()));
+            params.put("userId" + i, toLong(todo.getUserId()));
+            params.put("title" + i, todo.getTitle());
+            params.put("content" + i, todo.getContent());
+            params.put("status" + i, todo.getStatus());
+            params.put("categoryId" + i, toLong(todo.getCategoryId()));
+            params.put("dueDate" + i, todo.getDueDate());
+        }
+        return bind(databaseClient.sql(sql.toString()), params, Map.of(
+                "content", String.class, "categoryId", Long.class, "dueDate", LocalDateTime.class))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Todo> findById(String userId, String id) {
+        return databaseClient.sql("select " + COLUMNS + " from todo where user_id = :userId and id = :id")
+                .bind("userId", toLong(userId))
+                .bind("id", toLong(id))
+                .map(TodoRepository::toTodo)
+                .one();
+    }
+
+    public Flux<Todo> findByIds(String userId, Collection<String> ids) {
+        return databaseClient.sql("select " + COLUMNS + " from todo where user_id = :userId and id in (:ids)")
+                .bind("userId", toLong(userId))
+                .bind("ids", ids.stream().map(TodoRepository::toLong).toList())
+                .map(TodoRepository::toTodo)
+                .all();
+    }
+
+    /**
+     * 按截止日期倒序的一页，截止日期为空的排在最后；传入游标时从上一页最后一条之后开始
+     */
+    public Flux<Todo> selectTodoList(TodoFilterDTO f) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("select ").append(COLUMNS).append(" from todo ");
+        appendFilter(sql, params, f);
+        if (f.getCursorId() != null) {
+            if (f.getCursorDueDate() != null) {
+                sql.append(" and (due_date < :cursorDueDate"
+                        + " or (due_date = :cursorDueDate and id < :cursorId)"
+                        + " or due_date is null)");
+                params.put("cursorDueDate", f.getCursorDueDate());
+            } else {
+                sql.append(" and due_date is null and id < :cursorId");
+            }
+            params.put("cursorId", f.getCursorId());
+        }
+        sql.append(" order by due_date desc, id desc");
+        if (f.getLimit() != null) {
+            sql.append(" limit :limit");
+            params.put("limit", f.getLimit());
+            if (f.getOffset() != null) {
+                sql.append(" offset :offset");
+                params.put("offset", f.getOffset());
+            }
+        }
+        return bind(databaseClient.sql(sql.toString()), params, Map.of())
+                .map(TodoRepository::toTodo)
+                .all();
+    }
+
+    public Mono<Long> countTodo(TodoFilterDTO f) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("select count(*) as total from todo ");
+        appendFilter(sql, params, f);
+        return bind(databaseClient.sql(sql.toString()), params, Map.of())
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    /**
+     * 按分类、状态统计用户的 To Do 数量
+     */
+    public Flux<TodoCountDTO> countByCategoryAndStatus(String userId) {
+        return databaseClient.sql("select category_id, status, count(*) as total from todo"
+                        + " where user_id = :userId group by category_id, status")
+                .bind("userId", toLong(userId))
+                .map(row -> {
+                    TodoCountDTO count = new TodoCountDTO();
+                    count.setCategoryId(toStr(row.get("category_id", Long.class)));
+                    count.setStatus(row.get("status", Integer.class));
+                    count.setTotal(row.get("total", Long.class));
+                    return count;
+                })
+                .all();
+    }
+
+    /**
+     * 只更新非空字段，并限定为当前用户的数据
+     * @return 更新的行数
+     */
+    public Mono<Long> update(Todo todo) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        List<String> sets = new ArrayList<>();
+        if (todo.getTitle() != null) {
+            sets.add("title = :title");
+            params.put("title", todo.getTitle());
+        }
+        if (todo.getContent() != null) {
+            sets.add("content = :content");
+            params.put("content", todo.getContent());
+        }
+        if (todo.getStatus() != null) {
+            sets.add("status = :status");
+            params.put("status", todo.getStatus());
+        }
+        if (todo.getCategoryId() != null) {
+            sets.add("category_id = :categoryId");
+            params.put("categoryId", toLong(todo.getCategoryId()));
+        }
+        if (todo.getDueDate() != null) {
+            sets.add("due_date = :dueDate");
+            params.put("dueDate", todo.getDueDate());
+        }
+        if (sets.isEmpty()) {
+            // 与 MyBatis-Plus 的 updateById 一致，没有可更新的字段时只确认记录存在
+            return this.findById(todo.getUserId(), todo.getId()).map(found -> 1L).defaultIfEmpty(0L);
+        }
+        params.put("userId", toLong(todo.getUserId()));
+        params.put("id", toLong(todo.getId()));
+        String sql = "update todo set " + String.join(", ", sets) + " where user_id = :userId and id = :id";
+        return bind(databaseClient.sql(sql), params, Map.of())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteByIds(String userId, Collection<String> ids) {
+        return databaseClient.sql("delete from todo where user_id = :userId and id in (:ids)")
+                .bind("userId", toLong(userId))
+                .bind("ids", ids.stream().map(TodoRepository::toLong).toList())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * 按条件批量修改状态，已经是目标状态的数据不会被改写
+     */
+    public Mono<Long> updateStatus(String userId, String categoryId, Integer status, Integer targetStatus) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("update todo set status = :targetStatus where user_id = :userId");
+        params.put("targetStatus", targetStatus);
+        params.put("userId", toLong(userId));
+        appendBulkFilter(sql, params, categoryId, status);
+        sql.append(" and status <> :targetStatus");
+        return bind(databaseClient.sql(sql.toString()), params, Map.of())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteByCondition(String userId, String categoryId, Integer status) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("delete from todo where user_id = :userId");
+        params.put("userId", toLong(userId));
+        appendBulkFilter(sql, params, categoryId, status);
+        return bind(databaseClient.sql(sql.toString()), params, Map.of())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static void appendBulkFilter(StringBuilder sql, Map<String, Object> params, String categoryId, Integer status) {
+        if (categoryId != null) {
+            sql.append(" and category_id = :categoryId");
+            params.put("categoryId", toLong(categoryId));
+        }
+        if (status != null) {
+            sql.append(" and status = :status");
+            params.put("status", status);
+        }
+    }
+
+    /**
+     * 列表过滤条件，与 TodoMapper.xml 中的 todoFilter 一致
+     */
+    private static void appendFilter(StringBuilder sql, Map<String, Object> params, TodoFilterDTO f) {
+        sql.append("where user_id = :userId");
+        params.put("userId", toLong(f.getUserId()));
+        if (f.getStatus() != null) {
+            sql.append(" and status = :status");
+            params.put("status", f.getStatus());
+        }
+        if (f.getCategoryId() != null) {
+            sql.append(" and category_id = :categoryId");
+            params.put("categoryId", toLong(f.getCategoryId()));
+        }
+        if (f.getDueFrom() != null) {
+            sql.append(" and due_date >= :dueFrom");
+            params.put("dueFrom", f.getDueFrom());
+        }
+        if (f.getDueTo() != null) {
+            sql.append(" and due_date < :dueTo");
+            params.put("dueTo", f.getDueTo());
+        }
+        if (f.getKeyword() != null) {
+            sql.append(" and (title like concat('%', :keyword, '%') or content like concat('%', :keyword, '%'))");
+            params.put("keyword", f.getKeyword());
+        }
+        if (f.getIds() != null && f.getIds().isEmpty()) {
+            sql.append(" and 1 = 0");
+        } else if (f.getIds() != null) {
+            sql.append(" and id in (:ids)");
+            params.put("ids", SqlUtils.padInList(f.getIds().stream().map(TodoRepository::toLong).toList()));
+        }
+    }
+
+    /**
+     * 绑定参数，值为空时按 nullTypes 中参数名前缀对应的类型绑定 NULL
+     */
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec,
+                                                          Map<String, Object> params,
+                                                          Map<String, Class<?>> nullTypes) {
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            if (param.getValue() != null) {
+                spec = spec.bind(param.getKey(), param.getValue());
+                continue;
+            }
+            Class<?> type = nullTypes.entrySet().stream()
+                    .filter(entry -> param.getKey().startsWith(entry.getKey()))
+                    .map(Map.Entry::getValue)
+                    .findFirst()
+                    .orElse(String.class);
+            spec = spec.bindNull(param.getKey(), type);
+        }
+        return spec;
+    }
+
+    private static Todo toTodo(Readable row) {
+        return Todo.builder()
+                .id(toStr(row.get("id", Long.class)))
+                .userId(toStr(row.get("user_id", Long.class)))
+                .title(row.get("title", String.class))
+                .content(row.get("content", String.class))
+                .status(row.get("status", Integer.class))
+                .categoryId(toStr(row.get("category_id", Long.class)))
+                .dueDate(row.get("due_date", LocalDateTime.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    /**
+     * 主键为 BIGINT，按 Long 绑定；非法 id 按业务异常返回，而不是 500
+     */
+    static Long toLong(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            throw new BaseException(MessageConstant.INVALID_ID);
+        }
+    }
+
+    static String toStr(Long id) {
+        return id == null ? null : id.toString();
+    }
+}
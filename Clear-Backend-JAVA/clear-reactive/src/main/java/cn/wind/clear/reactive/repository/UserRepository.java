@@ -0,0 +1,61 @@
+package cn.wind.clear.reactive.repository;
+
+import cn.wind.clear.entity.User;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.Resource;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static cn.wind.clear.reactive.repository.TodoRepository.toLong;
+import static cn.wind.clear.reactive.repository.TodoRepository.toStr;
+
+/**
+ * user 表的 R2DBC 访问，对应 clear-server 中的 UserMapper
+ */
+@Repository
+public class UserRepository {
+
+    private static final String COLUMNS = "id, username, password, email, theme, created_at, updated_at";
+
+    @Resource
+    private DatabaseClient databaseClient;
+
+    public Mono<User> findByUsername(String username) {
+        return databaseClient.sql("select " + COLUMNS + " from user where username = :username")
+                .bind("username", username)
+                .map(UserRepository::toUser)
+                .one();
+    }
+
+    public Mono<Long> insert(User user) {
+        return databaseClient.sql("insert into user (id, username, password) values (:id, :username, :password)")
+                .bind("id", toLong(user.getId()))
+                .bind("username", user.getUsername())
+                .bind("password", user.getPassword())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> updateTheme(String id, Integer theme) {
+        return databaseClient.sql("update user set theme = :theme where id = :id")
+                .bind("theme", theme)
+                .bind("id", toLong(id))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static User toUser(Readable row) {
+        return User.builder()
+                .id(toStr(row.get("id", Long.class)))
+                .username(row.get("username", String.class))
+                .password(row.get("password", String.class))
+                .email(row.get("email", String.class))
+                .theme(row.get("theme", Integer.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
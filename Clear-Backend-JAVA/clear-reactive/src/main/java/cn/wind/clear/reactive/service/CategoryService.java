@@ -0,0 +1,44 @@
+package cn.wind.clear.reactive.service;
+
+import cn.wind.clear.dto.CategoryDTO;
+import cn.wind.clear.vo.CategoryCountVO;
+import cn.wind.clear.vo.CategoryVO;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+public interface CategoryService {
+
+    /**
+     * 获取用户默认分类的 id，没有默认分类时为空
+     * @param userId
+     * @return
+     */
+    Mono<String> getDefaultCategoryId(String userId);
+
+    Mono<List<CategoryVO>> getCategories();
+
+    /**
+     * 获取分类数据及每个分类下的 To Do 数量
+     * @return
+     */
+    Mono<List<CategoryCountVO>> getCategoriesWithCount();
+
+    Mono<Void> addCategory(CategoryDTO categoryDTO);
+
+    Mono<Void> updateCategory(CategoryDTO categoryDTO);
+
+    /**
+     * 删除当前用户的分类
+     * @param id
+     */
+    Mono<Void> deleteCategory(String id);
+
+    /**
+     * 获取用户的分类字典(分类id -> 分类名称)
+     * @param userId
+     * @return
+     */
+    Mono<Map<String, String>> getCategoryNames(String userId);
+}
@@ -0,0 +1,80 @@
+package cn.wind.clear.reactive.service;
+
+import cn.wind.clear.dto.TodoBatchDTO;
+import cn.wind.clear.dto.TodoBulkDTO;
+import cn.wind.clear.dto.TodoDTO;
+import cn.wind.clear.dto.TodoPageQueryDTO;
+import cn.wind.clear.dto.UpdateTodoDTO;
+import cn.wind.clear.result.PageResult;
+import cn.wind.clear.vo.TodoBatchResultVO;
+import cn.wind.clear.vo.TodoVO;
+import cn.wind.clear.vo.UserStatusVO;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+public interface TodoService {
+    /**
+     * 添加to do
+     * @param todoDTO
+     */
+    Mono<Void> addTodo(TodoDTO todoDTO);
+
+    /**
+     * to do 分页查询
+     * @param todoPageQueryDTO
+     * @return
+     */
+    Mono<PageResult<TodoVO>> pageQuery(TodoPageQueryDTO todoPageQueryDTO);
+
+    /**
+     * to do 删除
+     * @param id
+     */
+    Mono<Void> deleteTodo(String id);
+
+    /**
+     * 更新to do
+     * @param updateTodoDTO
+     */
+    Mono<Void> updateTodo(UpdateTodoDTO updateTodoDTO);
+
+    /**
+     * 批量增删改 to do，在同一个事务中执行
+     * @param todoBatchDTO
+     * @return 每条操作的结果
+     */
+    Mono<List<TodoBatchResultVO>> batch(TodoBatchDTO todoBatchDTO);
+
+    /**
+     * 按条件批量修改 to do 状态
+     * @param todoBulkDTO
+     * @return 修改的数量
+     */
+    Mono<Integer> bulkUpdateStatus(TodoBulkDTO todoBulkDTO);
+
+    /**
+     * 按条件批量删除 to do
+     * @param todoBulkDTO
+     * @return 删除的数量
+     */
+    Mono<Integer> bulkDelete(TodoBulkDTO todoBulkDTO);
+
+    /**
+     * 获取用户的计数，由一条 GROUP BY 查询得到
+     * @param userId
+     * @return
+     */
+    Mono<TodoCounts> getCounts(String userId);
+
+    Mono<UserStatusVO> getTodoStatus(String userId);
+
+    /**
+     * @param done           已完成数量
+     * @param undone         未完成数量
+     * @param categoryTotals 分类id -> 该分类下的 To Do 数量
+     */
+    record TodoCounts(long done, long undone, Map<String, Long> categoryTotals) {
+    }
+}
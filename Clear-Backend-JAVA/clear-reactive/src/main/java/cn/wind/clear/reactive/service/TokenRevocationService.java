@@ -0,0 +1,19 @@
+package cn.wind.clear.reactive.service;
+
+import reactor.core.publisher.Mono;
+
+public interface TokenRevocationService {
+
+    /**
+     * 吊销令牌，令牌过期前都会被拒绝
+     * @param token
+     */
+    Mono<Void> revoke(String token);
+
+    /**
+     * 判断令牌是否已被吊销
+     * @param token
+     * @return
+     */
+    Mono<Boolean> isRevoked(String token);
+}
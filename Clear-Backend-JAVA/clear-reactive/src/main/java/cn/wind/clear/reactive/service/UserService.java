@@ -0,0 +1,26 @@
+package cn.wind.clear.reactive.service;
+
+import cn.wind.clear.dto.UserDTO;
+import cn.wind.clear.dto.UserLoginDTO;
+import cn.wind.clear.entity.User;
+import cn.wind.clear.vo.UserStatusVO;
+import reactor.core.publisher.Mono;
+
+public interface UserService {
+
+    /**
+     * 用户登陆
+     * @param userLoginDTO
+     */
+    Mono<User> login(UserLoginDTO userLoginDTO);
+
+    /**
+     * 用户注册
+     * @param userDTO
+     */
+    Mono<User> register(UserDTO userDTO);
+
+    Mono<Void> updateTheme(Integer theme);
+
+    Mono<UserStatusVO> getUserStatus();
+}
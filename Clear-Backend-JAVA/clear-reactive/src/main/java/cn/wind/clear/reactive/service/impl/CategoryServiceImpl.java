@@ -0,0 +1,140 @@
+package cn.wind.clear.reactive.service.impl;
+
+import cn.wind.clear.constant.CategoryConstant;
+import cn.wind.clear.constant.MessageConstant;
+import cn.wind.clear.converter.CategoryConverter;
+import cn.wind.clear.dto.CategoryDTO;
+import cn.wind.clear.dto.TodoCountDTO;
+import cn.wind.clear.entity.Category;
+import cn.wind.clear.exception.BaseException;
+import cn.wind.clear.reactive.context.ReactiveUserContext;
+import cn.wind.clear.reactive.repository.CategoryRepository;
+import cn.wind.clear.reactive.repository.TodoRepository;
+import cn.wind.clear.reactive.service.CategoryService;
+import cn.wind.clear.vo.CategoryCountVO;
+import cn.wind.clear.vo.CategoryVO;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import jakarta.annotation.Resource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static cn.wind.clear.constant.MessageConstant.SYSTEM_ERROR;
+
+@Service
+public class CategoryServiceImpl implements CategoryService {
+
+    @Resource
+    private CategoryRepository categoryRepository;
+    @Resource
+    private TodoRepository todoRepository;
+
+    @Override
+    public Mono<String> getDefaultCategoryId(String userId) {
+        return this.getCategoryNames(userId)
+                .flatMap(categories -> Mono.justOrEmpty(categories.entrySet().stream()
+                        .filter(entry -> entry.getValue().equals(CategoryConstant.DEFAULT_CATEGORY))
+                        .map(Map.Entry::getKey)
+                        .findFirst()));
+    }
+
+    /**
+     * 获取用户的分类数据
+     *
+     * @return
+     */
+    @Override
+    public Mono<List<CategoryVO>> getCategories() {
+        return ReactiveUserContext.getCurrentId()
+                .flatMap(this::getCategoryNames)
+                .map(categories -> categories.entrySet().stream()
+                        .map(entry -> new CategoryVO(entry.getKey(), entry.getValue()))
+                        .toList());
+    }
+
+    /**
+     * 获取用户的分类数据及每个分类下的 To Do 数量
+     *
+     * @return
+     */
+    @Override
+    public Mono<List<CategoryCountVO>> getCategoriesWithCount() {
+        return ReactiveUserContext.getCurrentId()
+                .flatMap(userId -> Mono.zip(this.getCategoryNames(userId),
+                        todoRepository.countByCategoryAndStatus(userId)
+                                .filter(count -> count.getCategoryId() != null)
+                                .collect(Collectors.groupingBy(TodoCountDTO::getCategoryId,
+                                        Collectors.summingLong(TodoCountDTO::getTotal)))))
+                .map(tuple -> {
+                    Map<String, Long> totals = tuple.getT2();
+                    return tuple.getT1().entrySet().stream()
+                            .map(entry -> new CategoryCountVO(entry.getKey(), entry.getValue(),
+                                    totals.getOrDefault(entry.getKey(), 0L)))
+                            .toList();
+                });
+    }
+
+    @Override
+    public Mono<Void> addCategory(CategoryDTO categoryDTO) {
+        return ReactiveUserContext.getCurrentId()
+                .flatMap(userId -> this.getCategoryNames(userId)
+                        .flatMap(categories -> {
+                            if (categories.containsValue(categoryDTO.getName())) {
+                                return Mono.error(new BaseException(MessageConstant.CATEGORY_EXISTS));
+                            }
+                            Category category = CategoryConverter.INSTANCE.toEntity(categoryDTO);
+                            category.setId(IdWorker.getIdStr());
+                            category.setUserId(userId);
+                            return categoryRepository.insert(category);
+                        }))
+                // 并发创建了同名分类
+                .onErrorMap(DuplicateKeyException.class, e -> new BaseException(MessageConstant.CATEGORY_EXISTS))
+                .flatMap(this::checkUpdated);
+    }
+
+    @Override
+    public Mono<Void> updateCategory(CategoryDTO categoryDTO) {
+        return ReactiveUserContext.getCurrentId()
+                .flatMap(userId -> this.getCategoryNames(userId)
+                        .flatMap(categories -> {
+                            if (!categories.containsKey(categoryDTO.getId())) {
+                                return Mono.error(new BaseException("分类不存在"));
+                            }
+                            boolean conflict = categories.entrySet().stream()
+                                    .anyMatch(c -> c.getValue().equals(categoryDTO.getName())
+                                            && !c.getKey().equals(categoryDTO.getId()));
+                            if (conflict) {
+                                return Mono.error(new BaseException(MessageConstant.CATEGORY_EXISTS));
+                            }
+                            // 存在性已校验，名称未变化时影响行数可能为 0
+                            return categoryRepository.updateName(userId, categoryDTO.getId(), categoryDTO.getName());
+                        }))
+                .onErrorMap(DuplicateKeyException.class, e -> new BaseException(MessageConstant.CATEGORY_EXISTS))
+                .then();
+    }
+
+    @Override
+    public Mono<Void> deleteCategory(String id) {
+        return ReactiveUserContext.getCurrentId()
+                .flatMap(userId -> categoryRepository.delete(userId, id))
+                .flatMap(rows -> rows > 0 ? Mono.<Void>empty() : Mono.error(new BaseException("分类不存在")));
+    }
+
+    /**
+     * 按 id 顺序返回分类字典，与 clear-server 的分类字典一致
+     */
+    @Override
+    public Mono<Map<String, String>> getCategoryNames(String userId) {
+        return categoryRepository.findByUserId(userId)
+                .collect(Collectors.toMap(Category::getId, Category::getName, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    private Mono<Void> checkUpdated(Long rows) {
+        return rows > 0 ? Mono.empty() : Mono.error(new BaseException(SYSTEM_ERROR));
+    }
+}
@@ -0,0 +1,472 @@
+package cn.wind.clear.reactive.service.impl;
+
+import cn.wind.clear.constant.MessageConstant;
+import cn.wind.clear.constant.StatusConstant;
+import cn.wind.clear.converter.TodoConverter;
+import cn.wind.clear.dto.TodoBatchDTO;
+import cn.wind.clear.dto.TodoBatchOperationDTO;
+import cn.wind.clear.dto.TodoBulkDTO;
+import cn.wind.clear.dto.TodoCountDTO;
+import cn.wind.clear.dto.TodoDTO;
+import cn.wind.clear.dto.TodoFilterDTO;
+import cn.wind.clear.dto.TodoPageQueryDTO;
+import cn.wind.clear.dto.UpdateTodoDTO;
+import cn.wind.clear.entity.Todo;
+import cn.wind.clear.exception.BaseException;
+import cn.wind.clear.reactive.context.ReactiveUserContext;
+import cn.wind.clear.reactive.repository.TodoRepository;
+import cn.wind.clear.reactive.service.CategoryService;
+import cn.wind.clear.reactive.service.TodoService;
+import cn.wind.clear.result.PageResult;
+import cn.wind.clear.vo.TodoBatchResultVO;
+import cn.wind.clear.vo.TodoVO;
+import cn.wind.clear.vo.UserStatusVO;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class TodoServiceImpl implements TodoService {
+    // 游标分页未指定每页条数时的默认值
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    // 批量操作类型
+    private static final String OP_ADD = "add";
+    private static final String OP_UPDATE = "update";
+    private static final String OP_DELETE = "delete";
+
+    @Resource
+    private TodoRepository todoRepository;
+    @Resource
+    private CategoryService categoryService;
+
+    /**
+     * 添加to do
+     *
+     * @param todoDTO
+     */
+    @Override
+    public Mono<Void> addTodo(TodoDTO todoDTO) {
+        if (todoDTO.getTitle() == null || todoDTO.getTitle().isEmpty()) {
+            return Mono.error(new BaseException(MessageConstant.EMPTY_TITLE));
+        }
+        if (todoDTO.getDueDate() != null && todoDTO.getDueDate().isBefore(LocalDateTime.now())) {
+            return Mono.error(new BaseException(MessageConstant.DATE_EXPIRE));
+        }
+        return ReactiveUserContext.getCurrentId()
+                .flatMap(userId -> this.resolveCategoryId(userId, todoDTO.getCategoryId())
+                        .flatMap(categoryId -> {
+                            Todo todo = TodoConverter.INSTANCE.toEntity(todoDTO);
+                            todo.setId(IdWorker.getIdStr());
+                            todo.setCategoryId(categoryId.orElse(null));
+                            todo.setStatus(StatusConstant.DISABLED);
+                            todo.setUserId(userId);
+                            return todoRepository.insert(todo);
+                        }))
+                .flatMap(this::checkUpdated);
+    }
+
+    @Override
+    public Mono<PageResult<TodoVO>> pageQuery(TodoPageQueryDTO todoPageQueryDTO) {
+        log.info("Todo分页查询: {}", todoPageQueryDTO);
+        return ReactiveUserContext.getCurrentId()
+                // 未传页码时使用游标分页
+                .flatMap(userId -> todoPageQueryDTO.getPage() == null
+                        ? this.cursorQuery(userId, todoPageQueryDTO)
+                        : this.offsetQuery(userId, todoPageQueryDTO));
+    }
+
+    /**
+     * 页码分页，withTotal 显式为 false 时跳过 COUNT 查询，总数为 0 时不再查询数据
+     */
+    private Mono<PageResult<TodoVO>> offsetQuery(String userId, TodoPageQueryDTO todoPageQueryDTO) {
+        int current = Math.max(todoPageQueryDTO.getPage(), 1);
+        int pageSize = todoPageQueryDTO.getPageSize() == null ? DEFAULT_PAGE_SIZE : todoPageQueryDTO.getPageSize();
+        TodoFilterDTO filter = this.buildFilter(userId, todoPageQueryDTO);
+        boolean withTotal = !Boolean.FALSE.equals(todoPageQueryDTO.getWithTotal());
+        Mono<Long> total = withTotal ? todoRepository.countTodo(filter) : Mono.just(0L);
+        return total.flatMap(count -> {
+            Mono<List<Todo>> records = Mono.just(List.of());
+            if (!withTotal || count > 0) {
+                filter.setOffset((long) (current - 1) * pageSize);
+                filter.setLimit(pageSize);
+                records = todoRepository.selectTodoList(filter).collectList();
+            }
+            return records.flatMap(todos -> this.toTodoVOList(userId, todos))
+                    .map(list -> {
+                        PageResult<TodoVO> result = new PageResult<>();
+                        result.setTotal(count);
+                        result.setSize((long) pageSize);
+                        result.setCurrent((long) current);
+                        result.setRecords(list);
+                        return result;
+                    });
+        });
+    }
+
+    /**
+     * 游标分页
+     * <p>
+     * 按 (due_date, id) 倒序定位到上一页最后一条之后，截止日期为空的数据排在最后并按 id 倒序，
+     * 翻页深度不影响查询代价。总数默认取自分组统计，需要精确总数时传 withTotal=true
+     */
+    private Mono<PageResult<TodoVO>> cursorQuery(String userId, TodoPageQueryDTO todoPageQueryDTO) {
+        int pageSize = todoPageQueryDTO.getPageSize() == null ? DEFAULT_PAGE_SIZE : todoPageQueryDTO.getPageSize();
+        TodoCursor cursor;
+        try {
+            cursor = TodoCursor.decode(todoPageQueryDTO.getCursor());
+        } catch (BaseException e) {
+            return Mono.error(e);
+        }
+
+        TodoFilterDTO filter = this.buildFilter(userId, todoPageQueryDTO);
+        Mono<Optional<Long>> total = (Boolean.TRUE.equals(todoPageQueryDTO.getWithTotal())
+                ? todoRepository.countTodo(filter)
+                : this.getApproximateTotal(userId, todoPageQueryDTO))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+
+        if (cursor != null) {
+            filter.setCursorDueDate(cursor.dueDate());
+            filter.setCursorId(cursor.id());
+        }
+        // 多取一条用于判断是否还有下一页
+        filter.setLimit(pageSize + 1);
+        Mono<List<Todo>> records = todoRepository.selectTodoList(filter).collectList();
+
+        return Mono.zip(total, records).flatMap(tuple -> {
+            List<Todo> todos = tuple.getT2();
+            String nextCursor = null;
+            if (todos.size() > pageSize) {
+                todos = todos.subList(0, pageSize);
+                Todo last = todos.get(pageSize - 1);
+                nextCursor = TodoCursor.encode(last.getDueDate(), Long.parseLong(last.getId()));
+            }
+            String next = nextCursor;
+            return this.toTodoVOList(userId, todos).map(list -> {
+                PageResult<TodoVO> result = new PageResult<>();
+                result.setTotal(tuple.getT1().orElse(null));
+                result.setSize((long) pageSize);
+                result.setRecords(list);
+                result.setNextCursor(next);
+                return result;
+            });
+        });
+    }
+
+    /**
+     * 根据查询条件构造过滤条件，不含分页；关键字使用 LIKE 查询
+     * <p>
+     * 只传开始或结束日期时只加一侧的范围条件，结束日期包含当天
+     */
+    private TodoFilterDTO buildFilter(String userId, TodoPageQueryDTO todoPageQueryDTO) {
+        return TodoFilterDTO.builder()
+                .userId(userId)
+                .categoryId(todoPageQueryDTO.getCategoryId())
+                .status(todoPageQueryDTO.getStatus())
+                .keyword(todoPageQueryDTO.getKeyword())
+                .dueFrom(todoPageQueryDTO.getStartDate() == null ? null : todoPageQueryDTO.getStartDate().atStartOfDay())
+                .dueTo(todoPageQueryDTO.getEndDate() == null ? null : todoPageQueryDTO.getEndDate().plusDays(1).atStartOfDay())
+                .build();
+    }
+
+    /**
+     * 从分组统计获取总数，只支持按状态、分类过滤，其它条件时为空
+     */
+    private Mono<Long> getApproximateTotal(String userId, TodoPageQueryDTO todoPageQueryDTO) {
+        if (todoPageQueryDTO.getKeyword() != null
+                || todoPageQueryDTO.getStartDate() != null
+                || todoPageQueryDTO.getEndDate() != null
+                || (todoPageQueryDTO.getStatus() != null && todoPageQueryDTO.getCategoryId() != null)) {
+            return Mono.empty();
+        }
+        return this.getCounts(userId).map(counts -> {
+            if (todoPageQueryDTO.getCategoryId() != null) {
+                return counts.categoryTotals().getOrDefault(todoPageQueryDTO.getCategoryId(), 0L);
+            }
+            if (todoPageQueryDTO.getStatus() != null) {
+                return StatusConstant.ENABLED.equals(todoPageQueryDTO.getStatus()) ? counts.done() : counts.undone();
+            }
+            return counts.done() + counts.undone();
+        });
+    }
+
+    private Mono<List<TodoVO>> toTodoVOList(String userId, List<Todo> todos) {
+        if (todos.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        // 分类名称统一从分类字典中获取，避免逐条查询
+        return categoryService.getCategoryNames(userId)
+                .map(categoryNames -> todos.stream()
+                        .map(todo -> TodoConverter.INSTANCE.toVO(todo, categoryNames.get(todo.getCategoryId())))
+                        .toList());
+    }
+
+    /**
+     * 删除to do
+     *
+     * @param id
+     */
+    @Override
+    public Mono<Void> deleteTodo(String id) {
+        return ReactiveUserContext.getCurrentId()
+                .flatMap(userId -> todoRepository.deleteByIds(userId, List.of(id)))
+                .flatMap(this::checkUpdated);
+    }
+
+    /**
+     * 更新to do，只能更新当前用户的 To Do
+     *
+     * @param updateTodoDTO
+     */
+    @Override
+    public Mono<Void> updateTodo(UpdateTodoDTO updateTodoDTO) {
+        return ReactiveUserContext.getCurrentId()
+                .flatMap(userId -> todoRepository.findById(userId, updateTodoDTO.getId())
+                        .switchIfEmpty(Mono.error(new BaseException(MessageConstant.SYSTEM_ERROR)))
+                        .flatMap(old -> {
+                            Todo todo = TodoConverter.INSTANCE.toEntity(updateTodoDTO);
+                            todo.setUserId(userId);
+                            return todoRepository.update(todo);
+                        }))
+                .then();
+    }
+
+    /**
+     * 批量增删改 To Do
+     * <p>
+     * 先校验全部操作，任意一条不合法时都不执行并返回每条操作的结果；
+     * 校验通过后在同一个事务中执行，新增使用一条多行 INSERT，删除使用一条 DELETE
+     *
+     * @param todoBatchDTO
+     * @return 与请求顺序一致的每条操作结果
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Mono<List<TodoBatchResultVO>> batch(TodoBatchDTO todoBatchDTO) {
+        List<TodoBatchOperationDTO> operations = todoBatchDTO.getOperations() == null
+                ? List.of()
+                : todoBatchDTO.getOperations();
+        // 一次查询出更新、删除涉及的记录，同时校验归属
+        Set<String> ids = operations.stream()
+                .filter(operation -> !OP_ADD.equals(operation.getOp()) && operation.getId() != null)
+                .map(TodoBatchOperationDTO::getId)
+                .collect(Collectors.toSet());
+
+        return ReactiveUserContext.getCurrentId().flatMap(userId -> {
+            Mono<Map<String, Todo>> owned = ids.isEmpty()
+                    ? Mono.just(Map.of())
+                    : todoRepository.findByIds(userId, ids).collectMap(Todo::getId);
+            boolean hasAdd = operations.stream().anyMatch(operation -> OP_ADD.equals(operation.getOp()));
+            Mono<Optional<String>> defaultCategoryId = hasAdd
+                    ? this.resolveCategoryId(userId, null)
+                    : Mono.just(Optional.empty());
+            // 事务内共用一个连接，依次执行
+            return owned.zipWhen(ignored -> defaultCategoryId)
+                    .flatMap(tuple -> this.executeBatch(userId, operations, tuple.getT1(), tuple.getT2().orElse(null)));
+        });
+    }
+
+    private Mono<List<TodoBatchResultVO>> executeBatch(String userId, List<TodoBatchOperationDTO> operations,
+                                                       Map<String, Todo> owned, String defaultCategoryId) {
+        List<TodoBatchResultVO> results = new ArrayList<>(operations.size());
+        List<Todo> adds = new ArrayList<>();
+        List<Todo> updates = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        boolean failed = false;
+        for (int i = 0; i < operations.size(); i++) {
+            TodoBatchOperationDTO operation = operations.get(i);
+            String error = this.validateBatchOperation(operation, owned);
+            TodoBatchResultVO result = TodoBatchResultVO.builder()
+                    .index(i)
+                    .op(operation.getOp())
+                    .id(operation.getId())
+                    .success(error == null)
+                    .msg(error)
+                    .build();
+            results.add(result);
+            if (error != null) {
+                failed = true;
+                continue;
+            }
+            Todo todo = TodoConverter.INSTANCE.toEntity(operation);
+            todo.setUserId(userId);
+            switch (operation.getOp()) {
+                case OP_ADD -> {
+                    todo.setId(IdWorker.getIdStr());
+                    todo.setCategoryId(operation.getCategoryId() != null
+                            ? operation.getCategoryId()
+                            : defaultCategoryId);
+                    todo.setStatus(StatusConstant.DISABLED);
+                    result.setId(todo.getId());
+                    adds.add(todo);
+                }
+                case OP_UPDATE -> updates.add(todo);
+                default -> deletes.add(operation.getId());
+            }
+        }
+        if (failed) {
+            results.stream()
+                    .filter(TodoBatchResultVO::getSuccess)
+                    .forEach(result -> {
+                        result.setSuccess(false);
+                        result.setMsg(MessageConstant.BATCH_NOT_EXECUTED);
+                        if (OP_ADD.equals(result.getOp())) {
+                            result.setId(null);
+                        }
+                    });
+            return Mono.just(results);
+        }
+
+        Mono<Long> insert = adds.isEmpty() ? Mono.just(0L) : todoRepository.insertBatch(adds);
+        Mono<Void> update = Flux.fromIterable(updates).concatMap(todoRepository::update).then();
+        Mono<Long> delete = deletes.isEmpty() ? Mono.just(0L) : todoRepository.deleteByIds(userId, deletes);
+        return insert.then(update).then(delete).thenReturn(results);
+    }
+
+    /**
+     * 校验单条批量操作，规则与单条接口一致
+     *
+     * @return 错误信息，合法时返回 null
+     */
+    private String validateBatchOperation(TodoBatchOperationDTO operation, Map<String, Todo> owned) {
+        if (OP_ADD.equals(operation.getOp())) {
+            if (operation.getTitle() == null || operation.getTitle().isEmpty()) {
+                return MessageConstant.EMPTY_TITLE;
+            }
+            if (operation.getDueDate() != null && operation.getDueDate().isBefore(LocalDateTime.now())) {
+                return MessageConstant.DATE_EXPIRE;
+            }
+            return null;
+        }
+        if (OP_UPDATE.equals(operation.getOp()) || OP_DELETE.equals(operation.getOp())) {
+            return owned.containsKey(operation.getId()) ? null : MessageConstant.TODO_NOT_EXIST;
+        }
+        return MessageConstant.UNSUPPORTED_BATCH_OP;
+    }
+
+    /**
+     * 按条件批量修改状态，如将某个分类下的 To Do 全部标记为完成
+     * <p>
+     * 只执行一条 UPDATE，已经是目标状态的数据不会被改写
+     *
+     * @param todoBulkDTO
+     * @return 修改的数量
+     */
+    @Override
+    public Mono<Integer> bulkUpdateStatus(TodoBulkDTO todoBulkDTO) {
+        if (todoBulkDTO.getTargetStatus() == null) {
+            return Mono.error(new BaseException(MessageConstant.EMPTY_TARGET_STATUS));
+        }
+        return ReactiveUserContext.getCurrentId()
+                .flatMap(userId -> todoRepository.updateStatus(userId, todoBulkDTO.getCategoryId(),
+                        todoBulkDTO.getStatus(), todoBulkDTO.getTargetStatus()))
+                .map(Long::intValue);
+    }
+
+    /**
+     * 按条件批量删除，如删除全部已完成的 To Do
+     * <p>
+     * 只执行一条 DELETE，至少需要一个过滤条件
+     *
+     * @param todoBulkDTO
+     * @return 删除的数量
+     */
+    @Override
+    public Mono<Integer> bulkDelete(TodoBulkDTO todoBulkDTO) {
+        if (todoBulkDTO.getCategoryId() == null && todoBulkDTO.getStatus() == null) {
+            return Mono.error(new BaseException(MessageConstant.EMPTY_BATCH_CONDITION));
+        }
+        return ReactiveUserContext.getCurrentId()
+                .flatMap(userId -> todoRepository.deleteByCondition(userId, todoBulkDTO.getCategoryId(),
+                        todoBulkDTO.getStatus()))
+                .map(Long::intValue);
+    }
+
+    @Override
+    public Mono<TodoCounts> getCounts(String userId) {
+        return todoRepository.countByCategoryAndStatus(userId)
+                .collectList()
+                .map(rows -> {
+                    long done = 0;
+                    long undone = 0;
+                    Map<String, Long> categoryTotals = new HashMap<>();
+                    for (TodoCountDTO row : rows) {
+                        if (StatusConstant.ENABLED.equals(row.getStatus())) {
+                            done += row.getTotal();
+                        } else {
+                            undone += row.getTotal();
+                        }
+                        if (row.getCategoryId() != null) {
+                            categoryTotals.merge(row.getCategoryId(), row.getTotal(), Long::sum);
+                        }
+                    }
+                    return new TodoCounts(done, undone, categoryTotals);
+                });
+    }
+
+    @Override
+    public Mono<UserStatusVO> getTodoStatus(String userId) {
+        return this.getCounts(userId)
+                .map(counts -> new UserStatusVO(null, counts.done(), counts.undone()));
+    }
+
+    /**
+     * 未指定分类时使用默认分类，没有默认分类时为空
+     */
+    private Mono<Optional<String>> resolveCategoryId(String userId, String categoryId) {
+        if (categoryId != null) {
+            return Mono.just(Optional.of(categoryId));
+        }
+        return categoryService.getDefaultCategoryId(userId)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private Mono<Void> checkUpdated(Long rows) {
+        return rows > 0 ? Mono.empty() : Mono.error(new BaseException(MessageConstant.SYSTEM_ERROR));
+    }
+
+    /**
+     * 分页游标，内容为上一页最后一条数据的截止日期和 id，格式与 clear-server 一致
+     */
+    private record TodoCursor(LocalDateTime dueDate, Long id) {
+
+        private static final String SEPARATOR = "|";
+
+        static String encode(LocalDateTime dueDate, Long id) {
+            String raw = (dueDate == null ? "" : dueDate.toString()) + SEPARATOR + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static TodoCursor decode(String cursor) {
+            if (cursor == null || cursor.isEmpty()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int index = raw.lastIndexOf(SEPARATOR);
+                String dueDate = raw.substring(0, index);
+                return new TodoCursor(dueDate.isEmpty() ? null : LocalDateTime.parse(dueDate),
+                        Long.valueOf(raw.substring(index + 1)));
+            } catch (RuntimeException e) {
+                throw new BaseException(MessageConstant.INVALID_CURSOR);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package cn.wind.clear.reactive.service.impl;
+
+import cn.wind.clear.properties.AuthProperties;
+import cn.wind.clear.properties.JwtProperties;
+import cn.wind.clear.reactive.service.TokenRevocationService;
+import cn.wind.clear.utils.BloomFilter;
+import cn.wind.clear.utils.JwtUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 令牌吊销名单
+ * <p>
+ * 与 clear-server 共用 Redis 中的 ZSET(成员为令牌摘要，分值为令牌过期时间)，两种部署吊销的令牌互相生效。
+ * 本地布隆过滤器由 Flux.interval 定时同步，只有命中过滤器时才回查 Redis
+ */
+@Service
+@Slf4j
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    // 吊销名单在 Redis 中的 key
+    private static final String REVOKED_KEY = "clear:auth:revoked";
+
+    @Resource
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    @Resource
+    private JwtProperties jwtProperties;
+    @Resource
+    private AuthProperties authProperties;
+
+    private volatile BloomFilter bloomFilter;
+    // 本节点吊销的令牌摘要 -> 吊销时间，同步替换过滤器后补入，避免读取名单与替换之间的吊销丢失
+    private final Map<String, Long> recentRevocations = new ConcurrentHashMap<>();
+    private Disposable syncTask;
+
+    @PostConstruct
+    public void init() {
+        this.bloomFilter = newBloomFilter();
+        Duration interval = Duration.ofMillis(authProperties.getRevocationSyncInterval());
+        this.syncTask = Flux.interval(Duration.ZERO, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> this.sync(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        syncTask.dispose();
+    }
+
+    @Override
+    public Mono<Void> revoke(String token) {
+        long expiresAt = JwtUtil.parseJWT(jwtProperties.getSecretKey(), token)
+                .getExpiration()
+                .getTime();
+        byte[] digest = JwtUtil.digest(token);
+        String member = HexFormat.of().formatHex(digest);
+        // 先登记再写入过滤器，同步替换过滤器后一定能看到这条记录
+        recentRevocations.put(member, System.currentTimeMillis());
+        bloomFilter.put(digest);
+        return reactiveStringRedisTemplate.opsForZSet()
+                .add(REVOKED_KEY, member, expiresAt)
+                .then();
+    }
+
+    @Override
+    public Mono<Boolean> isRevoked(String token) {
+        byte[] digest = JwtUtil.digest(token);
+        if (!bloomFilter.mightContain(digest)) {
+            return Mono.just(false);
+        }
+        // 布隆过滤器可能误判，回查 Redis 确认
+        return reactiveStringRedisTemplate.opsForZSet()
+                .score(REVOKED_KEY, HexFormat.of().formatHex(digest))
+                .map(score -> true)
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * 清理已过期的吊销记录，并用 Redis 中的名单重建本地布隆过滤器
+     */
+    private Mono<Void> sync() {
+        BloomFilter filter = newBloomFilter();
+        long startedAt = System.currentTimeMillis();
+        return reactiveStringRedisTemplate.opsForZSet()
+                .removeRangeByScore(REVOKED_KEY, Range.closed(0D, (double) startedAt))
+                .thenMany(reactiveStringRedisTemplate.opsForZSet().range(REVOKED_KEY, Range.unbounded()))
+                .doOnNext(digest -> filter.put(HexFormat.of().parseHex(digest)))
+                .count()
+                .doOnNext(count -> {
+                    this.bloomFilter = filter;
+                    // 读取名单之后本节点吊销的令牌可能只写入了旧过滤器，补入新过滤器
+                    recentRevocations.forEach((digest, revokedAt) -> filter.put(HexFormat.of().parseHex(digest)));
+                    recentRevocations.values().removeIf(revokedAt -> revokedAt < startedAt);
+                    log.debug("吊销名单同步完成, 共 {} 条", count);
+                })
+                .onErrorResume(e -> {
+                    log.error("吊销名单同步失败: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private BloomFilter newBloomFilter() {
+        return new BloomFilter(authProperties.getBloomExpectedInsertions(), authProperties.getBloomFalsePositiveRate());
+    }
+}
@@ -0,0 +1,113 @@
+package cn.wind.clear.reactive.service.impl;
+
+import cn.wind.clear.constant.CategoryConstant;
+import cn.wind.clear.constant.MessageConstant;
+import cn.wind.clear.converter.UserConverter;
+import cn.wind.clear.dto.UserDTO;
+import cn.wind.clear.dto.UserLoginDTO;
+import cn.wind.clear.entity.Category;
+import cn.wind.clear.entity.User;
+import cn.wind.clear.exception.BaseException;
+import cn.wind.clear.reactive.context.ReactiveUserContext;
+import cn.wind.clear.reactive.repository.CategoryRepository;
+import cn.wind.clear.reactive.repository.UserRepository;
+import cn.wind.clear.reactive.service.TodoService;
+import cn.wind.clear.reactive.service.UserService;
+import cn.wind.clear.vo.UserStatusVO;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+public class UserServiceImpl implements UserService {
+
+    @Resource
+    private UserRepository userRepository;
+    @Resource
+    private CategoryRepository categoryRepository;
+    @Resource
+    private TodoService todoService;
+
+    /**
+     * 用户登陆
+     * @param userLoginDTO
+     * @return
+     */
+    @Override
+    public Mono<User> login(UserLoginDTO userLoginDTO) {
+        log.info("用户登陆: {}", userLoginDTO);
+
+        if (userLoginDTO.getUsername() == null || userLoginDTO.getUsername().isBlank()) {
+            return Mono.error(new BaseException(MessageConstant.EMPTY_NAME));
+        }
+
+        userLoginDTO.setPassword(DigestUtils.md5DigestAsHex(userLoginDTO.getPassword().getBytes()));
+        User user = UserConverter.INSTANCE.toEntity(userLoginDTO);
+
+        // 1. 检查用户登陆凭证是否有效
+        return userRepository.findByUsername(userLoginDTO.getUsername())
+                // 2. 无效，用户不存在
+                .switchIfEmpty(Mono.error(new BaseException(MessageConstant.USER_NOT_EXIST)))
+                .flatMap(userToLogin -> userToLogin.getPassword().equals(user.getPassword())
+                        // 3. 有效,返回登陆用户
+                        ? Mono.just(userToLogin)
+                        // 用户存在但是密码错误
+                        : Mono.error(new BaseException(MessageConstant.PASSWORD_ERROR)));
+    }
+
+    /**
+     * 用户注册，用户与默认分类在同一个事务中写入
+     * @param userDTO
+     * @return
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Mono<User> register(UserDTO userDTO) {
+        log.info("新用户注册: {}", userDTO);
+        if (userDTO.getUsername() == null || userDTO.getUsername().isBlank()) {
+            return Mono.error(new BaseException(MessageConstant.EMPTY_NAME));
+        }
+
+        User newUser = User.builder()
+                .id(IdWorker.getIdStr())
+                .username(userDTO.getUsername())
+                .password(DigestUtils.md5DigestAsHex(userDTO.getPassword().getBytes()))
+                .build();
+        Category category = Category.builder()
+                .id(IdWorker.getIdStr())
+                .userId(newUser.getId())
+                .name(CategoryConstant.DEFAULT_CATEGORY)
+                .build();
+
+        // 1. 查找数据库中是否与已有的用户名冲突
+        return userRepository.findByUsername(newUser.getUsername())
+                .flatMap(existing -> Mono.<Long>error(new BaseException(MessageConstant.CONFLICT_USERNAME)))
+                // 2. 不冲突, 添加到数据库中
+                .switchIfEmpty(Mono.defer(() -> userRepository.insert(newUser)))
+                .flatMap(rows -> rows > 0
+                        // 3. 为用户创建默认分类
+                        ? categoryRepository.insert(category)
+                        : Mono.error(new BaseException(MessageConstant.SYSTEM_ERROR)))
+                .flatMap(rows -> rows > 0
+                        ? Mono.just(newUser)
+                        : Mono.error(new BaseException(MessageConstant.SYSTEM_ERROR)));
+    }
+
+    @Override
+    public Mono<Void> updateTheme(Integer theme) {
+        return ReactiveUserContext.getCurrentId()
+                .flatMap(userId -> userRepository.updateTheme(userId, theme))
+                .then();
+    }
+
+    @Override
+    public Mono<UserStatusVO> getUserStatus() {
+        return ReactiveUserContext.getCurrentId()
+                .flatMap(todoService::getTodoStatus);
+    }
+}
@@ -0,0 +1,114 @@
+package cn.wind.clear.cache;
+
+import cn.wind.clear.entity.Category;
+import cn.wind.clear.mapper.CategoryMapper;
+import cn.wind.clear.properties.CategoryDictProperties;
+import cn.wind.clear.service.DataVersionService;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户分类字典(分类id -> 分类名称)
+ * <p>
+ * 每个用户的字典通过一次查询加载，缓存在进程内(Caffeine，有容量上限和过期时间)。
+ * 条目带有加载时的数据版本，读取时与当前版本比较，不一致即重新加载，
+ * 其它节点上的修改递增版本后同样生效。
+ * spring.cache.type 设为 redis 时在 Redis 中增加一层二级缓存，本地未命中时先从 Redis 读取。
+ * 分类的新增、修改、删除都需要调用 evict 使其失效
+ */
+@Component
+@Slf4j
+public class CategoryDictionary {
+
+    public static final String CACHE_NAME = "categoryDict";
+
+    @Resource
+    private CategoryMapper categoryMapper;
+    @Resource
+    private DataVersionService dataVersionService;
+    @Resource
+    private CategoryDictProperties categoryDictProperties;
+    @Resource
+    private CacheManager cacheManager;
+
+    @Getter
+    private Cache<String, Entry> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(categoryDictProperties.getMaximumSize())
+                .expireAfterWrite(categoryDictProperties.getTtl(), TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 获取用户的分类字典，按分类创建顺序排列
+     * <p>
+     * 返回的Map是进程内缓存的共享实例，调用方不能修改
+     *
+     * @param userId 用户id
+     * @return 分类id -> 分类名称
+     */
+    public LinkedHashMap<String, String> getCategoryNames(String userId) {
+        // 先取版本再读取数据，并发修改时最多多加载一次，不会以新版本缓存旧数据
+        long version = dataVersionService.getVersion(userId);
+        Entry entry = cache.getIfPresent(userId);
+        if (entry != null && entry.version() == version) {
+            return entry.names();
+        }
+        org.springframework.cache.Cache remote = cacheManager.getCache(CACHE_NAME);
+        entry = remote == null ? null : remote.get(userId, Entry.class);
+        if (entry == null || entry.version() != version) {
+            entry = new Entry(version, load(userId));
+            if (remote != null) {
+                remote.put(userId, entry);
+            }
+        }
+        cache.put(userId, entry);
+        return entry.names();
+    }
+
+    /**
+     * 使用户的分类字典失效，同时清除二级缓存
+     *
+     * @param userId 用户id
+     */
+    public void evict(String userId) {
+        log.debug("清除用户分类字典: {}", userId);
+        cache.invalidate(userId);
+        org.springframework.cache.Cache remote = cacheManager.getCache(CACHE_NAME);
+        if (remote != null) {
+            remote.evict(userId);
+        }
+    }
+
+    private LinkedHashMap<String, String> load(String userId) {
+        log.debug("加载用户分类字典: {}", userId);
+        List<Category> categories = categoryMapper.selectList(new LambdaQueryWrapper<Category>()
+                .eq(Category::getUserId, userId)
+                .orderByAsc(Category::getId));
+        LinkedHashMap<String, String> names = new LinkedHashMap<>();
+        categories.forEach(category -> names.put(category.getId(), category.getName()));
+        return names;
+    }
+
+    /**
+     * 字典与加载时的数据版本
+     */
+    public record Entry(long version, LinkedHashMap<String, String> names) implements Serializable {
+    }
+}
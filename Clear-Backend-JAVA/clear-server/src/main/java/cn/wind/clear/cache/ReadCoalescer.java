@@ -0,0 +1,67 @@
+package cn.wind.clear.cache;
+
+import cn.wind.clear.dto.TodoPageQueryDTO;
+import cn.wind.clear.properties.SingleFlightProperties;
+import cn.wind.clear.utils.SingleFlight;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * 合并同一用户相同的并发查询
+ * <p>
+ * 多个标签页或移动端重试常在同一时刻发出相同的 /todo/page、/user/status 请求，
+ * 相同的查询只执行一次 COUNT 与 SELECT，其余请求共享结果。
+ * key 中带有请求开始时的数据版本，修改提交后发出的请求不会拿到修改前的结果
+ */
+@Component
+public class ReadCoalescer {
+
+    @Resource
+    private SingleFlightProperties singleFlightProperties;
+
+    private final SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+
+    /**
+     * 执行查询，相同 key 的并发查询共享一次执行
+     * @param key 由 pageKey、statusKey 生成
+     * @param supplier 实际的查询
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> supplier) {
+        if (!singleFlightProperties.isEnabled()) {
+            return supplier.get();
+        }
+        return (T) singleFlight.execute(key, supplier::get, singleFlightProperties.getMaxWait());
+    }
+
+    /**
+     * 分页查询的 key，包含全部查询条件
+     */
+    public static String pageKey(String userId, long version, TodoPageQueryDTO todoPageQueryDTO) {
+        return "page|" + userId + "|" + version
+                + "|" + todoPageQueryDTO.getPage()
+                + "|" + todoPageQueryDTO.getPageSize()
+                + "|" + todoPageQueryDTO.getCategoryId()
+                + "|" + todoPageQueryDTO.getStatus()
+                + "|" + todoPageQueryDTO.getStartDate()
+                + "|" + todoPageQueryDTO.getEndDate()
+                + "|" + todoPageQueryDTO.getCursor()
+                + "|" + todoPageQueryDTO.getWithTotal()
+                // 关键字可能包含分隔符，放在最后
+                + "|" + todoPageQueryDTO.getKeyword();
+    }
+
+    /**
+     * 用户状态查询的 key
+     */
+    public static String statusKey(String userId, long version) {
+        return "status|" + userId + "|" + version;
+    }
+
+    public SingleFlight<String, Object> getSingleFlight() {
+        return singleFlight;
+    }
+}
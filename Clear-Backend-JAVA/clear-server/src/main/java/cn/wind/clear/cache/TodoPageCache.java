@@ -0,0 +1,221 @@
+package cn.wind.clear.cache;
+
+import cn.wind.clear.dto.TodoPageQueryDTO;
+import cn.wind.clear.json.JacksonObjectMapper;
+import cn.wind.clear.properties.PageCacheProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * To Do 首页响应缓存
+ * <p>
+ * 只缓存最常见的查询(默认首页、按分类或状态过滤的首页)，按用户保存序列化后的 JSON 字节，
+ * 命中时直接写入响应，不再查询、转换和序列化。
+ * 条目带有生成时的数据版本，版本不一致即视为未命中，其它节点上的修改同样生效；
+ * 本节点的修改在版本递增时清除该用户的全部条目。
+ * 总字节数超过上限时按 LRU 淘汰整个用户
+ */
+@Component
+@Slf4j
+public class TodoPageCache {
+
+    @Resource
+    private PageCacheProperties pageCacheProperties;
+
+    private final JacksonObjectMapper objectMapper = new JacksonObjectMapper();
+
+    private final LinkedHashMap<String, UserPages> users = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private long totalBytes;
+    private int totalEntries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * 查询条件对应的缓存 key，不可缓存的查询(关键字、日期范围、非首页)返回 null
+     * @param todoPageQueryDTO
+     * @return
+     */
+    public String cacheKey(TodoPageQueryDTO todoPageQueryDTO) {
+        if (!pageCacheProperties.isEnabled()
+                || todoPageQueryDTO.getKeyword() != null
+                || todoPageQueryDTO.getStartDate() != null
+                || todoPageQueryDTO.getEndDate() != null
+                || (todoPageQueryDTO.getCursor() != null && !todoPageQueryDTO.getCursor().isEmpty())
+                || (todoPageQueryDTO.getPage() != null && todoPageQueryDTO.getPage() > 1)) {
+            return null;
+        }
+        return (todoPageQueryDTO.getPage() == null ? "cursor" : "page")
+                + "|" + todoPageQueryDTO.getPageSize()
+                + "|" + todoPageQueryDTO.getCategoryId()
+                + "|" + todoPageQueryDTO.getStatus()
+                + "|" + todoPageQueryDTO.getWithTotal();
+    }
+
+    /**
+     * 获取缓存的响应
+     * @param userId
+     * @param version 当前数据版本
+     * @param key cacheKey 返回的 key
+     * @return 序列化后的响应，未命中返回 null
+     */
+    public byte[] get(String userId, long version, String key) {
+        byte[] body = null;
+        lock.lock();
+        try {
+            UserPages pages = users.get(userId);
+            if (pages != null && pages.version == version) {
+                body = pages.bodies.get(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (body == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return body;
+    }
+
+    /**
+     * 缓存响应，数据版本比已缓存的旧时忽略
+     * @param userId
+     * @param version 查询数据前获取的数据版本
+     * @param key cacheKey 返回的 key
+     * @param body 序列化后的响应
+     */
+    public void put(String userId, long version, String key, byte[] body) {
+        lock.lock();
+        try {
+            UserPages pages = users.get(userId);
+            if (pages != null && pages.version > version) {
+                return;
+            }
+            if (pages == null || pages.version < version) {
+                this.remove(userId);
+                pages = new UserPages(version);
+                users.put(userId, pages);
+            }
+            if (!pages.bodies.containsKey(key) && pages.bodies.size() >= pageCacheProperties.getMaxEntriesPerUser()) {
+                return;
+            }
+            byte[] old = pages.bodies.put(key, body);
+            if (old != null) {
+                totalBytes -= old.length;
+            } else {
+                totalEntries++;
+            }
+            totalBytes += body.length;
+            this.evictOverflow(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 清除用户的全部缓存
+     * @param userId
+     */
+    public void evict(String userId) {
+        lock.lock();
+        try {
+            this.remove(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 使用与消息转换器相同的对象转换器序列化响应
+     * @param value
+     * @return
+     */
+    public byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getTotalBytes() {
+        lock.lock();
+        try {
+            return totalBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return totalEntries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 超出字节上限时从最久未访问的用户开始淘汰，保留刚写入的用户
+     */
+    private void evictOverflow(String current) {
+        Iterator<Map.Entry<String, UserPages>> iterator = users.entrySet().iterator();
+        while (totalBytes > pageCacheProperties.getMaxBytes() && iterator.hasNext()) {
+            Map.Entry<String, UserPages> eldest = iterator.next();
+            if (eldest.getKey().equals(current)) {
+                continue;
+            }
+            iterator.remove();
+            this.release(eldest.getValue());
+            evictions.increment();
+        }
+    }
+
+    private void remove(String userId) {
+        UserPages pages = users.remove(userId);
+        if (pages != null) {
+            this.release(pages);
+        }
+    }
+
+    private void release(UserPages pages) {
+        for (byte[] body : pages.bodies.values()) {
+            totalBytes -= body.length;
+        }
+        totalEntries -= pages.bodies.size();
+    }
+
+    private static final class UserPages {
+        private final long version;
+        private final Map<String, byte[]> bodies = new HashMap<>();
+
+        private UserPages(long version) {
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package cn.wind.clear.config;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Druid 连接池
+ * <p>
+ * 连接信息取自 spring.datasource，连接池参数(如 PreparedStatement 缓存)绑定 spring.datasource.druid
+ */
+@Configuration
+@Slf4j
+public class DataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.druid")
+    public DruidDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        log.info("开始创建Druid连接池...");
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(DruidDataSource.class)
+                .build();
+    }
+}
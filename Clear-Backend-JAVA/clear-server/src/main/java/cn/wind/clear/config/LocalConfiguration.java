@@ -0,0 +1,80 @@
+package cn.wind.clear.config;
+
+import cn.wind.clear.local.LocalRedisServer;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.lettuce.core.resource.ClientResources;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.jdbc.datasource.init.DataSourceInitializer;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * 本地环境
+ * <p>
+ * 使用内嵌的 H2(MySQL 模式) 和进程内 Redis，不依赖外部服务，便于在本机或 CI 中做性能分析和压测
+ */
+@Configuration
+@Profile("local")
+@Slf4j
+public class LocalConfiguration {
+
+    // 建表脚本，构建时从模块外的 init.sql 复制到 classpath
+    private static final String INIT_SCRIPT = "db/init.sql";
+    // H2 不支持的建库和切换库语句
+    private static final Pattern UNSUPPORTED_STATEMENT =
+            Pattern.compile("(?im)^\\s*(CREATE\\s+DATABASE|USE)\\s+[^;]*;\\s*$");
+
+    @Bean(destroyMethod = "close")
+    public LocalRedisServer localRedisServer(@Value("${clear.local.redis-port:0}") int port) throws IOException {
+        return new LocalRedisServer(port);
+    }
+
+    /**
+     * 替换自动配置的连接工厂，连接进程内 Redis
+     * <p>
+     * 沿用自动配置的 ClientResources，Lettuce 的命令延迟指标照常记录
+     */
+    @Bean
+    public LettuceConnectionFactory redisConnectionFactory(LocalRedisServer localRedisServer,
+                                                           ClientResources clientResources) {
+        log.info("开始创建本地redis连接工厂...");
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .clientResources(clientResources)
+                .clientOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP2).build())
+                .build();
+        return new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("127.0.0.1", localRedisServer.getPort()), clientConfiguration);
+    }
+
+    /**
+     * 启动时执行 init.sql 建表
+     */
+    @Bean
+    public DataSourceInitializer dataSourceInitializer(DataSource dataSource) throws IOException {
+        String script = new ClassPathResource(INIT_SCRIPT).getContentAsString(StandardCharsets.UTF_8);
+        script = UNSUPPORTED_STATEMENT.matcher(script).replaceAll("");
+
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                new ByteArrayResource(script.getBytes(StandardCharsets.UTF_8), INIT_SCRIPT));
+        populator.setSqlScriptEncoding(StandardCharsets.UTF_8.name());
+
+        DataSourceInitializer initializer = new DataSourceInitializer();
+        initializer.setDataSource(dataSource);
+        initializer.setDatabasePopulator(populator);
+        return initializer;
+    }
+}
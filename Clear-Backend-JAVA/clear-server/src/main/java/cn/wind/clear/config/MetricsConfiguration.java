@@ -0,0 +1,142 @@
+package cn.wind.clear.config;
+
+import cn.wind.clear.cache.CategoryDictionary;
+import cn.wind.clear.cache.ReadCoalescer;
+import cn.wind.clear.cache.TodoPageCache;
+import cn.wind.clear.properties.JwtProperties;
+import cn.wind.clear.utils.JwtUtil;
+import cn.wind.clear.utils.SingleFlight;
+import cn.wind.clear.utils.VerifiedTokenCache;
+import com.alibaba.druid.pool.DruidDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * 连接池与缓存的指标
+ * <p>
+ * 接口延迟由 http.server.requests 记录，SQL 与 Redis 的指标见 SqlMetricsInterceptor、CountingStringRedisTemplate
+ */
+@Configuration
+@Slf4j
+public class MetricsConfiguration {
+
+    /**
+     * Druid 连接池: 活跃连接、等待线程、获取连接的等待次数与时间
+     */
+    @Bean
+    public MeterBinder druidMetrics(DataSource dataSource) {
+        return registry -> {
+            DruidDataSource druid;
+            try {
+                if (!dataSource.isWrapperFor(DruidDataSource.class)) {
+                    return;
+                }
+                druid = dataSource.unwrap(DruidDataSource.class);
+            } catch (SQLException e) {
+                log.warn("无法获取Druid连接池, 跳过连接池指标: {}", e.getMessage());
+                return;
+            }
+            Gauge.builder("druid.pool.active", druid, DruidDataSource::getActiveCount)
+                    .description("正在使用的连接数")
+                    .register(registry);
+            Gauge.builder("druid.pool.idle", druid, DruidDataSource::getPoolingCount)
+                    .description("池中空闲的连接数")
+                    .register(registry);
+            Gauge.builder("druid.pool.max", druid, DruidDataSource::getMaxActive)
+                    .description("最大连接数")
+                    .register(registry);
+            Gauge.builder("druid.pool.waiting", druid, DruidDataSource::getWaitThreadCount)
+                    .description("正在等待连接的线程数")
+                    .register(registry);
+            FunctionCounter.builder("druid.pool.wait.count", druid, DruidDataSource::getNotEmptyWaitCount)
+                    .description("获取连接时需要等待的次数")
+                    .register(registry);
+            FunctionCounter.builder("druid.pool.wait.time", druid, d -> d.getNotEmptyWaitMillis() / 1000.0)
+                    .description("获取连接的累计等待时间")
+                    .baseUnit("seconds")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 已校验令牌缓存: 大小与命中情况
+     */
+    @Bean
+    public MeterBinder jwtCacheMetrics(JwtProperties jwtProperties) {
+        return registry -> {
+            VerifiedTokenCache cache = JwtUtil.getVerifiedTokenCache(jwtProperties.getSecretKey());
+            Gauge.builder("clear.jwt.cache.size", cache, VerifiedTokenCache::size)
+                    .description("已校验令牌缓存的条目数")
+                    .register(registry);
+            FunctionCounter.builder("clear.jwt.cache.requests", cache, VerifiedTokenCache::getHitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("clear.jwt.cache.requests", cache, VerifiedTokenCache::getMissCount)
+                    .tag("result", "miss")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * To Do 首页响应缓存: 条目数、占用字节、命中与淘汰情况
+     */
+    @Bean
+    public MeterBinder todoPageCacheMetrics(TodoPageCache cache) {
+        return registry -> {
+            Gauge.builder("clear.page.cache.size", cache, TodoPageCache::size)
+                    .description("缓存的响应条目数")
+                    .register(registry);
+            Gauge.builder("clear.page.cache.bytes", cache, TodoPageCache::getTotalBytes)
+                    .description("缓存的响应占用的字节数")
+                    .baseUnit("bytes")
+                    .register(registry);
+            FunctionCounter.builder("clear.page.cache.requests", cache, TodoPageCache::getHitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("clear.page.cache.requests", cache, TodoPageCache::getMissCount)
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("clear.page.cache.evictions", cache, TodoPageCache::getEvictionCount)
+                    .description("超出字节上限被淘汰的用户数")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 进程内分类字典: 条目数、命中与淘汰情况
+     */
+    @Bean
+    public MeterBinder categoryDictionaryMetrics(CategoryDictionary categoryDictionary) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, categoryDictionary.getCache(), CategoryDictionary.CACHE_NAME);
+    }
+
+    /**
+     * 并发查询合并: 实际执行、共享结果(节省的查询)与等待超时的次数
+     */
+    @Bean
+    public MeterBinder readCoalescerMetrics(ReadCoalescer readCoalescer) {
+        return registry -> {
+            SingleFlight<String, Object> singleFlight = readCoalescer.getSingleFlight();
+            Gauge.builder("clear.single.flight.in.flight", singleFlight, SingleFlight::inFlight)
+                    .description("正在执行的查询数")
+                    .register(registry);
+            FunctionCounter.builder("clear.single.flight.calls", singleFlight, SingleFlight::getExecutionCount)
+                    .tag("result", "executed")
+                    .register(registry);
+            FunctionCounter.builder("clear.single.flight.calls", singleFlight, SingleFlight::getSharedCount)
+                    .tag("result", "shared")
+                    .register(registry);
+            FunctionCounter.builder("clear.single.flight.calls", singleFlight, SingleFlight::getTimeoutCount)
+                    .tag("result", "timeout")
+                    .register(registry);
+        };
+    }
+}
@@ -1,8 +1,13 @@
 package cn.wind.clear.config;
 
+import cn.wind.clear.metrics.SqlMetricsInterceptor;
+import cn.wind.clear.metrics.SqlStatistics;
+import cn.wind.clear.metrics.SqlStatisticsInterceptor;
+import cn.wind.clear.properties.SqlProperties;
 import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -18,5 +23,20 @@ public class MybatisPlusConfig {
         interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.MYSQL)); // 如果你的数据库是 MySQL
         return interceptor;
     }
-}
 
+    /**
+     * 添加SQL指标插件
+     */
+    @Bean
+    public SqlMetricsInterceptor sqlMetricsInterceptor(MeterRegistry meterRegistry) {
+        return new SqlMetricsInterceptor(meterRegistry);
+    }
+
+    /**
+     * 添加慢SQL与语句统计插件
+     */
+    @Bean
+    public SqlStatisticsInterceptor sqlStatisticsInterceptor(SqlStatistics sqlStatistics, SqlProperties sqlProperties) {
+        return new SqlStatisticsInterceptor(sqlStatistics, sqlProperties);
+    }
+}
@@ -1,10 +1,15 @@
 package cn.wind.clear.config;
 
+import cn.wind.clear.utils.CountingStringRedisTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Tracer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
@@ -22,4 +27,18 @@ public class RedisConfiguration {
 
         return redisTemplate;
     }
+
+    /**
+     * 替换默认的StringRedisTemplate，统计每个请求发出的Redis命令数及耗时，并为每次调用生成span
+     */
+    @Bean
+    public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory redisConnectionFactory,
+                                                   ObjectProvider<MeterRegistry> meterRegistry,
+                                                   ObjectProvider<Tracer> tracer) {
+        log.info("开始创建StringRedis模板对象...");
+        CountingStringRedisTemplate template = new CountingStringRedisTemplate(redisConnectionFactory);
+        meterRegistry.ifAvailable(template::setMeterRegistry);
+        tracer.ifAvailable(template::setTracer);
+        return template;
+    }
 }
@@ -0,0 +1,38 @@
+package cn.wind.clear.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 请求线程模型
+ * <p>
+ * spring.threads.virtual.enabled 开启且运行在 Java 21+ 时，Spring Boot 使用虚拟线程处理请求；
+ * 其余情况使用 Tomcat 平台线程池。
+ * <p>
+ * 请求路径上的共享状态(令牌缓存、SQL 统计、搜索索引、分页缓存等)统一使用 java.util.concurrent.locks
+ * 而不是 synchronized：Java 21 的虚拟线程在 synchronized 块内等待时会占住载体线程，
+ * 大量请求争用同一把锁时可能耗尽载体线程
+ */
+@Configuration
+@Slf4j
+public class ThreadingConfiguration {
+
+    private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @PostConstruct
+    public void logThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (!virtualThreadsEnabled) {
+            log.info("请求使用平台线程处理, Java {}", javaVersion);
+        } else if (javaVersion < VIRTUAL_THREADS_JAVA_VERSION) {
+            log.warn("虚拟线程需要 Java {}+, 当前为 Java {}, 仍使用平台线程处理请求", VIRTUAL_THREADS_JAVA_VERSION, javaVersion);
+        } else {
+            log.info("请求使用虚拟线程处理, Java {}", javaVersion);
+        }
+    }
+}
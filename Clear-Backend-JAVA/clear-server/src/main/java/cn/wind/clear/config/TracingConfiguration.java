@@ -0,0 +1,39 @@
+package cn.wind.clear.config;
+
+import cn.wind.clear.properties.TracingProperties;
+import cn.wind.clear.tracing.JsonFileSpanHandler;
+import cn.wind.clear.tracing.SqlTracingInterceptor;
+import io.micrometer.tracing.Tracer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 链路追踪配置
+ * <p>
+ * span 通过 Brave 的 SpanHandler 导出，容器中的所有 SpanHandler 都会收到结束的 span。
+ * 这里提供写文件的导出器，引入 zipkin-reporter-brave 等依赖即可同时上报到其它系统
+ */
+@Configuration
+public class TracingConfiguration {
+
+    /**
+     * 添加SQL链路追踪插件
+     */
+    @Bean
+    public SqlTracingInterceptor sqlTracingInterceptor(Tracer tracer) {
+        return new SqlTracingInterceptor(tracer);
+    }
+
+    /**
+     * 把 span 写入 JSON 文件
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "clear.tracing", name = "file-enabled", havingValue = "true")
+    public JsonFileSpanHandler jsonFileSpanHandler(TracingProperties tracingProperties) throws IOException {
+        return new JsonFileSpanHandler(Path.of(tracingProperties.getFilePath()), tracingProperties.getQueueSize());
+    }
+}
@@ -1,5 +1,6 @@
 package cn.wind.clear.config;
 
+import cn.wind.clear.interceptor.AdminTokenInterceptor;
 import cn.wind.clear.interceptor.JwtTokenInterceptor;
 import cn.wind.clear.json.JacksonObjectMapper;
 import jakarta.annotation.Resource;
@@ -22,6 +23,8 @@ public class WebMvcConfiguration extends WebMvcConfigurationSupport {
 
     @Resource
     private JwtTokenInterceptor jwtTokenInterceptor;
+    @Resource
+    private AdminTokenInterceptor adminTokenInterceptor;
 
 
     /**
@@ -36,6 +39,8 @@ public class WebMvcConfiguration extends WebMvcConfigurationSupport {
                 .addPathPatterns("/category/**")
                 .excludePathPatterns("/user/login")
                 .excludePathPatterns("/user/register");
+        registry.addInterceptor(adminTokenInterceptor)
+                .addPathPatterns("/admin/**");
     }
 
     /**
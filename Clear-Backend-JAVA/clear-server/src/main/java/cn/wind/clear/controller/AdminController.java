@@ -0,0 +1,87 @@
+package cn.wind.clear.controller;
+
+import cn.wind.clear.metrics.SqlStatistics;
+import cn.wind.clear.result.Result;
+import cn.wind.clear.service.ProfilingService;
+import cn.wind.clear.vo.SqlStatVO;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 运维管理接口，需携带 X-Admin-Token 请求头
+ */
+@RestController
+@RequestMapping("/admin")
+@Slf4j
+public class AdminController {
+
+    @Resource
+    private SqlStatistics sqlStatistics;
+    @Resource
+    private ProfilingService profilingService;
+
+    /**
+     * 按指纹汇总的 SQL 执行统计
+     *
+     * @param n       返回条数
+     * @param orderBy 排序指标: total、mean、max、count、p99
+     * @return 倒序排列的前 n 条语句统计
+     */
+    @GetMapping("/sql/top")
+    public Result<List<SqlStatVO>> topSql(@RequestParam(defaultValue = "20") Integer n,
+                                          @RequestParam(defaultValue = "total") String orderBy) {
+        return Result.success(sqlStatistics.top(Math.max(1, n), orderBy));
+    }
+
+    /**
+     * 清空 SQL 执行统计
+     */
+    @DeleteMapping("/sql")
+    public Result resetSql() {
+        log.info("清空SQL执行统计");
+        sqlStatistics.reset();
+        return Result.success();
+    }
+
+    /**
+     * 开始限时的 JFR 录制
+     *
+     * @param seconds  录制时长(秒)，不超过 clear.admin.max-recording-seconds
+     * @param settings JFR 预置配置: default(开销约 1%) 或 profile(开销约 2%，包含分配与锁的采样)
+     * @return 录制id
+     */
+    @PostMapping("/jfr/start")
+    public Result<Long> startRecording(@RequestParam(defaultValue = "60") Integer seconds,
+                                       @RequestParam(defaultValue = "profile") String settings) {
+        log.info("开始JFR录制: {}s, {}", seconds, settings);
+        return Result.success(profilingService.startRecording(seconds, settings));
+    }
+
+    /**
+     * 停止 JFR 录制并下载 .jfr 文件，录制已到时则直接下载
+     */
+    @PostMapping("/jfr/stop")
+    public ResponseEntity<StreamingResponseBody> stopRecording() {
+        Path file = profilingService.stopRecording();
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                .body(body);
+    }
+}
@@ -3,10 +3,13 @@ package cn.wind.clear.controller;
 import cn.wind.clear.dto.CategoryDTO;
 import cn.wind.clear.result.Result;
 import cn.wind.clear.service.CategoryService;
+import cn.wind.clear.service.DataVersionService;
+import cn.wind.clear.vo.CategoryCountVO;
 import cn.wind.clear.vo.CategoryVO;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,21 +23,44 @@ public class CategoryController {
 
     @Resource
     private CategoryService categoryService;
+    @Resource
+    private DataVersionService dataVersionService;
 
     /**
      * 获取用户的分类数据
      * <p>
-     * 检索并返回当前登录用户的所有分类信息
+     * 检索并返回当前登录用户的所有分类信息，数据版本未变化时响应304
      *
+     * @param request 当前请求，用于比较 If-None-Match
      * @return 包含分类列表的结果对象，成功时返回CategoryVO列表
      */
     @GetMapping("/categories")
-    public Result<List<CategoryVO>> getCategories() {
+    public Result<List<CategoryVO>> getCategories(WebRequest request) {
+        if (request.checkNotModified(dataVersionService.currentETag())) {
+            return null;
+        }
         log.info("获取用户分类数据...");
         List<CategoryVO> list = categoryService.getCategories();
         return Result.success(list);
     }
 
+    /**
+     * 获取用户的分类数据及数量
+     * <p>
+     * 返回当前登录用户的所有分类以及每个分类下的待办事项数量，数量来自计数器，数据版本未变化时响应304
+     *
+     * @param request 当前请求，用于比较 If-None-Match
+     * @return 包含分类列表的结果对象，成功时返回CategoryCountVO列表
+     */
+    @GetMapping("/counts")
+    public Result<List<CategoryCountVO>> getCategoriesWithCount(WebRequest request) {
+        if (request.checkNotModified(dataVersionService.currentETag())) {
+            return null;
+        }
+        List<CategoryCountVO> list = categoryService.getCategoriesWithCount();
+        return Result.success(list);
+    }
+
     /**
      * 添加新分类
      * <p>
@@ -72,8 +98,8 @@ public class CategoryController {
      * @return 包含操作结果的响应对象，成功时返回成功消息
      */
     @DeleteMapping("/delete/{id}")
-    public Result<String> deleteCategory(@PathVariable Long id) {
-        categoryService.removeById(id);
+    public Result<String> deleteCategory(@PathVariable String id) {
+        categoryService.deleteCategory(id);
         return Result.success("删除成功");
     }
 }
@@ -1,16 +1,40 @@
 package cn.wind.clear.controller;
 
+import cn.wind.clear.cache.ReadCoalescer;
+import cn.wind.clear.cache.TodoPageCache;
+import cn.wind.clear.constant.MessageConstant;
+import cn.wind.clear.context.UserContext;
+import cn.wind.clear.dto.TodoBatchDTO;
+import cn.wind.clear.dto.TodoBulkDTO;
 import cn.wind.clear.dto.TodoDTO;
 import cn.wind.clear.dto.TodoPageQueryDTO;
 import cn.wind.clear.dto.UpdateTodoDTO;
+import cn.wind.clear.exception.BaseException;
+import cn.wind.clear.export.ExportFormat;
+import cn.wind.clear.json.JacksonObjectMapper;
 import cn.wind.clear.result.PageResult;
 import cn.wind.clear.result.Result;
+import cn.wind.clear.service.DataVersionService;
+import cn.wind.clear.service.SyncService;
+import cn.wind.clear.service.TodoImportService;
 import cn.wind.clear.service.TodoService;
+import cn.wind.clear.vo.ChangesVO;
+import cn.wind.clear.vo.TodoBatchResultVO;
+import cn.wind.clear.vo.TodoImportProgressVO;
 import cn.wind.clear.vo.TodoVO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 /**
  * Todo
@@ -20,8 +44,20 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class TodoController {
 
+    private static final JacksonObjectMapper OBJECT_MAPPER = new JacksonObjectMapper();
+
     @Resource
     TodoService todoService;
+    @Resource
+    DataVersionService dataVersionService;
+    @Resource
+    TodoPageCache todoPageCache;
+    @Resource
+    ReadCoalescer readCoalescer;
+    @Resource
+    SyncService syncService;
+    @Resource
+    TodoImportService todoImportService;
 
     /**
      * 添加待办事项
@@ -41,15 +77,133 @@ public class TodoController {
     /**
      * 待办事项分页查询
      * <p>
-     * 根据查询条件进行分页查询待办事项，结果会被缓存
+     * 根据查询条件进行分页查询待办事项，数据版本未变化时响应304；
+     * 常用的首页查询缓存序列化后的响应，命中时直接写出缓存的字节；同一用户相同的并发查询只执行一次
      *
      * @param todoPageQueryDTO 分页查询参数，包含页码、每页大小等查询条件
+     * @param request 当前请求，用于比较 If-None-Match
+     * @param response 当前响应，用于写出缓存的字节
      * @return 分页结果，包含TodoVO列表和分页信息
      */
     @GetMapping("/page")
-    public Result<PageResult<TodoVO>> pageTodo(TodoPageQueryDTO todoPageQueryDTO) {
-        PageResult<TodoVO> pageResult = todoService.pageQuery(todoPageQueryDTO);
-        return Result.success(pageResult);
+    public Result<PageResult<TodoVO>> pageTodo(TodoPageQueryDTO todoPageQueryDTO, WebRequest request,
+                                               HttpServletResponse response) throws IOException {
+        // 先获取版本再查询数据，并发修改时不会把旧数据缓存在新版本下
+        String userId = UserContext.getCurrentId();
+        long version = dataVersionService.getVersion(userId);
+        if (request.checkNotModified(dataVersionService.getETag(userId, version))) {
+            return null;
+        }
+        String flightKey = ReadCoalescer.pageKey(userId, version, todoPageQueryDTO);
+        String cacheKey = todoPageCache.cacheKey(todoPageQueryDTO);
+        if (cacheKey == null) {
+            PageResult<TodoVO> pageResult = readCoalescer.execute(flightKey,
+                    () -> todoService.pageQuery(todoPageQueryDTO));
+            return Result.success(pageResult);
+        }
+        byte[] body = todoPageCache.get(userId, version, cacheKey);
+        if (body == null) {
+            body = readCoalescer.execute(flightKey, () -> {
+                byte[] bytes = todoPageCache.serialize(Result.success(todoService.pageQuery(todoPageQueryDTO)));
+                todoPageCache.put(userId, version, cacheKey, bytes);
+                return bytes;
+            });
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return null;
+    }
+
+    /**
+     * 增量同步
+     * <p>
+     * 返回水位之后新增、修改的待办事项和分类，以及被删除的 id；
+     * 水位早于删除记录的保留期限时 fullResync 为 true，客户端需重新分页拉取；
+     * 数据较多时分页返回，nextCursor 不为空时带上它继续请求，全部取完后再保存水位
+     *
+     * @param since 上次同步返回的水位(毫秒时间戳)，首次同步不传
+     * @param cursor 上一页返回的 nextCursor
+     * @param limit 每类数据每页的最大数量
+     * @return 变化的数据及新的水位
+     */
+    @GetMapping("/changes")
+    public Result<ChangesVO> changes(@RequestParam(required = false) Long since,
+                                     @RequestParam(required = false) String cursor,
+                                     @RequestParam(required = false) Integer limit) {
+        return Result.success(syncService.getChanges(since, cursor, limit));
+    }
+
+    /**
+     * 导出待办事项
+     * <p>
+     * 按 id 每次读取 1000 条并直接写入响应，每段查询结束即归还连接，不在内存中组装完整结果，适合大量数据的备份和迁移
+     *
+     * @param format 导出格式，ndjson 或 csv
+     * @param response 当前响应，导出内容直接写入输出流
+     */
+    @GetMapping("/export")
+    public void export(@RequestParam(defaultValue = "ndjson") String format,
+                       HttpServletResponse response) throws IOException {
+        // 开始写出后无法再返回错误信息，先校验格式
+        ExportFormat exportFormat = ExportFormat.of(format);
+        if (exportFormat == null) {
+            throw new BaseException(MessageConstant.UNSUPPORTED_EXPORT_FORMAT);
+        }
+        response.setContentType(exportFormat.getContentType() + ";charset=UTF-8");
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"todos." + exportFormat.getExtension() + "\"");
+        todoService.exportTodos(exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * 导入待办事项
+     * <p>
+     * 请求体为 NDJSON 或 CSV 文件内容(Content-Type 使用 application/x-ndjson 或 text/csv)，边读取边按批插入，
+     * 分类按名称匹配，不存在时自动创建。响应为 NDJSON，每批提交后输出一行进度，每个出错的行输出一行错误，
+     * 最后一行为导入结果
+     *
+     * @param format 导入格式，ndjson 或 csv
+     * @param request 当前请求，从输入流读取文件内容
+     * @param response 当前响应，进度逐行写入输出流
+     */
+    @PostMapping("/import")
+    public void importTodos(@RequestParam(defaultValue = "ndjson") String format, HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        ExportFormat importFormat = ExportFormat.of(format);
+        if (importFormat == null) {
+            throw new BaseException(MessageConstant.UNSUPPORTED_IMPORT_FORMAT);
+        }
+        response.setContentType(ExportFormat.NDJSON.getContentType() + ";charset=UTF-8");
+        try (SequenceWriter writer = OBJECT_MAPPER.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream())) {
+            todoImportService.importTodos(importFormat, request.getInputStream(), progress -> {
+                try {
+                    writer.write(progress);
+                    // 错误行随下一次进度一起写出
+                    if (!TodoImportProgressVO.TYPE_ERROR.equals(progress.getType())) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    // 客户端断开时停止导入，已提交的批次保留
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * 重建检索索引
+     * <p>
+     * 从数据库重建当前用户的全文检索索引
+     *
+     * @return 重建后索引的待办事项数量
+     */
+    @PostMapping("/search/rebuild")
+    public Result<Integer> rebuildSearchIndex() {
+        return Result.success(todoService.rebuildSearchIndex());
     }
 
     /**
@@ -79,4 +233,49 @@ public class TodoController {
         todoService.udpateTodo(updateTodoDTO);
         return Result.success("更新成功");
     }
+
+    /**
+     * 批量操作待办事项
+     * <p>
+     * 在同一个事务中执行多条新增、更新、删除操作，任意一条不合法时全部不执行
+     *
+     * @param todoBatchDTO 批量操作，op 为 add、update 或 delete
+     * @return 与请求顺序一致的每条操作结果
+     */
+    @PostMapping("/batch")
+    public Result<List<TodoBatchResultVO>> batch(@RequestBody TodoBatchDTO todoBatchDTO) {
+        List<TodoBatchResultVO> results = todoService.batch(todoBatchDTO);
+        if (results.stream().allMatch(TodoBatchResultVO::getSuccess)) {
+            return Result.success(results);
+        }
+        Result<List<TodoBatchResultVO>> result = Result.error(MessageConstant.BATCH_NOT_EXECUTED);
+        result.setData(results);
+        return result;
+    }
+
+    /**
+     * 按条件批量修改状态
+     * <p>
+     * 如将某个分类下的待办事项全部标记为完成
+     *
+     * @param todoBulkDTO 过滤条件(分类、状态)及目标状态
+     * @return 修改的数量
+     */
+    @PutMapping("/batch/status")
+    public Result<Integer> bulkUpdateStatus(@RequestBody TodoBulkDTO todoBulkDTO) {
+        return Result.success(todoService.bulkUpdateStatus(todoBulkDTO));
+    }
+
+    /**
+     * 按条件批量删除
+     * <p>
+     * 如删除全部已完成的待办事项，至少需要一个过滤条件
+     *
+     * @param todoBulkDTO 过滤条件(分类、状态)
+     * @return 删除的数量
+     */
+    @DeleteMapping("/batch")
+    public Result<Integer> bulkDelete(TodoBulkDTO todoBulkDTO) {
+        return Result.success(todoService.bulkDelete(todoBulkDTO));
+    }
 }
@@ -1,20 +1,27 @@
 package cn.wind.clear.controller;
 
+import cn.wind.clear.cache.ReadCoalescer;
 import cn.wind.clear.constant.JwtClaimsConstant;
 import cn.wind.clear.constant.MessageConstant;
+import cn.wind.clear.context.RedisContext;
+import cn.wind.clear.context.UserContext;
 import cn.wind.clear.dto.UserDTO;
 import cn.wind.clear.dto.UserLoginDTO;
 import cn.wind.clear.entity.User;
 import cn.wind.clear.exception.BaseException;
 import cn.wind.clear.properties.JwtProperties;
 import cn.wind.clear.result.Result;
+import cn.wind.clear.service.DataVersionService;
+import cn.wind.clear.service.TokenRevocationService;
 import cn.wind.clear.service.UserService;
 import cn.wind.clear.utils.JwtUtil;
 import cn.wind.clear.vo.UserLoginVO;
 import cn.wind.clear.vo.UserStatusVO;
 import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -31,6 +38,12 @@ public class UserController {
     UserService userService;
     @Resource
     private JwtProperties jwtProperties;
+    @Resource
+    private TokenRevocationService tokenRevocationService;
+    @Resource
+    private DataVersionService dataVersionService;
+    @Resource
+    private ReadCoalescer readCoalescer;
 
     /**
      * 用户登录
@@ -67,6 +80,24 @@ public class UserController {
         return Result.success(vo);
     }
 
+    /**
+     * 用户注销
+     * <p>
+     * 将当前令牌加入吊销名单，令牌在过期前都不能再使用
+     *
+     * @param request 当前请求，用于获取令牌
+     * @return 操作结果，成功返回提示信息
+     */
+    @PostMapping("/logout")
+    public Result<String> logout(HttpServletRequest request) {
+        // 拦截器已校验过令牌格式
+        String token = request.getHeader(jwtProperties.getTokenName()).split(" ")[1];
+        tokenRevocationService.revoke(token);
+        // 旧版本按请求写入的用户上下文在令牌过期前仍留在Redis中，注销时一并清除
+        RedisContext.clearCurrentId();
+        return Result.success("注销成功");
+    }
+
     /**
      * 更新用户主题设置
      * <p>
@@ -111,13 +142,21 @@ public class UserController {
     /**
      * 获取用户状态信息
      * <p>
-     * 获取当前登录用户的任务状态统计信息，包括待办事项和已完成事项的数量等统计数据
+     * 获取当前登录用户的任务状态统计信息，包括待办事项和已完成事项的数量等统计数据，数据版本未变化时响应304，
+     * 同一用户的并发请求只查询一次
      *
+     * @param request 当前请求，用于比较 If-None-Match
      * @return Result 包含用户状态信息的结果对象
      */
     @GetMapping("/status")
-    public Result<UserStatusVO> getUserStatus() {
-        UserStatusVO userStatus = userService.getUserStatus();
+    public Result<UserStatusVO> getUserStatus(WebRequest request) {
+        String userId = UserContext.getCurrentId();
+        long version = dataVersionService.getVersion(userId);
+        if (request.checkNotModified(dataVersionService.getETag(userId, version))) {
+            return null;
+        }
+        UserStatusVO userStatus = readCoalescer.execute(ReadCoalescer.statusKey(userId, version),
+                userService::getUserStatus);
         return Result.success(userStatus);
     }
 
@@ -0,0 +1,93 @@
+package cn.wind.clear.export;
+
+import cn.wind.clear.vo.TodoVO;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * RFC 4180 格式的 CSV，带 UTF-8 BOM 以便 Excel 正确识别中文
+ */
+public class CsvTodoExportWriter implements TodoExportWriter {
+
+    public static final String[] HEADER = {
+            "id", "title", "content", "status", "categoryId", "categoryName", "dueDate", "createdAt", "updatedAt"
+    };
+    public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Writer writer;
+
+    public CsvTodoExportWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write('\uFEFF');
+        writer.write(String.join(",", HEADER));
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(TodoVO todo) throws IOException {
+        writer.write(todo.getId());
+        writer.write(',');
+        writeField(todo.getTitle());
+        writer.write(',');
+        writeField(todo.getContent());
+        writer.write(',');
+        writer.write(todo.getStatus() == null ? "" : todo.getStatus().toString());
+        writer.write(',');
+        writeField(todo.getCategoryId());
+        writer.write(',');
+        writeField(todo.getCategoryName());
+        writer.write(',');
+        writer.write(format(todo.getDueDate()));
+        writer.write(',');
+        writer.write(format(todo.getCreatedAt()));
+        writer.write(',');
+        writer.write(format(todo.getUpdatedAt()));
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * 含逗号、引号、换行的字段加引号，引号转义为两个引号；
+     * 以 = + - @ 制表符、回车开头的字段前加单引号，避免在表格软件中被当作公式执行
+     */
+    private void writeField(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        char first = value.charAt(0);
+        if (isFormulaPrefix(first)) {
+            value = "'" + value;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * 表格软件会把以这些字符开头的单元格当作公式
+     */
+    public static boolean isFormulaPrefix(char c) {
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+
+    private static String format(LocalDateTime dateTime) {
+        return dateTime == null ? "" : DATE_TIME_FORMATTER.format(dateTime);
+    }
+}
@@ -0,0 +1,158 @@
+package cn.wind.clear.export;
+
+import cn.wind.clear.constant.MessageConstant;
+import cn.wind.clear.dto.TodoImportDTO;
+import cn.wind.clear.exception.BaseException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 格式的 CSV，第一行为表头，按列名取值，列的顺序和多余的列不影响导入，
+ * 可以直接导入 CSV 导出的文件
+ */
+public class CsvTodoImportReader implements TodoImportReader {
+
+    private final Reader reader;
+    private final int maxLineLength;
+    private final StringBuilder field = new StringBuilder();
+    private Map<String, Integer> columns;
+    // 已读取的物理行数，带引号的字段中可能包含换行
+    private int physicalLine;
+    private int line;
+    private boolean eof;
+
+    public CsvTodoImportReader(InputStream in, int maxLineLength) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.maxLineLength = maxLineLength;
+    }
+
+    @Override
+    public TodoImportDTO next() throws IOException {
+        if (columns == null) {
+            List<String> header = this.readRecord();
+            if (header == null) {
+                return null;
+            }
+            columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.putIfAbsent(header.get(i).trim(), i);
+            }
+            if (!columns.containsKey("title")) {
+                throw new ImportAbortedException(MessageConstant.IMPORT_MISSING_TITLE);
+            }
+        }
+        List<String> record;
+        // 跳过空行
+        do {
+            record = this.readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isBlank());
+
+        if (record.size() > columns.size()) {
+            throw new BaseException(MessageConstant.INVALID_IMPORT_ROW);
+        }
+        TodoImportDTO dto = new TodoImportDTO();
+        dto.setTitle(value(record, "title"));
+        dto.setContent(value(record, "content"));
+        dto.setStatus(value(record, "status"));
+        dto.setCategoryId(value(record, "categoryId"));
+        dto.setCategoryName(value(record, "categoryName"));
+        dto.setDueDate(value(record, "dueDate"));
+        return dto;
+    }
+
+    @Override
+    public int getLine() {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * 取出列的值，空字符串视为未填写；还原导出时为防止公式注入添加的单引号
+     */
+    private String value(List<String> record, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        String value = record.get(index);
+        if (value.length() > 1 && value.charAt(0) == '\'' && CsvTodoExportWriter.isFormulaPrefix(value.charAt(1))) {
+            return value.substring(1);
+        }
+        return value;
+    }
+
+    /**
+     * 读取一条记录
+     *
+     * @return 文件结束时返回 null
+     */
+    private List<String> readRecord() throws IOException {
+        if (eof) {
+            return null;
+        }
+        int c = reader.read();
+        // 去掉文件开头的 BOM
+        if (physicalLine == 0 && c == '\uFEFF') {
+            c = reader.read();
+        }
+        if (c == -1) {
+            eof = true;
+            return null;
+        }
+        line = ++physicalLine;
+        List<String> record = new ArrayList<>();
+        field.setLength(0);
+        int length = 0;
+        boolean quoted = false;
+        while (true) {
+            if (++length > maxLineLength) {
+                throw new ImportAbortedException(MessageConstant.IMPORT_LINE_TOO_LONG);
+            }
+            if (quoted) {
+                if (c == -1) {
+                    // 引号未闭合时一直读到文件结束，这一条记录无效
+                    eof = true;
+                    throw new BaseException(MessageConstant.INVALID_IMPORT_ROW);
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    physicalLine++;
+                }
+                field.append((char) c);
+            } else if (c == -1 || c == '\n') {
+                eof = c == -1;
+                record.add(field.toString());
+                return record;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+}
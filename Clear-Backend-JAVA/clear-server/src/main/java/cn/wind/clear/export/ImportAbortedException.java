@@ -0,0 +1,13 @@
+package cn.wind.clear.export;
+
+import java.io.IOException;
+
+/**
+ * 导入文件无法继续读取(缺少必需的列、单行过长等)，消息可以直接返回给用户
+ */
+public class ImportAbortedException extends IOException {
+
+    public ImportAbortedException(String msg) {
+        super(msg);
+    }
+}
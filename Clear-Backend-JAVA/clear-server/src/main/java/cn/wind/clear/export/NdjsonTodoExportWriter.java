@@ -0,0 +1,37 @@
+package cn.wind.clear.export;
+
+import cn.wind.clear.json.JacksonObjectMapper;
+import cn.wind.clear.vo.TodoVO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 每行一个 JSON 对象，字段与日期格式与接口返回的 TodoVO 一致
+ */
+public class NdjsonTodoExportWriter implements TodoExportWriter {
+
+    private static final JacksonObjectMapper OBJECT_MAPPER = new JacksonObjectMapper();
+
+    private final SequenceWriter sequenceWriter;
+
+    public NdjsonTodoExportWriter(OutputStream out) throws IOException {
+        this.sequenceWriter = OBJECT_MAPPER.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out);
+    }
+
+    @Override
+    public void write(TodoVO todo) throws IOException {
+        sequenceWriter.write(todo);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // 最后一行同样以换行结尾
+        sequenceWriter.close();
+    }
+}
@@ -0,0 +1,112 @@
+package cn.wind.clear.export;
+
+import cn.wind.clear.constant.MessageConstant;
+import cn.wind.clear.dto.TodoImportDTO;
+import cn.wind.clear.exception.BaseException;
+import cn.wind.clear.json.JacksonObjectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 每行一个 JSON 对象，可以直接导入 NDJSON 导出的文件，多余的字段(id、创建时间等)忽略
+ */
+public class NdjsonTodoImportReader implements TodoImportReader {
+
+    private static final JacksonObjectMapper OBJECT_MAPPER = new JacksonObjectMapper();
+
+    private final Reader reader;
+    private final int maxLineLength;
+    private final StringBuilder buffer = new StringBuilder();
+    private int line;
+    private boolean eof;
+
+    public NdjsonTodoImportReader(InputStream in, int maxLineLength) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.maxLineLength = maxLineLength;
+    }
+
+    @Override
+    public TodoImportDTO next() throws IOException {
+        String text;
+        // 跳过空行
+        do {
+            text = this.readLine();
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+
+        JsonNode node;
+        try {
+            node = OBJECT_MAPPER.readTree(text);
+        } catch (JsonProcessingException e) {
+            throw new BaseException(MessageConstant.INVALID_IMPORT_ROW);
+        }
+        if (!node.isObject()) {
+            throw new BaseException(MessageConstant.INVALID_IMPORT_ROW);
+        }
+        TodoImportDTO dto = new TodoImportDTO();
+        dto.setTitle(text(node, "title"));
+        dto.setContent(text(node, "content"));
+        dto.setStatus(text(node, "status"));
+        dto.setCategoryId(text(node, "categoryId"));
+        dto.setCategoryName(text(node, "categoryName"));
+        dto.setDueDate(text(node, "dueDate"));
+        return dto;
+    }
+
+    @Override
+    public int getLine() {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * 读取一行，超过长度上限时抛出 ImportAbortedException
+     */
+    private String readLine() throws IOException {
+        if (eof) {
+            return null;
+        }
+        buffer.setLength(0);
+        line++;
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (buffer.length() >= maxLineLength) {
+                throw new ImportAbortedException(MessageConstant.IMPORT_LINE_TOO_LONG);
+            }
+            buffer.append((char) c);
+        }
+        if (c == -1) {
+            eof = true;
+            if (buffer.isEmpty()) {
+                return null;
+            }
+        }
+        int length = buffer.length();
+        if (length > 0 && buffer.charAt(length - 1) == '\r') {
+            buffer.setLength(length - 1);
+        }
+        // 去掉第一行的 BOM
+        if (line == 1 && !buffer.isEmpty() && buffer.charAt(0) == '\uFEFF') {
+            buffer.deleteCharAt(0);
+        }
+        return buffer.toString();
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
@@ -0,0 +1,25 @@
+package cn.wind.clear.export;
+
+import cn.wind.clear.vo.TodoVO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 逐条写出 To Do，只缓冲当前行，不持有已写出的数据
+ */
+public interface TodoExportWriter extends Closeable {
+
+    void write(TodoVO todo) throws IOException;
+
+    /**
+     * 写出缓冲中的数据，不关闭底层输出流
+     */
+    @Override
+    void close() throws IOException;
+
+    static TodoExportWriter of(ExportFormat format, OutputStream out) throws IOException {
+        return format == ExportFormat.CSV ? new CsvTodoExportWriter(out) : new NdjsonTodoExportWriter(out);
+    }
+}
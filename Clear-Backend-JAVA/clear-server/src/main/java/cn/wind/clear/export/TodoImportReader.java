@@ -0,0 +1,34 @@
+package cn.wind.clear.export;
+
+import cn.wind.clear.dto.TodoImportDTO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 逐行读取导入文件，只缓冲当前行
+ * <p>
+ * 单行内容无法解析(字段过多、JSON 无效、引号未闭合等)时抛出 {@link cn.wind.clear.exception.BaseException}，
+ * 该行已被跳过，可以继续读取；文件无法继续读取(缺少 title 列、单行过长)时抛出 {@link ImportAbortedException}；
+ * 其它 IOException 为读取输入流失败
+ */
+public interface TodoImportReader extends Closeable {
+
+    /**
+     * 读取下一行
+     * @return 文件结束时返回 null
+     */
+    TodoImportDTO next() throws IOException;
+
+    /**
+     * 最近一次读取的数据在文件中的起始行号，从 1 开始
+     */
+    int getLine();
+
+    static TodoImportReader of(ExportFormat format, InputStream in, int maxLineLength) {
+        return format == ExportFormat.CSV
+                ? new CsvTodoImportReader(in, maxLineLength)
+                : new NdjsonTodoImportReader(in, maxLineLength);
+    }
+}
@@ -28,6 +28,7 @@ public class CorsFilter implements Filter {
         res.setHeader("Access-Control-Allow-Credentials", "true"); // 允许携带 Cookie
         res.setHeader("Access-Control-Allow-Methods", "OPTIONS, GET, POST, PUT, DELETE, PATCH");
         res.setHeader("Access-Control-Allow-Headers", "*");
+        res.setHeader("Access-Control-Expose-Headers", "ETag"); // 允许前端读取 ETag 用于条件请求
         res.setHeader("Access-Control-Max-Age", "3600"); // 预检请求缓存 1 小时
 
         // 处理 OPTIONS 预检请求
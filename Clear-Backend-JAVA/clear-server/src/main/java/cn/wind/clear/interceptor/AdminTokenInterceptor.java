@@ -0,0 +1,39 @@
+package cn.wind.clear.interceptor;
+
+import cn.wind.clear.properties.AdminProperties;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+@Component
+public class AdminTokenInterceptor implements HandlerInterceptor {
+
+    public static final String HEADER = "X-Admin-Token";
+
+    @Resource
+    private AdminProperties adminProperties;
+
+    /**
+     * 校验管理令牌，未配置令牌时管理接口不可用
+     */
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String expected = adminProperties.getToken();
+        if (!StringUtils.hasText(expected)) {
+            response.setStatus(404);
+            return false;
+        }
+        String token = request.getHeader(HEADER);
+        if (token == null || !MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8))) {
+            response.setStatus(401);
+            return false;
+        }
+        return true;
+    }
+}
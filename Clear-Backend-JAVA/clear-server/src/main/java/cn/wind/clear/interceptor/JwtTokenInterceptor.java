@@ -1,10 +1,13 @@
 package cn.wind.clear.interceptor;
 
 import cn.wind.clear.constant.JwtClaimsConstant;
-import cn.wind.clear.context.RedisContext;
+import cn.wind.clear.context.UserContext;
 import cn.wind.clear.properties.JwtProperties;
+import cn.wind.clear.service.TokenRevocationService;
 import cn.wind.clear.utils.JwtUtil;
 import io.jsonwebtoken.Claims;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -19,6 +22,10 @@ public class JwtTokenInterceptor implements HandlerInterceptor {
 
     @Resource
     private JwtProperties jwtProperties;
+    @Resource
+    private TokenRevocationService tokenRevocationService;
+    @Resource
+    private Tracer tracer;
 
     /**
      * 校验JWT
@@ -36,6 +43,20 @@ public class JwtTokenInterceptor implements HandlerInterceptor {
             return true;
         }
 
+        Span span = tracer.nextSpan().name("JwtTokenInterceptor.preHandle").start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            boolean passed = authenticate(request, response);
+            span.tag("outcome", passed ? "pass" : "reject");
+            return passed;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * 校验令牌并设置用户上下文，不通过时响应401状态码
+     */
+    private boolean authenticate(HttpServletRequest request, HttpServletResponse response) {
         // 1. 从请求头中获取令牌
         String token = request.getHeader(jwtProperties.getTokenName());
 
@@ -57,9 +78,14 @@ public class JwtTokenInterceptor implements HandlerInterceptor {
         try {
             log.info("jwt校验: {}", res[1]);
             Claims claims = JwtUtil.parseJWT(jwtProperties.getSecretKey(), res[1]);
+            if (tokenRevocationService.isRevoked(res[1])) {
+                // 令牌已注销，响应401状态码
+                response.setStatus(401);
+                return false;
+            }
             String userId = claims.get(JwtClaimsConstant.USER_ID).toString();
             log.info("当前用户id: {}", userId);
-            RedisContext.setCurrentId(userId);
+            UserContext.setCurrentId(userId);
             // 3. 通过，放行
             return true;
         } catch (Exception e) {
@@ -68,4 +94,16 @@ public class JwtTokenInterceptor implements HandlerInterceptor {
             return false;
         }
     }
+
+    /**
+     * 请求结束，清理用户上下文
+     *
+     * @param request  current HTTP request
+     * @param response current HTTP response
+     * @param handler  the handler that started asynchronous execution, for type and/or instance examination
+     * @param ex       any exception thrown on handler execution, if any
+     */
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        UserContext.removeCurrentId();
+    }
 }
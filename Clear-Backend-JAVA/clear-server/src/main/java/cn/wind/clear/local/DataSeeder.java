@@ -0,0 +1,127 @@
+package cn.wind.clear.local;
+
+import cn.wind.clear.constant.CategoryConstant;
+import cn.wind.clear.constant.StatusConstant;
+import cn.wind.clear.properties.SeedProperties;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 测试数据生成
+ * <p>
+ * 设置 clear.seed.users 后启动时生成 N 个用户(用户名 seed_0 ... seed_N-1)，每个用户 M 条 To Do，
+ * 分类和 To Do 的内容由随机数种子决定，便于在相同的数据规模下重复性能测试。
+ * 直接按批插入，不经过业务接口；seed_0 已存在时跳过
+ */
+@Component
+@ConditionalOnExpression("${clear.seed.users:0} > 0")
+@Slf4j
+public class DataSeeder implements ApplicationRunner {
+
+    public static final String USERNAME_PREFIX = "seed_";
+
+    private static final String[] CATEGORIES = {CategoryConstant.DEFAULT_CATEGORY, "工作", "学习", "生活"};
+    private static final String[] VERBS = {"整理", "提交", "准备", "复习", "购买", "预约", "回复", "检查", "review", "update"};
+    private static final String[] OBJECTS = {"会议纪要", "周报", "体检", "机票", "代码评审", "读书笔记", "房租",
+            "季度预算", "Spring Boot upgrade", "release notes", "MySQL 慢查询", "Redis 缓存"};
+    private static final String[] DETAILS = {"记得同步给项目组", "截止前再确认一遍", "需要附上相关链接",
+            "和上周的版本对比", "check the dashboard first", "低优先级，有空再做"};
+
+    private static final String INSERT_USER =
+            "INSERT INTO user (id, username, password, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_CATEGORY =
+            "INSERT INTO category (id, user_id, name, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_TODO = "INSERT INTO todo (id, user_id, title, content, status, category_id, "
+            + "due_date, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+    @Resource
+    private SeedProperties seedProperties;
+
+    private final List<Object[]> users = new ArrayList<>();
+    private final List<Object[]> categories = new ArrayList<>();
+    private final List<Object[]> todos = new ArrayList<>();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user WHERE username = ?",
+                Long.class, USERNAME_PREFIX + 0);
+        if (existing != null && existing > 0) {
+            log.info("测试数据已存在, 跳过生成");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        Random random = new Random(seedProperties.getRandomSeed());
+        String password = DigestUtils.md5DigestAsHex(seedProperties.getPassword().getBytes(StandardCharsets.UTF_8));
+        LocalDateTime now = LocalDateTime.now();
+        int userCount = seedProperties.getUsers();
+        int todosPerUser = seedProperties.getTodosPerUser();
+
+        for (int i = 0; i < userCount; i++) {
+            long userId = IdWorker.getId();
+            users.add(new Object[]{userId, USERNAME_PREFIX + i, password, now, now});
+            long[] categoryIds = new long[CATEGORIES.length];
+            for (int j = 0; j < CATEGORIES.length; j++) {
+                categoryIds[j] = IdWorker.getId();
+                categories.add(new Object[]{categoryIds[j], userId, CATEGORIES[j], now, now});
+            }
+            for (int j = 0; j < todosPerUser; j++) {
+                todos.add(this.randomTodo(random, userId, categoryIds, now));
+                if (todos.size() >= seedProperties.getBatchSize()) {
+                    this.flush();
+                }
+            }
+            if (users.size() >= seedProperties.getBatchSize()) {
+                this.flush();
+            }
+        }
+        this.flush();
+        log.info("测试数据生成完成: {} 个用户, 每个用户 {} 条To Do, 耗时 {} ms",
+                userCount, todosPerUser, System.currentTimeMillis() - start);
+    }
+
+    private Object[] randomTodo(Random random, long userId, long[] categoryIds, LocalDateTime now) {
+        String title = VERBS[random.nextInt(VERBS.length)] + OBJECTS[random.nextInt(OBJECTS.length)];
+        String content = random.nextInt(10) < 3 ? null : DETAILS[random.nextInt(DETAILS.length)];
+        // 约三成已完成，两成没有截止日期
+        int status = random.nextInt(10) < 3 ? StatusConstant.ENABLED : StatusConstant.DISABLED;
+        LocalDateTime dueDate = random.nextInt(10) < 2 ? null
+                : now.plusDays(random.nextInt(90) - 30).withHour(random.nextInt(24)).withMinute(0).withSecond(0).withNano(0);
+        LocalDateTime createdAt = now.minusDays(random.nextInt(60));
+        long categoryId = categoryIds[random.nextInt(categoryIds.length)];
+        return new Object[]{IdWorker.getId(), userId, title, content, status, categoryId, dueDate, createdAt, now};
+    }
+
+    /**
+     * 按外键顺序插入已生成的用户、分类和 To Do
+     */
+    private void flush() {
+        if (!users.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_USER, users);
+            users.clear();
+        }
+        if (!categories.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CATEGORY, categories);
+            categories.clear();
+        }
+        if (!todos.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TODO, todos);
+            todos.clear();
+        }
+    }
+}
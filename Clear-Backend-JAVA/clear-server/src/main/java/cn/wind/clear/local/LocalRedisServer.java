@@ -0,0 +1,213 @@
+package cn.wind.clear.local;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 进程内 Redis
+ * <p>
+ * 在本机回环地址上实现 RESP2 协议，服务端仍通过 Lettuce 连接，
+ * 序列化、连接与事务的开销与真实 Redis 一致，只是不需要外部进程。仅用于 local 环境
+ */
+@Slf4j
+public class LocalRedisServer implements Closeable {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final LocalRedisStore store = new LocalRedisStore();
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ServerSocket serverSocket;
+    private volatile boolean running = true;
+
+    /**
+     * @param port 监听端口，0 表示随机端口
+     */
+    public LocalRedisServer(int port) throws IOException {
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptLoop, "local-redis-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("进程内Redis已启动, 端口 {}", getPort());
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        for (Socket client : clients) {
+            client.close();
+        }
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                clients.add(socket);
+                Thread handler = new Thread(() -> this.serve(socket),
+                        "local-redis-" + connections.incrementAndGet());
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("进程内Redis接受连接失败: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             InputStream in = new BufferedInputStream(socket.getInputStream());
+             OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+            // MULTI 之后排队的命令，不在事务中时为 null
+            List<List<String>> queued = null;
+            while (running) {
+                List<String> command = readCommand(in);
+                if (command == null) {
+                    break;
+                }
+                if (command.isEmpty()) {
+                    continue;
+                }
+                String name = command.get(0).toUpperCase(Locale.ROOT);
+                Object reply;
+                if ("MULTI".equals(name)) {
+                    reply = queued == null ? LocalRedisStore.OK
+                            : new LocalRedisStore.Error("ERR MULTI calls can not be nested");
+                    queued = queued == null ? new ArrayList<>() : queued;
+                } else if ("EXEC".equals(name)) {
+                    reply = queued == null ? new LocalRedisStore.Error("ERR EXEC without MULTI")
+                            : store.executeAll(queued);
+                    queued = null;
+                } else if ("DISCARD".equals(name)) {
+                    reply = queued == null ? new LocalRedisStore.Error("ERR DISCARD without MULTI")
+                            : LocalRedisStore.OK;
+                    queued = null;
+                } else if ("QUIT".equals(name)) {
+                    writeReply(out, LocalRedisStore.OK);
+                    out.flush();
+                    break;
+                } else if (queued != null) {
+                    queued.add(command);
+                    reply = LocalRedisStore.QUEUED;
+                } else {
+                    reply = store.execute(command);
+                }
+                writeReply(out, reply);
+                // 流水线中的命令读完后再刷出
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (EOFException | SocketException e) {
+            // 客户端断开
+        } catch (IOException e) {
+            log.debug("进程内Redis连接异常: {}", e.getMessage());
+        } finally {
+            clients.remove(socket);
+        }
+    }
+
+    /**
+     * 读取一条命令，客户端发送的是批量字符串数组，也兼容 telnet 的内联命令
+     *
+     * @return 命令及参数，连接关闭时返回 null
+     */
+    private static List<String> readCommand(InputStream in) throws IOException {
+        int first = in.read();
+        if (first == -1) {
+            return null;
+        }
+        if (first != '*') {
+            String line = (char) first + readLine(in);
+            return Arrays.stream(line.trim().split("\\s+")).filter(s -> !s.isEmpty()).toList();
+        }
+        int count = Integer.parseInt(readLine(in));
+        List<String> command = new ArrayList<>(Math.max(count, 0));
+        for (int i = 0; i < count; i++) {
+            if (in.read() != '$') {
+                throw new IOException("Protocol error: expected '$'");
+            }
+            int length = Integer.parseInt(readLine(in));
+            byte[] bytes = in.readNBytes(length);
+            if (bytes.length < length) {
+                throw new EOFException();
+            }
+            in.skipNBytes(CRLF.length);
+            command.add(new String(bytes, StandardCharsets.ISO_8859_1));
+        }
+        return command;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(16);
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b == -1) {
+                throw new EOFException();
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        return line.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    private static void writeReply(OutputStream out, Object reply) throws IOException {
+        if (reply == null) {
+            out.write("$-1".getBytes(StandardCharsets.ISO_8859_1));
+            out.write(CRLF);
+        } else if (reply instanceof LocalRedisStore.Status status) {
+            writeLine(out, '+', status.value());
+        } else if (reply instanceof LocalRedisStore.Error error) {
+            writeLine(out, '-', error.message());
+        } else if (reply instanceof Long number) {
+            writeLine(out, ':', number.toString());
+        } else if (reply instanceof String string) {
+            byte[] bytes = string.getBytes(StandardCharsets.ISO_8859_1);
+            writeLine(out, '$', Integer.toString(bytes.length));
+            out.write(bytes);
+            out.write(CRLF);
+        } else if (reply instanceof List<?> list) {
+            writeLine(out, '*', Integer.toString(list.size()));
+            for (Object element : list) {
+                writeReply(out, element);
+            }
+        } else {
+            throw new IllegalStateException("Unsupported reply: " + reply.getClass());
+        }
+    }
+
+    private static void writeLine(OutputStream out, char type, String value) throws IOException {
+        out.write(type);
+        out.write(value.getBytes(StandardCharsets.ISO_8859_1));
+        out.write(CRLF);
+    }
+}
@@ -0,0 +1,614 @@
+package cn.wind.clear.local;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 进程内 Redis 的数据与命令实现
+ * <p>
+ * 只实现服务端用到的字符串、哈希、有序集合及过期相关命令。
+ * 键和值以 ISO-8859-1 解码为字符串，与原始字节一一对应；所有命令串行执行，过期键在访问时惰性删除
+ */
+class LocalRedisStore {
+
+    static final Status OK = new Status("OK");
+    static final Status PONG = new Status("PONG");
+    static final Status QUEUED = new Status("QUEUED");
+
+    // 每执行多少条命令清理一次过期键
+    private static final int EXPIRE_SWEEP_INTERVAL = 1000;
+
+    private final Map<String, Object> data = new HashMap<>();
+    private final Map<String, Long> expires = new HashMap<>();
+    private int commandsSinceSweep = 0;
+
+    /**
+     * 状态回复，如 +OK
+     */
+    record Status(String value) {
+    }
+
+    /**
+     * 错误回复，如 -ERR ...
+     */
+    record Error(String message) {
+    }
+
+    /**
+     * 命令执行时的错误，转换为错误回复
+     */
+    static class CommandException extends RuntimeException {
+        CommandException(String message) {
+            super(message);
+        }
+    }
+
+    synchronized Object execute(List<String> command) {
+        return this.dispatch(command);
+    }
+
+    /**
+     * 原子地执行 MULTI 之后排队的命令
+     */
+    synchronized List<Object> executeAll(List<List<String>> commands) {
+        List<Object> replies = new ArrayList<>(commands.size());
+        for (List<String> command : commands) {
+            replies.add(this.dispatch(command));
+        }
+        return replies;
+    }
+
+    private Object dispatch(List<String> command) {
+        if (++commandsSinceSweep >= EXPIRE_SWEEP_INTERVAL) {
+            commandsSinceSweep = 0;
+            this.sweepExpired();
+        }
+        String name = command.get(0).toUpperCase(Locale.ROOT);
+        List<String> args = command.subList(1, command.size());
+        try {
+            return switch (name) {
+                case "PING" -> args.isEmpty() ? PONG : args.get(0);
+                case "ECHO" -> arg(args, 0);
+                case "SELECT", "AUTH", "CLIENT", "WATCH", "UNWATCH" -> OK;
+                case "INFO" -> "# Server\r\nredis_version:7.0.0\r\nredis_mode:standalone\r\n";
+                case "DBSIZE" -> (long) this.liveKeys().size();
+                case "FLUSHDB", "FLUSHALL" -> this.flush();
+                case "KEYS" -> this.keys(arg(args, 0));
+                case "TYPE" -> new Status(this.type(arg(args, 0)));
+                case "EXISTS" -> this.exists(args);
+                case "DEL", "UNLINK" -> this.del(args);
+                case "EXPIRE" -> this.expire(arg(args, 0), parseLong(arg(args, 1)) * 1000);
+                case "PEXPIRE" -> this.expire(arg(args, 0), parseLong(arg(args, 1)));
+                case "PERSIST" -> this.lookup(arg(args, 0)) != null && expires.remove(arg(args, 0)) != null ? 1L : 0L;
+                case "TTL" -> this.ttl(arg(args, 0), 1000);
+                case "PTTL" -> this.ttl(arg(args, 0), 1);
+                case "GET" -> this.getString(arg(args, 0));
+                case "MGET" -> args.stream().map(this::getStringOrNull).toList();
+                case "SET" -> this.set(args);
+                case "SETEX" -> this.setWithExpire(arg(args, 0), arg(args, 2), parseLong(arg(args, 1)) * 1000);
+                case "PSETEX" -> this.setWithExpire(arg(args, 0), arg(args, 2), parseLong(arg(args, 1)));
+                case "SETNX" -> this.setnx(arg(args, 0), arg(args, 1));
+                case "INCR" -> this.incrBy(arg(args, 0), 1);
+                case "INCRBY" -> this.incrBy(arg(args, 0), parseLong(arg(args, 1)));
+                case "DECR" -> this.incrBy(arg(args, 0), -1);
+                case "DECRBY" -> this.incrBy(arg(args, 0), -parseLong(arg(args, 1)));
+                case "HGET" -> this.hash(arg(args, 0), false).get(arg(args, 1));
+                case "HSET", "HMSET" -> this.hset(args, "HMSET".equals(name));
+                case "HSETNX" -> this.hash(arg(args, 0), true).putIfAbsent(arg(args, 1), arg(args, 2)) == null ? 1L : 0L;
+                case "HDEL" -> this.hdel(args);
+                case "HLEN" -> (long) this.hash(arg(args, 0), false).size();
+                case "HEXISTS" -> this.hash(arg(args, 0), false).containsKey(arg(args, 1)) ? 1L : 0L;
+                case "HGETALL" -> this.hgetall(arg(args, 0));
+                case "HINCRBY" -> this.hincrBy(arg(args, 0), arg(args, 1), parseLong(arg(args, 2)));
+                case "ZADD" -> this.zadd(args);
+                case "ZSCORE" -> this.zscore(arg(args, 0), arg(args, 1));
+                case "ZREM" -> this.zrem(args);
+                case "ZCARD" -> (long) this.zset(arg(args, 0), false).size();
+                case "ZRANGE" -> this.zrange(args);
+                case "ZRANGEBYSCORE" -> this.zrangeByScore(args);
+                case "ZREMRANGEBYSCORE" -> this.zremRangeByScore(arg(args, 0), arg(args, 1), arg(args, 2));
+                default -> new Error("ERR unknown command '" + command.get(0) + "', with args beginning with: ");
+            };
+        } catch (CommandException e) {
+            return new Error(e.getMessage());
+        }
+    }
+
+    // ---------------------------------------------------------------- 键
+
+    private Object lookup(String key) {
+        Long expiresAt = expires.get(key);
+        if (expiresAt != null && expiresAt <= System.currentTimeMillis()) {
+            expires.remove(key);
+            data.remove(key);
+            return null;
+        }
+        return data.get(key);
+    }
+
+    private void sweepExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, Long>> iterator = expires.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (entry.getValue() <= now) {
+                data.remove(entry.getKey());
+                iterator.remove();
+            }
+        }
+    }
+
+    private List<String> liveKeys() {
+        this.sweepExpired();
+        return new ArrayList<>(data.keySet());
+    }
+
+    private Status flush() {
+        data.clear();
+        expires.clear();
+        return OK;
+    }
+
+    private List<String> keys(String pattern) {
+        Pattern regex = Pattern.compile(globToRegex(pattern), Pattern.DOTALL);
+        return this.liveKeys().stream().filter(key -> regex.matcher(key).matches()).toList();
+    }
+
+    private String type(String key) {
+        Object value = this.lookup(key);
+        if (value == null) {
+            return "none";
+        }
+        if (value instanceof String) {
+            return "string";
+        }
+        return value instanceof ZSet ? "zset" : "hash";
+    }
+
+    private long exists(List<String> keys) {
+        return keys.stream().filter(key -> this.lookup(key) != null).count();
+    }
+
+    private long del(List<String> keys) {
+        long removed = 0;
+        for (String key : keys) {
+            if (this.lookup(key) != null) {
+                data.remove(key);
+                expires.remove(key);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private long expire(String key, long millis) {
+        if (this.lookup(key) == null) {
+            return 0L;
+        }
+        if (millis <= 0) {
+            data.remove(key);
+            expires.remove(key);
+        } else {
+            expires.put(key, System.currentTimeMillis() + millis);
+        }
+        return 1L;
+    }
+
+    private long ttl(String key, long unit) {
+        if (this.lookup(key) == null) {
+            return -2L;
+        }
+        Long expiresAt = expires.get(key);
+        if (expiresAt == null) {
+            return -1L;
+        }
+        return Math.max(0, expiresAt - System.currentTimeMillis()) / unit;
+    }
+
+    // ---------------------------------------------------------------- 字符串
+
+    private String getString(String key) {
+        Object value = this.lookup(key);
+        if (value != null && !(value instanceof String)) {
+            throw wrongType();
+        }
+        return (String) value;
+    }
+
+    private String getStringOrNull(String key) {
+        Object value = this.lookup(key);
+        return value instanceof String ? (String) value : null;
+    }
+
+    /**
+     * SET key value [NX|XX] [GET] [EX seconds|PX milliseconds|KEEPTTL]
+     */
+    private Object set(List<String> args) {
+        String key = arg(args, 0);
+        String value = arg(args, 1);
+        boolean nx = false;
+        boolean xx = false;
+        boolean get = false;
+        boolean keepTtl = false;
+        long millis = 0;
+        for (int i = 2; i < args.size(); i++) {
+            switch (args.get(i).toUpperCase(Locale.ROOT)) {
+                case "NX" -> nx = true;
+                case "XX" -> xx = true;
+                case "GET" -> get = true;
+                case "KEEPTTL" -> keepTtl = true;
+                case "EX" -> millis = parseLong(arg(args, ++i)) * 1000;
+                case "PX" -> millis = parseLong(arg(args, ++i));
+                default -> throw new CommandException("ERR syntax error");
+            }
+        }
+        Object old = this.lookup(key);
+        if (get && old != null && !(old instanceof String)) {
+            throw wrongType();
+        }
+        if ((nx && old != null) || (xx && old == null)) {
+            return get ? old : null;
+        }
+        Long expiresAt = keepTtl ? expires.get(key) : null;
+        this.setWithExpire(key, value, millis);
+        if (expiresAt != null) {
+            expires.put(key, expiresAt);
+        }
+        return get ? old : OK;
+    }
+
+    private Status setWithExpire(String key, String value, long millis) {
+        data.put(key, value);
+        if (millis > 0) {
+            expires.put(key, System.currentTimeMillis() + millis);
+        } else {
+            expires.remove(key);
+        }
+        return OK;
+    }
+
+    private long setnx(String key, String value) {
+        if (this.lookup(key) != null) {
+            return 0L;
+        }
+        this.setWithExpire(key, value, 0);
+        return 1L;
+    }
+
+    private long incrBy(String key, long delta) {
+        String value = this.getString(key);
+        long current;
+        try {
+            current = value == null ? 0 : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new CommandException("ERR value is not an integer or out of range");
+        }
+        long next = current + delta;
+        data.put(key, Long.toString(next));
+        return next;
+    }
+
+    // ---------------------------------------------------------------- 哈希
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> hash(String key, boolean create) {
+        Object value = this.lookup(key);
+        if (value == null) {
+            if (!create) {
+                return Map.of();
+            }
+            Map<String, String> hash = new LinkedHashMap<>();
+            data.put(key, hash);
+            return hash;
+        }
+        if (!(value instanceof LinkedHashMap)) {
+            throw wrongType();
+        }
+        return (Map<String, String>) value;
+    }
+
+    private Object hset(List<String> args, boolean legacy) {
+        if (args.size() < 3 || args.size() % 2 == 0) {
+            throw new CommandException("ERR wrong number of arguments for command");
+        }
+        Map<String, String> hash = this.hash(args.get(0), true);
+        long added = 0;
+        for (int i = 1; i < args.size(); i += 2) {
+            if (hash.put(args.get(i), args.get(i + 1)) == null) {
+                added++;
+            }
+        }
+        return legacy ? OK : added;
+    }
+
+    private long hdel(List<String> args) {
+        Map<String, String> hash = this.hash(arg(args, 0), false);
+        if (hash.isEmpty()) {
+            return 0L;
+        }
+        long removed = 0;
+        for (String field : args.subList(1, args.size())) {
+            if (hash.remove(field) != null) {
+                removed++;
+            }
+        }
+        if (hash.isEmpty()) {
+            this.del(List.of(args.get(0)));
+        }
+        return removed;
+    }
+
+    private List<String> hgetall(String key) {
+        List<String> reply = new ArrayList<>();
+        this.hash(key, false).forEach((field, value) -> {
+            reply.add(field);
+            reply.add(value);
+        });
+        return reply;
+    }
+
+    private long hincrBy(String key, String field, long delta) {
+        Map<String, String> hash = this.hash(key, true);
+        long current;
+        try {
+            current = Long.parseLong(hash.getOrDefault(field, "0"));
+        } catch (NumberFormatException e) {
+            throw new CommandException("ERR hash value is not an integer");
+        }
+        long next = current + delta;
+        hash.put(field, Long.toString(next));
+        return next;
+    }
+
+    // ---------------------------------------------------------------- 有序集合
+
+    /**
+     * 有序集合，成员到分值的映射，范围查询时再排序
+     */
+    private static class ZSet extends HashMap<String, Double> {
+
+        List<Map.Entry<String, Double>> sorted() {
+            List<Map.Entry<String, Double>> entries = new ArrayList<>(this.entrySet());
+            entries.sort(Map.Entry.<String, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+            return entries;
+        }
+    }
+
+    private ZSet zset(String key, boolean create) {
+        Object value = this.lookup(key);
+        if (value == null) {
+            ZSet zset = new ZSet();
+            if (create) {
+                data.put(key, zset);
+            }
+            return zset;
+        }
+        if (!(value instanceof ZSet zset)) {
+            throw wrongType();
+        }
+        return zset;
+    }
+
+    /**
+     * ZADD key [NX|XX] [CH] score member [score member ...]
+     */
+    private long zadd(List<String> args) {
+        String key = arg(args, 0);
+        boolean nx = false;
+        boolean xx = false;
+        boolean ch = false;
+        int i = 1;
+        for (; i < args.size(); i++) {
+            String option = args.get(i).toUpperCase(Locale.ROOT);
+            if ("NX".equals(option)) {
+                nx = true;
+            } else if ("XX".equals(option)) {
+                xx = true;
+            } else if ("CH".equals(option)) {
+                ch = true;
+            } else {
+                break;
+            }
+        }
+        if (i >= args.size() || (args.size() - i) % 2 != 0) {
+            throw new CommandException("ERR syntax error");
+        }
+        ZSet zset = this.zset(key, true);
+        long changed = 0;
+        for (; i < args.size(); i += 2) {
+            double score = parseScore(args.get(i));
+            String member = args.get(i + 1);
+            Double old = zset.get(member);
+            if ((nx && old != null) || (xx && old == null)) {
+                continue;
+            }
+            zset.put(member, score);
+            if (old == null || (ch && old != score)) {
+                changed++;
+            }
+        }
+        if (zset.isEmpty()) {
+            data.remove(key);
+        }
+        return changed;
+    }
+
+    private String zscore(String key, String member) {
+        Double score = this.zset(key, false).get(member);
+        return score == null ? null : formatScore(score);
+    }
+
+    private long zrem(List<String> args) {
+        ZSet zset = this.zset(arg(args, 0), false);
+        long removed = 0;
+        for (String member : args.subList(1, args.size())) {
+            if (zset.remove(member) != null) {
+                removed++;
+            }
+        }
+        if (zset.isEmpty()) {
+            this.del(List.of(args.get(0)));
+        }
+        return removed;
+    }
+
+    /**
+     * ZRANGE key start stop [WITHSCORES]
+     */
+    private List<String> zrange(List<String> args) {
+        List<Map.Entry<String, Double>> entries = this.zset(arg(args, 0), false).sorted();
+        int size = entries.size();
+        long start = parseLong(arg(args, 1));
+        long stop = parseLong(arg(args, 2));
+        if (start < 0) {
+            start = Math.max(0, size + start);
+        }
+        if (stop < 0) {
+            stop = size + stop;
+        }
+        stop = Math.min(stop, size - 1);
+        if (start > stop) {
+            return List.of();
+        }
+        return toReply(entries.subList((int) start, (int) stop + 1), hasOption(args, 3, "WITHSCORES"));
+    }
+
+    /**
+     * ZRANGEBYSCORE key min max [WITHSCORES] [LIMIT offset count]
+     */
+    private List<String> zrangeByScore(List<String> args) {
+        ScoreBound min = ScoreBound.parse(arg(args, 1));
+        ScoreBound max = ScoreBound.parse(arg(args, 2));
+        List<Map.Entry<String, Double>> entries = this.zset(arg(args, 0), false).sorted().stream()
+                .filter(entry -> min.atMost(entry.getValue()) && max.atLeast(entry.getValue()))
+                .toList();
+        boolean withScores = false;
+        for (int i = 3; i < args.size(); i++) {
+            String option = args.get(i).toUpperCase(Locale.ROOT);
+            if ("WITHSCORES".equals(option)) {
+                withScores = true;
+            } else if ("LIMIT".equals(option)) {
+                int offset = (int) parseLong(arg(args, ++i));
+                long count = parseLong(arg(args, ++i));
+                int from = Math.min(offset, entries.size());
+                int to = count < 0 ? entries.size() : (int) Math.min(entries.size(), from + count);
+                entries = entries.subList(from, to);
+            } else {
+                throw new CommandException("ERR syntax error");
+            }
+        }
+        return toReply(entries, withScores);
+    }
+
+    private long zremRangeByScore(String key, String minArg, String maxArg) {
+        ScoreBound min = ScoreBound.parse(minArg);
+        ScoreBound max = ScoreBound.parse(maxArg);
+        ZSet zset = this.zset(key, false);
+        int before = zset.size();
+        zset.values().removeIf(score -> min.atMost(score) && max.atLeast(score));
+        long removed = before - zset.size();
+        if (zset.isEmpty()) {
+            this.del(List.of(key));
+        }
+        return removed;
+    }
+
+    private static List<String> toReply(List<Map.Entry<String, Double>> entries, boolean withScores) {
+        List<String> reply = new ArrayList<>(withScores ? entries.size() * 2 : entries.size());
+        for (Map.Entry<String, Double> entry : entries) {
+            reply.add(entry.getKey());
+            if (withScores) {
+                reply.add(formatScore(entry.getValue()));
+            }
+        }
+        return reply;
+    }
+
+    /**
+     * 分值范围的边界，支持 -inf、+inf 和以 ( 开头的开区间
+     */
+    private record ScoreBound(double value, boolean exclusive) {
+
+        static ScoreBound parse(String text) {
+            boolean exclusive = text.startsWith("(");
+            return new ScoreBound(parseScore(exclusive ? text.substring(1) : text), exclusive);
+        }
+
+        boolean atMost(double score) {
+            return exclusive ? value < score : value <= score;
+        }
+
+        boolean atLeast(double score) {
+            return exclusive ? value > score : value >= score;
+        }
+    }
+
+    // ---------------------------------------------------------------- 工具
+
+    private static String arg(List<String> args, int index) {
+        if (index >= args.size()) {
+            throw new CommandException("ERR wrong number of arguments for command");
+        }
+        return args.get(index);
+    }
+
+    private static boolean hasOption(List<String> args, int index, String option) {
+        return args.size() > index && option.equalsIgnoreCase(args.get(index));
+    }
+
+    private static long parseLong(String text) {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new CommandException("ERR value is not an integer or out of range");
+        }
+    }
+
+    private static double parseScore(String text) {
+        switch (text.toLowerCase(Locale.ROOT)) {
+            case "-inf":
+                return Double.NEGATIVE_INFINITY;
+            case "inf":
+            case "+inf":
+                return Double.POSITIVE_INFINITY;
+            default:
+                try {
+                    return Double.parseDouble(text);
+                } catch (NumberFormatException e) {
+                    throw new CommandException("ERR value is not a valid float");
+                }
+        }
+    }
+
+    private static String formatScore(double score) {
+        if (Double.isInfinite(score)) {
+            return score > 0 ? "inf" : "-inf";
+        }
+        if (score == Math.rint(score) && Math.abs(score) < 1e15) {
+            return Long.toString((long) score);
+        }
+        return Double.toString(score);
+    }
+
+    private static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            switch (c) {
+                case '*' -> regex.append(".*");
+                case '?' -> regex.append('.');
+                default -> regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return regex.toString();
+    }
+
+    private static CommandException wrongType() {
+        return new CommandException("WRONGTYPE Operation against a key holding the wrong kind of value");
+    }
+}
@@ -1,10 +1,52 @@
 package cn.wind.clear.mapper;
 
+import cn.wind.clear.dto.TodoCountDTO;
+import cn.wind.clear.dto.TodoFilterDTO;
 import cn.wind.clear.entity.Todo;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 @Mapper
 public interface TodoMapper extends BaseMapper<Todo> {
 
+    /**
+     * 按分类、状态统计用户的 To Do 数量
+     * @param userId
+     * @return
+     */
+    List<TodoCountDTO> countByCategoryAndStatus(@Param("userId") String userId);
+
+    /**
+     * 按截止日期、id 倒序查询一页 To Do，支持页码(offset)和游标两种分页
+     * @param filter
+     * @return
+     */
+    List<Todo> selectTodoList(@Param("f") TodoFilterDTO filter);
+
+    /**
+     * 满足条件的 To Do 总数，忽略分页和游标
+     * @param filter
+     * @return
+     */
+    Long countTodo(@Param("f") TodoFilterDTO filter);
+
+    /**
+     * 满足条件的 To Do id，忽略分页和游标
+     * @param filter
+     * @return
+     */
+    List<String> selectTodoIds(@Param("f") TodoFilterDTO filter);
+
+    /**
+     * 按 id 顺序读取用户 id 大于 afterId 的 To Do，最多 limit 条
+     * @param userId
+     * @param afterId 上一段最后一条的 id，为空时从头读取
+     * @param limit
+     * @return
+     */
+    List<Todo> selectTodoChunk(@Param("userId") String userId, @Param("afterId") Long afterId,
+                               @Param("limit") int limit);
 }
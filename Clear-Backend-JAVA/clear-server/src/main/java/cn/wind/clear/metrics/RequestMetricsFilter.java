@@ -0,0 +1,79 @@
+package cn.wind.clear.metrics;
+
+import cn.wind.clear.context.RedisCommandCounter;
+import cn.wind.clear.context.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Resource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 记录每个请求执行的 SQL 语句数和 Redis 命令数
+ * <p>
+ * 按接口路径模板打标签，与 http.server.requests 的 uri 标签一致，便于对照延迟分析
+ */
+@Component
+@Slf4j
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    // 每个请求的语句数、命令数都很小，使用固定的桶
+    private static final double[] COUNT_BUCKETS = {0, 1, 2, 3, 5, 8, 13, 21, 34, 55};
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    // 按路径模板缓存已注册的指标，避免每个请求都走一遍 builder 和注册表查找
+    private final Map<String, DistributionSummary> sqlSummaries = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> redisSummaries = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.reset();
+        RedisCommandCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                String uri = pattern.toString();
+                int sqlCount = SqlStatementCounter.getRequestCount();
+                int redisCount = RedisCommandCounter.getRequestCount();
+                sqlSummaries.computeIfAbsent(uri, u -> DistributionSummary.builder("clear.request.sql.statements")
+                                .description("单个请求执行的 SQL 语句数")
+                                .tag("uri", u)
+                                .serviceLevelObjectives(COUNT_BUCKETS)
+                                .register(meterRegistry))
+                        .record(sqlCount);
+                redisSummaries.computeIfAbsent(uri, u -> DistributionSummary.builder("clear.request.redis.commands")
+                                .description("单个请求发出的 Redis 命令数")
+                                .tag("uri", u)
+                                .serviceLevelObjectives(COUNT_BUCKETS)
+                                .register(meterRegistry))
+                        .record(redisCount);
+                log.debug("{} 本次请求SQL语句数: {}, Redis命令数: {}", uri, sqlCount, redisCount);
+            }
+            SqlStatementCounter.remove();
+            RedisCommandCounter.remove();
+        }
+    }
+
+    /**
+     * 指标本身的请求不统计
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+}
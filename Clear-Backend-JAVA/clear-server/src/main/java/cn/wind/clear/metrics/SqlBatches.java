@@ -0,0 +1,103 @@
+package cn.wind.clear.metrics;
+
+import org.apache.ibatis.executor.BatchExecutorException;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.reflection.ExceptionUtil;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * 批量语句的执行结果
+ * <p>
+ * BatchExecutor 执行 update 时只调用 addBatch，语句在 flushStatements 中才通过 executeBatch 发给数据库，
+ * 因此批量语句在 Executor.flushStatements 上计时。一次刷新可能执行多组语句(每个 MappedStatement 一组)，
+ * 总耗时按各组的参数条数分摊
+ */
+final class SqlBatches {
+
+    private SqlBatches() {
+    }
+
+    /**
+     * 一组批量语句
+     *
+     * @param statementId mapper 方法
+     * @param type        语句类型
+     * @param sql         语句
+     * @param statements  参数条数
+     * @param rows        影响行数
+     * @param nanos       分摊的耗时
+     * @param success     是否执行成功
+     */
+    record Batch(String statementId, String type, String sql, int statements, long rows, long nanos,
+                 boolean success) {
+    }
+
+    /**
+     * 执行 flushStatements 并记录每组语句，执行失败时记录已成功的组和失败的组后再抛出异常
+     *
+     * @param invocation flushStatements 调用
+     * @param recorder   记录每组语句
+     * @return flushStatements 的返回值
+     */
+    @SuppressWarnings("unchecked")
+    static Object flush(Invocation invocation, Recorder recorder) throws Throwable {
+        long start = System.nanoTime();
+        List<BatchResult> results;
+        try {
+            results = (List<BatchResult>) invocation.proceed();
+        } catch (Throwable e) {
+            if (ExceptionUtil.unwrapThrowable(e) instanceof BatchExecutorException batchException) {
+                List<Batch> batches = new ArrayList<>();
+                batchException.getSuccessfulBatchResults().forEach(result -> batches.add(toBatch(result)));
+                String sql = Objects.toString(batchException.getFailingSqlStatement(), "");
+                batches.add(new Batch(batchException.getFailingStatementId(), commandType(sql), sql, 1, 0, 0, false));
+                recorder.record(split(batches, System.nanoTime() - start));
+            }
+            throw e;
+        }
+        if (results != null && !results.isEmpty()) {
+            recorder.record(split(results.stream().map(SqlBatches::toBatch).toList(), System.nanoTime() - start));
+        }
+        return results;
+    }
+
+    private static Batch toBatch(BatchResult result) {
+        // 驱动返回 SUCCESS_NO_INFO(如开启 rewriteBatchedStatements)时每条参数按一行计
+        long rows = 0;
+        for (int count : result.getUpdateCounts()) {
+            rows += count >= 0 ? count : count == Statement.SUCCESS_NO_INFO ? 1 : 0;
+        }
+        return new Batch(result.getMappedStatement().getId(), result.getMappedStatement().getSqlCommandType().name(),
+                result.getSql(), Math.max(result.getParameterObjects().size(), 1), rows, 0, true);
+    }
+
+    private static List<Batch> split(List<Batch> batches, long nanos) {
+        long total = batches.stream().mapToLong(Batch::statements).sum();
+        return batches.stream()
+                .map(batch -> new Batch(batch.statementId(), batch.type(), batch.sql(), batch.statements(),
+                        batch.rows(), nanos * batch.statements() / total, batch.success()))
+                .toList();
+    }
+
+    /**
+     * 失败的语句没有 MappedStatement，从语句开头的关键字判断类型
+     */
+    private static String commandType(String sql) {
+        String keyword = sql.stripLeading().split("\\s+", 2)[0].toUpperCase(Locale.ROOT);
+        return switch (keyword) {
+            case "INSERT", "UPDATE", "DELETE" -> keyword;
+            default -> "UNKNOWN";
+        };
+    }
+
+    @FunctionalInterface
+    interface Recorder {
+        void record(List<Batch> batches);
+    }
+}
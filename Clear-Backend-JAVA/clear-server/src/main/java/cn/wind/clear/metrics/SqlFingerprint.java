@@ -0,0 +1,31 @@
+package cn.wind.clear.metrics;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * SQL 指纹
+ * <p>
+ * 去掉字面量、合并空白并把不定长的 IN 列表和多行 VALUES 折叠为一项，
+ * 只有参数不同的语句得到相同的指纹
+ */
+public class SqlFingerprint {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern VALUES_LIST = Pattern.compile("\\bvalues\\s*(\\([^()]*\\))(?:\\s*,\\s*\\([^()]*\\))+");
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        String fingerprint = STRING_LITERAL.matcher(sql).replaceAll("?");
+        fingerprint = NUMBER_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = WHITESPACE.matcher(fingerprint).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+        fingerprint = IN_LIST.matcher(fingerprint).replaceAll("in (?+)");
+        fingerprint = VALUES_LIST.matcher(fingerprint).replaceAll("values $1+");
+        return fingerprint;
+    }
+}
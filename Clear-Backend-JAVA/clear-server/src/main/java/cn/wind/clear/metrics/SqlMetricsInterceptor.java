@@ -0,0 +1,86 @@
+package cn.wind.clear.metrics;
+
+import cn.wind.clear.context.SqlStatementCounter;
+import cn.wind.clear.utils.MetricsUtils;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import org.apache.ibatis.executor.Executor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 指标插件
+ * <p>
+ * 在 StatementHandler 上计时，每条实际发给数据库的语句记录一次(分页的 COUNT 查询单独记录)，
+ * 按 mapper 方法、语句类型和所在接口打标签，耗时包含结果映射。
+ * 批量语句在 Executor.flushStatements 上计时，每组 executeBatch 记录一次，见 SqlBatches
+ */
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class}),
+        @Signature(type = Executor.class, method = "flushStatements", args = {})
+})
+public class SqlMetricsInterceptor implements Interceptor {
+
+    public static final String METRIC_NAME = "clear.sql.statements";
+
+    private final MeterRegistry meterRegistry;
+    // 按标签组合缓存已注册的计时器，避免每条语句都走一遍 builder 和注册表查找
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public SqlMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (invocation.getTarget() instanceof Executor) {
+            return SqlBatches.flush(invocation, batches -> batches.forEach(batch -> {
+                SqlStatementCounter.increment();
+                TimerKey key = new TimerKey(batch.statementId(), batch.type(),
+                        MetricsUtils.currentUri(), batch.success() ? "success" : "error");
+                timers.computeIfAbsent(key, this::register).record(batch.nanos(), TimeUnit.NANOSECONDS);
+            }));
+        }
+        SqlStatementCounter.increment();
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            MappedStatement mappedStatement = PluginUtils.mpStatementHandler(
+                    (StatementHandler) invocation.getTarget()).mappedStatement();
+            TimerKey key = new TimerKey(mappedStatement.getId(), mappedStatement.getSqlCommandType().name(),
+                    MetricsUtils.currentUri(), outcome);
+            timers.computeIfAbsent(key, this::register)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer register(TimerKey key) {
+        return Timer.builder(METRIC_NAME)
+                .description("执行的 SQL 语句")
+                .tag("statement", key.statement())
+                .tag("type", key.type())
+                .tag("uri", key.uri())
+                .tag("outcome", key.outcome())
+                .register(meterRegistry);
+    }
+
+    private record TimerKey(String statement, String type, String uri, String outcome) {
+    }
+}
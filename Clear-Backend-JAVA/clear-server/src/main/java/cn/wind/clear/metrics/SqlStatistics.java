@@ -0,0 +1,152 @@
+package cn.wind.clear.metrics;
+
+import cn.wind.clear.properties.SqlProperties;
+import cn.wind.clear.vo.SqlStatVO;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 按 SQL 指纹汇总的执行统计
+ * <p>
+ * 记录次数、失败、行数、总耗时和最大耗时，分位数由每个指纹固定大小的水塘抽样计算
+ */
+@Component
+@Slf4j
+public class SqlStatistics {
+
+    @Resource
+    private SqlProperties sqlProperties;
+
+    private final Map<String, Stat> stats = new ConcurrentHashMap<>();
+    private final AtomicBoolean overflowLogged = new AtomicBoolean();
+
+    public void record(String fingerprint, String statementId, long nanos, long rows, boolean success) {
+        Stat stat = stats.get(fingerprint);
+        if (stat == null) {
+            if (stats.size() >= sqlProperties.getMaxFingerprints()) {
+                if (overflowLogged.compareAndSet(false, true)) {
+                    log.warn("SQL指纹数超过 {}, 新的语句不再统计", sqlProperties.getMaxFingerprints());
+                }
+                return;
+            }
+            stat = stats.computeIfAbsent(fingerprint, k -> new Stat(statementId, sqlProperties.getReservoirSize()));
+        }
+        stat.record(nanos, rows, success);
+    }
+
+    /**
+     * 按指定指标倒序取前 N 条
+     *
+     * @param orderBy total、mean、max、count、p99 之一，其它值按 total 排序
+     */
+    public List<SqlStatVO> top(int limit, String orderBy) {
+        Comparator<SqlStatVO> comparator = switch (orderBy == null ? "total" : orderBy) {
+            case "mean" -> Comparator.comparing(SqlStatVO::getMeanMs);
+            case "max" -> Comparator.comparing(SqlStatVO::getMaxMs);
+            case "count" -> Comparator.comparing(SqlStatVO::getCount);
+            case "p99" -> Comparator.comparing(SqlStatVO::getP99Ms);
+            default -> Comparator.comparing(SqlStatVO::getTotalMs);
+        };
+        return stats.entrySet().stream()
+                .map(entry -> entry.getValue().toVO(entry.getKey()))
+                .sorted(comparator.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public void reset() {
+        stats.clear();
+        overflowLogged.set(false);
+    }
+
+    private static class Stat {
+
+        private final String statementId;
+        private final long[] reservoir;
+        // 保护计数、耗时和采样数组，快照时与记录互斥
+        private final ReentrantLock lock = new ReentrantLock();
+        private long count;
+        private long errors;
+        private long rows;
+        private long totalNanos;
+        private long maxNanos;
+
+        Stat(String statementId, int reservoirSize) {
+            this.statementId = statementId;
+            this.reservoir = new long[reservoirSize];
+        }
+
+        void record(long nanos, long rows, boolean success) {
+            lock.lock();
+            try {
+                // 水塘抽样: 第 n 个样本以 size/n 的概率替换已有样本
+                if (count < reservoir.length) {
+                    reservoir[(int) count] = nanos;
+                } else {
+                    long index = ThreadLocalRandom.current().nextLong(count + 1);
+                    if (index < reservoir.length) {
+                        reservoir[(int) index] = nanos;
+                    }
+                }
+                count++;
+                if (!success) {
+                    errors++;
+                }
+                this.rows += rows;
+                totalNanos += nanos;
+                maxNanos = Math.max(maxNanos, nanos);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        SqlStatVO toVO(String fingerprint) {
+            lock.lock();
+            try {
+                return snapshot(fingerprint);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private SqlStatVO snapshot(String fingerprint) {
+            long[] samples = Arrays.copyOf(reservoir, (int) Math.min(count, reservoir.length));
+            Arrays.sort(samples);
+            return SqlStatVO.builder()
+                    .fingerprint(fingerprint)
+                    .statementId(statementId)
+                    .count(count)
+                    .errors(errors)
+                    .rows(rows)
+                    .totalMs(toMillis(totalNanos))
+                    .meanMs(count == 0 ? 0 : toMillis(totalNanos / count))
+                    .maxMs(toMillis(maxNanos))
+                    .p50Ms(percentile(samples, 50))
+                    .p95Ms(percentile(samples, 95))
+                    .p99Ms(percentile(samples, 99))
+                    .build();
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p / 100 * sorted.length);
+            return toMillis(sorted[Math.max(0, rank - 1)]);
+        }
+
+        private static double toMillis(long nanos) {
+            return Math.round(nanos / 1000.0) / 1000.0;
+        }
+    }
+}
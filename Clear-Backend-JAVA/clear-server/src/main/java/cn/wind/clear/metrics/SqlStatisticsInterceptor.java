@@ -0,0 +1,149 @@
+package cn.wind.clear.metrics;
+
+import cn.wind.clear.jfr.SqlStatementEvent;
+import cn.wind.clear.properties.SqlProperties;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 慢 SQL 与语句统计插件
+ * <p>
+ * 按指纹汇总每条语句的执行情况，超过阈值的语句连同参数形态(类型和字符串长度，不含参数值)记录日志，
+ * 每条语句同时产生一个 JFR 事件。
+ * MyBatis-Plus 的 InnerInterceptor 只有执行前的回调，无法计时，因此与 SqlMetricsInterceptor 一样在 StatementHandler 上拦截；
+ * 批量语句在 Executor.flushStatements 上拦截，每组 executeBatch 按一条语句统计，一次刷新产生一个 JFR 事件
+ */
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class}),
+        @Signature(type = Executor.class, method = "flushStatements", args = {})
+})
+@Slf4j
+public class SqlStatisticsInterceptor implements Interceptor {
+
+    private final SqlStatistics sqlStatistics;
+    private final SqlProperties sqlProperties;
+
+    public SqlStatisticsInterceptor(SqlStatistics sqlStatistics, SqlProperties sqlProperties) {
+        this.sqlStatistics = sqlStatistics;
+        this.sqlProperties = sqlProperties;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (invocation.getTarget() instanceof Executor) {
+            return this.interceptFlush(invocation);
+        }
+        SqlStatementEvent event = new SqlStatementEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Object result = null;
+        boolean success = false;
+        try {
+            result = invocation.proceed();
+            success = true;
+            return result;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            event.end();
+            PluginUtils.MPStatementHandler handler = PluginUtils.mpStatementHandler((StatementHandler) invocation.getTarget());
+            MappedStatement mappedStatement = handler.mappedStatement();
+            BoundSql boundSql = handler.boundSql();
+            long rows = result instanceof List<?> list ? list.size() : result instanceof Integer count ? count : 0;
+            String fingerprint = SqlFingerprint.of(boundSql.getSql());
+            sqlStatistics.record(fingerprint, mappedStatement.getId(), nanos, rows, success);
+            if (event.shouldCommit()) {
+                event.statementId = mappedStatement.getId();
+                event.fingerprint = fingerprint;
+                event.rows = rows;
+                event.success = success;
+                event.commit();
+            }
+
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            if (millis >= sqlProperties.getSlowThreshold()) {
+                log.warn("慢SQL {} ms, 行数 {}, {}: {} 参数: {}", millis, rows, mappedStatement.getId(),
+                        fingerprint, parameterShape(mappedStatement.getConfiguration(), boundSql));
+            }
+        }
+    }
+
+    private Object interceptFlush(Invocation invocation) throws Throwable {
+        SqlStatementEvent event = new SqlStatementEvent();
+        event.begin();
+        return SqlBatches.flush(invocation, batches -> {
+            event.end();
+            StringJoiner statementIds = new StringJoiner(",");
+            StringJoiner fingerprints = new StringJoiner("; ");
+            long totalRows = 0;
+            boolean success = true;
+            for (SqlBatches.Batch batch : batches) {
+                String statementId = batch.statementId();
+                String fingerprint = SqlFingerprint.of(batch.sql());
+                long rows = batch.rows();
+                sqlStatistics.record(fingerprint, statementId, batch.nanos(), rows, batch.success());
+                long millis = TimeUnit.NANOSECONDS.toMillis(batch.nanos());
+                if (millis >= sqlProperties.getSlowThreshold()) {
+                    log.warn("慢SQL(批量) {} ms, 语句数 {}, 行数 {}, {}: {}", millis,
+                            batch.statements(), rows, statementId, fingerprint);
+                }
+                statementIds.add(statementId);
+                fingerprints.add(fingerprint);
+                totalRows += rows;
+                success &= batch.success();
+            }
+            if (event.shouldCommit()) {
+                event.statementId = statementIds.toString();
+                event.fingerprint = fingerprints.toString();
+                event.rows = totalRows;
+                event.success = success;
+                event.commit();
+            }
+        });
+    }
+
+    /**
+     * 参数形态，如 [Long, String(12), LocalDateTime]，字符串只给出长度
+     */
+    private static String parameterShape(Configuration configuration, BoundSql boundSql) {
+        Object parameterObject = boundSql.getParameterObject();
+        StringJoiner shape = new StringJoiner(", ", "[", "]");
+        for (ParameterMapping parameterMapping : boundSql.getParameterMappings()) {
+            String property = parameterMapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameterObject == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                value = parameterObject;
+            } else {
+                value = configuration.newMetaObject(parameterObject).getValue(property);
+            }
+            if (value == null) {
+                shape.add("null");
+            } else if (value instanceof CharSequence text) {
+                shape.add("String(" + text.length() + ")");
+            } else {
+                shape.add(value.getClass().getSimpleName());
+            }
+        }
+        return shape.toString();
+    }
+}
@@ -0,0 +1,86 @@
+package cn.wind.clear.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 分词器
+ * <p>
+ * 字母数字连续片段按整词切分(转小写)，检索时按子串匹配索引中的词；
+ * 中日韩文字片段按相邻两字切分(bigram)，建索引时额外保留单字，以支持单字检索
+ */
+public final class BigramTokenizer {
+
+    private BigramTokenizer() {
+    }
+
+    /**
+     * 建索引使用的分词，包含中日韩单字
+     */
+    public static List<String> tokenizeForIndex(String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * 检索使用的分词，中日韩片段只有一个字时才使用单字
+     */
+    public static List<String> tokenizeForQuery(String text) {
+        return tokenize(text, false);
+    }
+
+    private static List<String> tokenize(String text, boolean withUnigrams) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int length = lower.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = lower.codePointAt(i);
+            if (isCjk(codePoint)) {
+                List<String> chars = new ArrayList<>();
+                while (i < length && isCjk(lower.codePointAt(i))) {
+                    int cp = lower.codePointAt(i);
+                    chars.add(new String(Character.toChars(cp)));
+                    i += Character.charCount(cp);
+                }
+                if (chars.size() == 1 || withUnigrams) {
+                    tokens.addAll(chars);
+                }
+                for (int j = 0; j + 1 < chars.size(); j++) {
+                    tokens.add(chars.get(j) + chars.get(j + 1));
+                }
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                int start = i;
+                while (i < length) {
+                    int cp = lower.codePointAt(i);
+                    if (!Character.isLetterOrDigit(cp) || isCjk(cp)) {
+                        break;
+                    }
+                    i += Character.charCount(cp);
+                }
+                tokens.add(lower.substring(start, i));
+            } else {
+                i += Character.charCount(codePoint);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 分词结果是否为中日韩文字(单字或 bigram)，其余为字母数字词
+     */
+    public static boolean isCjk(String term) {
+        return !term.isEmpty() && isCjk(term.codePointAt(0));
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
@@ -0,0 +1,417 @@
+package cn.wind.clear.search;
+
+import cn.wind.clear.entity.Todo;
+import cn.wind.clear.entity.Tombstone;
+import cn.wind.clear.mapper.TodoMapper;
+import cn.wind.clear.mapper.TombstoneMapper;
+import cn.wind.clear.properties.SearchProperties;
+import cn.wind.clear.service.SyncService;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * To Do 全文检索倒排索引
+ * <p>
+ * 按用户分别维护标题和内容的倒排索引，由增删改操作增量更新。
+ * 索引定期保存为本地快照，重启时加载快照并补齐快照之后更新过的数据，无需全量重建；
+ * 同一轮同步也会补齐其它节点写入的数据，并按删除记录移除其它节点删除的数据。
+ * 已删除但仍留在索引中的 id 会在回表时被过滤
+ */
+@Component
+@Slf4j
+public class TodoSearchIndex {
+
+    // 标题中的词权重高于内容
+    private static final int TITLE_WEIGHT = 2;
+    // 全量重建时每批读取的数量
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    // 增量同步时向前多取的时间，覆盖时钟误差和未提交的事务
+    private static final long CATCH_UP_OVERLAP_SECONDS = 60;
+
+    @Resource
+    private TodoMapper todoMapper;
+    @Resource
+    private TombstoneMapper tombstoneMapper;
+    @Resource
+    private SearchProperties searchProperties;
+
+    private final Map<String, UserIndex> indexes = new ConcurrentHashMap<>();
+
+    private volatile boolean ready = false;
+    private volatile boolean dirty = false;
+    // 上次同步的时间，下次同步从这里开始补齐
+    private volatile LocalDateTime syncedAt;
+
+    /**
+     * 索引是否可用，加载或重建完成之前检索退回 LIKE 查询
+     */
+    public boolean isReady() {
+        return searchProperties.isEnabled() && ready;
+    }
+
+    /**
+     * 建立或更新一条 To Do 的索引
+     */
+    public void index(Todo todo) {
+        if (!searchProperties.isEnabled()) {
+            return;
+        }
+        indexes.computeIfAbsent(todo.getUserId(), k -> new UserIndex())
+                .put(todo.getId(), termFrequencies(todo));
+        dirty = true;
+    }
+
+    /**
+     * 删除一条 To Do 的索引
+     */
+    public void remove(String userId, String todoId) {
+        UserIndex index = indexes.get(userId);
+        if (index != null) {
+            index.remove(todoId);
+            dirty = true;
+        }
+    }
+
+    /**
+     * 检索用户的 To Do，返回按相关度排序的全部 id
+     * <p>
+     * 结果需包含关键字的所有词，相关度为各词的 tf * idf 之和。
+     * 字母数字词与 LIKE 一样按子串匹配(meet 可以匹配 meeting)，中日韩文字按 bigram 匹配
+     *
+     * @param userId  用户id
+     * @param keyword 关键字
+     * @return 按相关度从高到低排序的 To Do id；关键字中没有可索引的词(如只有标点)
+     *         或命中数超过 max-matches 时返回 null，由调用方退回 LIKE 查询
+     */
+    public List<String> search(String userId, String keyword) {
+        List<String> terms = BigramTokenizer.tokenizeForQuery(keyword);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        UserIndex index = indexes.get(userId);
+        if (index == null) {
+            return List.of();
+        }
+        List<String> ids = index.search(terms);
+        return ids.size() > searchProperties.getMaxMatches() ? null : ids;
+    }
+
+    /**
+     * 从数据库重建用户的索引
+     *
+     * @return 索引的 To Do 数量
+     */
+    public int rebuildUser(String userId) {
+        List<Todo> todos = todoMapper.selectList(new LambdaQueryWrapper<Todo>()
+                .select(Todo::getId, Todo::getUserId, Todo::getTitle, Todo::getContent)
+                .eq(Todo::getUserId, userId));
+        UserIndex index = new UserIndex();
+        todos.forEach(todo -> index.put(todo.getId(), termFrequencies(todo)));
+        indexes.put(userId, index);
+        dirty = true;
+        log.info("用户 {} 的检索索引重建完成, 共 {} 条", userId, todos.size());
+        return todos.size();
+    }
+
+    /**
+     * 从数据库全量重建索引
+     */
+    public void rebuildAll() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        Map<String, UserIndex> rebuilt = new HashMap<>();
+        long lastId = 0;
+        int total = 0;
+        while (true) {
+            List<Todo> todos = todoMapper.selectPage(new Page<>(1, REBUILD_BATCH_SIZE, false),
+                    new LambdaQueryWrapper<Todo>()
+                            .select(Todo::getId, Todo::getUserId, Todo::getTitle, Todo::getContent)
+                            .gt(Todo::getId, lastId)
+                            .orderByAsc(Todo::getId)).getRecords();
+            if (todos.isEmpty()) {
+                break;
+            }
+            for (Todo todo : todos) {
+                rebuilt.computeIfAbsent(todo.getUserId(), k -> new UserIndex())
+                        .put(todo.getId(), termFrequencies(todo));
+            }
+            total += todos.size();
+            lastId = Long.parseLong(todos.get(todos.size() - 1).getId());
+        }
+        indexes.clear();
+        indexes.putAll(rebuilt);
+        syncedAt = startedAt;
+        dirty = true;
+        log.info("检索索引全量重建完成, 共 {} 条", total);
+    }
+
+    /**
+     * 启动后加载快照并补齐快照之后的变更，没有快照时全量重建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!searchProperties.isEnabled()) {
+            return;
+        }
+        Thread loader = new Thread(() -> {
+            try {
+                if (!searchProperties.isSnapshot() || !this.loadSnapshot()) {
+                    this.rebuildAll();
+                } else {
+                    this.catchUp();
+                }
+                ready = true;
+            } catch (Exception e) {
+                log.error("检索索引加载失败, 关键字检索将使用LIKE查询", e);
+            }
+        }, "search-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * 定期补齐变更并保存快照
+     */
+    @Scheduled(fixedDelayString = "${clear.search.sync-interval:300000}")
+    public void sync() {
+        if (!isReady()) {
+            return;
+        }
+        try {
+            this.catchUp();
+            if (dirty && searchProperties.isSnapshot()) {
+                this.saveSnapshot();
+            }
+        } catch (Exception e) {
+            log.error("检索索引同步失败: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (isReady() && dirty && searchProperties.isSnapshot()) {
+            try {
+                this.saveSnapshot();
+            } catch (IOException e) {
+                log.error("检索索引快照保存失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 重新索引上次同步之后更新过的 To Do，移除上次同步之后删除的 To Do
+     */
+    private void catchUp() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime from = syncedAt.minusSeconds(CATCH_UP_OVERLAP_SECONDS);
+        List<Todo> todos = todoMapper.selectList(new LambdaQueryWrapper<Todo>()
+                .select(Todo::getId, Todo::getUserId, Todo::getTitle, Todo::getContent)
+                .ge(Todo::getUpdatedAt, from));
+        todos.forEach(this::index);
+        List<Tombstone> tombstones = tombstoneMapper.selectList(new LambdaQueryWrapper<Tombstone>()
+                .select(Tombstone::getUserId, Tombstone::getEntityId)
+                .eq(Tombstone::getEntityType, SyncService.TYPE_TODO)
+                .ge(Tombstone::getDeletedAt, from));
+        tombstones.forEach(tombstone -> this.remove(tombstone.getUserId(), tombstone.getEntityId()));
+        syncedAt = startedAt;
+        log.debug("检索索引增量同步 {} 条, 移除 {} 条", todos.size(), tombstones.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    boolean loadSnapshot() throws IOException, ClassNotFoundException {
+        Path path = Paths.get(searchProperties.getIndexPath());
+        if (!Files.exists(path)) {
+            return false;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(
+                new GZIPInputStream(new BufferedInputStream(Files.newInputStream(path))))) {
+            LocalDateTime snapshotAt = (LocalDateTime) in.readObject();
+            HashMap<String, HashMap<String, HashMap<String, Integer>>> documents =
+                    (HashMap<String, HashMap<String, HashMap<String, Integer>>>) in.readObject();
+            indexes.clear();
+            documents.forEach((userId, docs) -> {
+                UserIndex index = new UserIndex();
+                docs.forEach(index::put);
+                indexes.put(userId, index);
+            });
+            syncedAt = snapshotAt;
+            log.info("检索索引快照加载完成, 快照时间 {}, 用户数 {}", snapshotAt, documents.size());
+            return true;
+        }
+    }
+
+    void saveSnapshot() throws IOException {
+        dirty = false;
+        LocalDateTime snapshotAt = syncedAt;
+        HashMap<String, HashMap<String, HashMap<String, Integer>>> documents = new HashMap<>();
+        indexes.forEach((userId, index) -> documents.put(userId, index.copyDocuments()));
+
+        Path path = Paths.get(searchProperties.getIndexPath()).toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (ObjectOutputStream out = new ObjectOutputStream(
+                new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp))))) {
+            out.writeObject(snapshotAt);
+            out.writeObject(documents);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.debug("检索索引快照已保存: {}", path);
+    }
+
+    private static HashMap<String, Integer> termFrequencies(Todo todo) {
+        HashMap<String, Integer> frequencies = new HashMap<>();
+        BigramTokenizer.tokenizeForIndex(todo.getTitle())
+                .forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        BigramTokenizer.tokenizeForIndex(todo.getContent())
+                .forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        return frequencies;
+    }
+
+    /**
+     * 单个用户的索引
+     * <p>
+     * documents 与 postings 由 lock 一起保护：检索持有读锁可以并发进行，增删持有写锁
+     */
+    private static class UserIndex {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // To Do id -> 词频
+        private final HashMap<String, HashMap<String, Integer>> documents = new HashMap<>();
+        // 词 -> (To Do id -> 词频)
+        private final HashMap<String, HashMap<String, Integer>> postings = new HashMap<>();
+
+        void put(String todoId, HashMap<String, Integer> frequencies) {
+            lock.writeLock().lock();
+            try {
+                removeDocument(todoId);
+                documents.put(todoId, frequencies);
+                frequencies.forEach((term, tf) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(todoId, tf));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(String todoId) {
+            lock.writeLock().lock();
+            try {
+                removeDocument(todoId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeDocument(String todoId) {
+            HashMap<String, Integer> old = documents.remove(todoId);
+            if (old == null) {
+                return;
+            }
+            old.keySet().forEach(term -> {
+                HashMap<String, Integer> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(todoId);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            });
+        }
+
+        List<String> search(List<String> terms) {
+            lock.readLock().lock();
+            try {
+                return doSearch(terms);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private List<String> doSearch(List<String> terms) {
+            List<Map<String, Integer>> matched = new ArrayList<>();
+            for (String term : terms) {
+                Map<String, Integer> posting = BigramTokenizer.isCjk(term) ? postings.get(term) : substringPosting(term);
+                if (posting == null || posting.isEmpty()) {
+                    return List.of();
+                }
+                matched.add(posting);
+            }
+            // 从最短的倒排表开始求交集
+            matched.sort(Comparator.comparingInt(Map::size));
+            Map<String, Double> scores = new HashMap<>();
+            int total = documents.size();
+            for (Map.Entry<String, Integer> entry : matched.get(0).entrySet()) {
+                String todoId = entry.getKey();
+                double score = 0;
+                boolean all = true;
+                for (Map<String, Integer> posting : matched) {
+                    Integer tf = posting.get(todoId);
+                    if (tf == null) {
+                        all = false;
+                        break;
+                    }
+                    score += tf * Math.log(1 + (double) total / posting.size());
+                }
+                if (all) {
+                    scores.put(todoId, score);
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<String, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.<String, Double>comparingByKey(Comparator.reverseOrder())))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        }
+
+        /**
+         * 合并包含该词的所有索引词的倒排表，词频相加；完全相同的词直接使用其倒排表
+         * <p>
+         * 遍历的是单个用户的词表，规模与用户的数据量相当
+         */
+        private Map<String, Integer> substringPosting(String term) {
+            HashMap<String, Integer> exact = postings.get(term);
+            HashMap<String, Integer> merged = exact == null ? new HashMap<>() : new HashMap<>(exact);
+            for (Map.Entry<String, HashMap<String, Integer>> entry : postings.entrySet()) {
+                String indexed = entry.getKey();
+                if (indexed.length() > term.length() && indexed.contains(term) && !BigramTokenizer.isCjk(indexed)) {
+                    entry.getValue().forEach((todoId, tf) -> merged.merge(todoId, tf, Integer::sum));
+                }
+            }
+            return merged;
+        }
+
+        HashMap<String, HashMap<String, Integer>> copyDocuments() {
+            lock.readLock().lock();
+            try {
+                return new HashMap<>(documents);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
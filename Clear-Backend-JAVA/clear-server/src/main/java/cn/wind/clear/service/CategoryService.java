@@ -2,10 +2,12 @@ package cn.wind.clear.service;
 
 import cn.wind.clear.dto.CategoryDTO;
 import cn.wind.clear.entity.Category;
+import cn.wind.clear.vo.CategoryCountVO;
 import cn.wind.clear.vo.CategoryVO;
 import com.baomidou.mybatisplus.extension.service.IService;
 
 import java.util.List;
+import java.util.Map;
 
 public interface CategoryService extends IService<Category> {
     String getDefaultCategoryId(String currentId, String defaultCategory);
@@ -14,9 +16,26 @@ public interface CategoryService extends IService<Category> {
 
     List<CategoryVO> getCategories();
 
+    /**
+     * 获取分类数据及每个分类下的 To Do 数量
+     * @return
+     */
+    List<CategoryCountVO> getCategoriesWithCount();
+
     void addCategory(CategoryDTO categoryDTO);
 
     void updateCategory(CategoryDTO categoryDTO);
 
-    String getCategoryNameById(String categoryId);
+    /**
+     * 删除当前用户的分类
+     * @param id
+     */
+    void deleteCategory(String id);
+
+    /**
+     * 获取用户的分类字典(分类id -> 分类名称)，结果来自缓存，不能修改
+     * @param userId
+     * @return
+     */
+    Map<String, String> getCategoryNames(String userId);
 }
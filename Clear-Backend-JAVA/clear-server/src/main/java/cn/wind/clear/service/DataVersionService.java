@@ -0,0 +1,37 @@
+package cn.wind.clear.service;
+
+/**
+ * 用户数据版本
+ * <p>
+ * 每个用户的 To Do 与分类数据共用一个单调递增的版本号，任何修改都会使其递增，
+ * 查询接口据此生成 ETag，版本未变化时直接响应 304
+ */
+public interface DataVersionService {
+
+    /**
+     * 获取用户当前的数据版本
+     * @param userId
+     * @return
+     */
+    long getVersion(String userId);
+
+    /**
+     * 用户数据被修改后递增版本，处于事务中时在提交后执行
+     * @param userId
+     */
+    void bump(String userId);
+
+    /**
+     * 数据版本对应的 ETag
+     * @param userId
+     * @param version
+     * @return
+     */
+    String getETag(String userId, long version);
+
+    /**
+     * 当前用户数据版本对应的 ETag
+     * @return
+     */
+    String currentETag();
+}
@@ -0,0 +1,20 @@
+package cn.wind.clear.service;
+
+import java.nio.file.Path;
+
+public interface ProfilingService {
+
+    /**
+     * 开始一次限时的 JFR 录制，同一时间只允许一个录制
+     * @param seconds 录制时长，超过上限时按上限处理
+     * @param settings JFR 预置配置，default 或 profile
+     * @return 录制id
+     */
+    long startRecording(int seconds, String settings);
+
+    /**
+     * 停止当前录制(已到时的录制直接导出)，返回录制文件，由调用方负责删除
+     * @return
+     */
+    Path stopRecording();
+}
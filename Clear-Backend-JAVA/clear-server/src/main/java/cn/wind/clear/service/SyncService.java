@@ -0,0 +1,31 @@
+package cn.wind.clear.service;
+
+import cn.wind.clear.entity.Tombstone;
+import cn.wind.clear.vo.ChangesVO;
+import com.baomidou.mybatisplus.extension.service.IService;
+
+import java.util.Collection;
+
+public interface SyncService extends IService<Tombstone> {
+
+    // 删除记录的数据类型
+    String TYPE_TODO = "todo";
+    String TYPE_CATEGORY = "category";
+
+    /**
+     * 记录被删除的数据，需与删除在同一个事务中调用
+     * @param userId
+     * @param entityType TYPE_TODO 或 TYPE_CATEGORY
+     * @param ids
+     */
+    void recordDeleted(String userId, String entityType, Collection<String> ids);
+
+    /**
+     * 获取当前用户在水位之后新增、修改、删除的 To Do 与分类，分页返回
+     * @param since 上次同步返回的水位(毫秒时间戳)，首次同步不传
+     * @param cursor 上一页返回的 nextCursor，传入时忽略 since
+     * @param limit 每类数据每页的最大数量，不超过 clear.sync.max-changes
+     * @return
+     */
+    ChangesVO getChanges(Long since, String cursor, Integer limit);
+}
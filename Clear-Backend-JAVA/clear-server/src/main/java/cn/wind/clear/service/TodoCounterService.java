@@ -0,0 +1,45 @@
+package cn.wind.clear.service;
+
+import java.util.Map;
+
+/**
+ * To Do 计数器
+ * <p>
+ * 维护每个用户已完成、未完成以及每个分类下的 To Do 数量，
+ * 由增删改操作增量更新，缺失或异常时从数据库重建
+ */
+public interface TodoCounterService {
+
+    /**
+     * 新增 To Do 后更新计数
+     */
+    void onAdd(String userId, String categoryId, Integer status);
+
+    /**
+     * To Do 的分类或状态变化后更新计数
+     */
+    void onUpdate(String userId, String oldCategoryId, Integer oldStatus, String newCategoryId, Integer newStatus);
+
+    /**
+     * 删除 To Do 后更新计数
+     */
+    void onDelete(String userId, String categoryId, Integer status);
+
+    /**
+     * 使用户的计数失效，下次读取时从数据库重建
+     */
+    void invalidate(String userId);
+
+    /**
+     * 获取用户的计数
+     */
+    TodoCounts getCounts(String userId);
+
+    /**
+     * @param done           已完成数量
+     * @param undone         未完成数量
+     * @param categoryTotals 分类id -> 该分类下的 To Do 数量
+     */
+    record TodoCounts(long done, long undone, Map<String, Long> categoryTotals) {
+    }
+}
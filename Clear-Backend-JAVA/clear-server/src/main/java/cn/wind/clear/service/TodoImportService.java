@@ -0,0 +1,23 @@
+package cn.wind.clear.service;
+
+import cn.wind.clear.export.ExportFormat;
+import cn.wind.clear.vo.TodoImportProgressVO;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface TodoImportService {
+
+    /**
+     * 边读取边导入当前用户的 To Do，按批插入，每批一个事务
+     * <p>
+     * 每行的校验规则与单条添加一致，分类按名称匹配，不存在时自动创建；
+     * 单行失败不影响其他行，批次写入失败时只回滚该批
+     *
+     * @param format 导入格式
+     * @param in 输入流，调用方负责关闭
+     * @param listener 接收每批提交后的进度、每行的错误和最终结果，在当前线程中调用
+     * @return 最终结果
+     */
+    TodoImportProgressVO importTodos(ExportFormat format, InputStream in, Consumer<TodoImportProgressVO> listener);
+}
@@ -1,14 +1,22 @@
 package cn.wind.clear.service;
 
+import cn.wind.clear.dto.TodoBatchDTO;
+import cn.wind.clear.dto.TodoBulkDTO;
 import cn.wind.clear.dto.TodoDTO;
 import cn.wind.clear.dto.TodoPageQueryDTO;
 import cn.wind.clear.dto.UpdateTodoDTO;
 import cn.wind.clear.entity.Todo;
+import cn.wind.clear.export.ExportFormat;
 import cn.wind.clear.result.PageResult;
+import cn.wind.clear.vo.TodoBatchResultVO;
 import cn.wind.clear.vo.TodoVO;
 import cn.wind.clear.vo.UserStatusVO;
 import com.baomidou.mybatisplus.extension.service.IService;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
 public interface TodoService extends IService<Todo> {
     /**
      * 添加to do
@@ -35,6 +43,41 @@ public interface TodoService extends IService<Todo> {
      */
     void udpateTodo(UpdateTodoDTO updateTodoDTO);
 
+    /**
+     * 批量增删改 to do，在同一个事务中执行
+     * @param todoBatchDTO
+     * @return 每条操作的结果
+     */
+    List<TodoBatchResultVO> batch(TodoBatchDTO todoBatchDTO);
+
+    /**
+     * 按条件批量修改 to do 状态
+     * @param todoBulkDTO
+     * @return 修改的数量
+     */
+    int bulkUpdateStatus(TodoBulkDTO todoBulkDTO);
+
+    /**
+     * 按条件批量删除 to do
+     * @param todoBulkDTO
+     * @return 删除的数量
+     */
+    int bulkDelete(TodoBulkDTO todoBulkDTO);
+
+    /**
+     * 重建当前用户的全文检索索引
+     * @return 索引的 To Do 数量
+     */
+    int rebuildSearchIndex();
+
+    /**
+     * 按 id 分段读取当前用户的全部 To Do 并写入输出流，内存占用与数据量无关
+     * @param format 导出格式
+     * @param out 输出流，调用方负责关闭
+     * @return 导出的数量
+     */
+    long exportTodos(ExportFormat format, OutputStream out) throws IOException;
+
     Long getNumOfDoneOrUndone(String currentId, Integer enabled);
 
     UserStatusVO getTodoStatus(String currentId);
@@ -0,0 +1,17 @@
+package cn.wind.clear.service;
+
+public interface TokenRevocationService {
+
+    /**
+     * 吊销令牌，令牌过期前都会被拒绝
+     * @param token
+     */
+    void revoke(String token);
+
+    /**
+     * 判断令牌是否已被吊销
+     * @param token
+     * @return
+     */
+    boolean isRevoked(String token);
+}
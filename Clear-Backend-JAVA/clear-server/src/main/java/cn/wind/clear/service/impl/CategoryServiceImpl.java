@@ -1,30 +1,53 @@
 package cn.wind.clear.service.impl;
 
-import cn.wind.clear.context.RedisContext;
+import cn.wind.clear.cache.CategoryDictionary;
+import cn.wind.clear.context.UserContext;
+import cn.wind.clear.converter.CategoryConverter;
 import cn.wind.clear.dto.CategoryDTO;
 import cn.wind.clear.entity.Category;
 import cn.wind.clear.exception.BaseException;
 import cn.wind.clear.mapper.CategoryMapper;
 import cn.wind.clear.service.CategoryService;
+import cn.wind.clear.service.DataVersionService;
+import cn.wind.clear.service.SyncService;
+import cn.wind.clear.service.TodoCounterService;
+import cn.wind.clear.utils.TransactionUtils;
+import cn.wind.clear.vo.CategoryCountVO;
 import cn.wind.clear.vo.CategoryVO;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
-import org.springframework.beans.BeanUtils;
+import jakarta.annotation.Resource;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import static cn.wind.clear.constant.MessageConstant.CATEGORY_EXISTS;
+import static cn.wind.clear.constant.MessageConstant.CATEGORY_NOT_EXIST;
 import static cn.wind.clear.constant.MessageConstant.SYSTEM_ERROR;
 
 @Service
 public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category>
         implements CategoryService {
+
+    @Resource
+    private CategoryDictionary categoryDictionary;
+    @Resource
+    private TodoCounterService todoCounterService;
+    @Resource
+    private DataVersionService dataVersionService;
+    @Resource
+    private SyncService syncService;
+
     @Override
     public String getDefaultCategoryId(String currentId, String defaultCategory) {
-        return this.lambdaQuery()
-                .eq(Category::getUserId, currentId)
-                .eq(Category::getName, defaultCategory)
-                .one().getId();
+        return categoryDictionary.getCategoryNames(currentId).entrySet().stream()
+                .filter(entry -> entry.getValue().equals(defaultCategory))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(null);
     }
 
     @Override
@@ -42,55 +65,104 @@ public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category>
      */
     @Override
     public List<CategoryVO>     getCategories() {
-        String currentId = RedisContext.getCurrentId();
-        List<Category> categories = this.getCategoriesByUserId(currentId);
+        String currentId = UserContext.getCurrentId();
+        Map<String, String> categories = categoryDictionary.getCategoryNames(currentId);
+
+        return categories.entrySet().stream()
+                .map(entry -> new CategoryVO(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
 
-        return categories.stream()
-                .map(category -> new CategoryVO(category.getId(), category.getName()))
+    /**
+     * 获取用户的分类数据及每个分类下的 To Do 数量
+     *
+     * @return
+     */
+    @Override
+    public List<CategoryCountVO> getCategoriesWithCount() {
+        Map<String, Long> totals = todoCounterService.getCounts(UserContext.getCurrentId()).categoryTotals();
+        return this.getCategories().stream()
+                .map(category -> new CategoryCountVO(category.getCategoryId(), category.getCategoryName(),
+                        totals.getOrDefault(category.getCategoryId(), 0L)))
                 .collect(Collectors.toList());
     }
 
     @Override
     public void addCategory(CategoryDTO categoryDTO) {
-        List<Category> categories = this.getCategoriesByUserId(RedisContext.getCurrentId());
-        categories.stream()
-                .filter(category -> category.getName().equals(categoryDTO.getName()))
-                .findFirst()
-                .ifPresent(category -> {
-                    throw new BaseException("分类已存在");
-                });
-        Category category = new Category();
-        category.setUserId(RedisContext.getCurrentId());
-        BeanUtils.copyProperties(categoryDTO, category);
-        boolean isOk = this.save(category);
+        String currentId = UserContext.getCurrentId();
+        if (categoryDictionary.getCategoryNames(currentId).containsValue(categoryDTO.getName())) {
+            throw new BaseException(CATEGORY_EXISTS);
+        }
+        Category category = CategoryConverter.INSTANCE.toEntity(categoryDTO);
+        category.setUserId(currentId);
+        boolean isOk;
+        try {
+            isOk = this.save(category);
+        } catch (DuplicateKeyException e) {
+            // 并发创建了同名分类
+            throw new BaseException(CATEGORY_EXISTS);
+        }
         if (!isOk) {
             throw new BaseException(SYSTEM_ERROR);
         }
+        categoryDictionary.evict(currentId);
+        dataVersionService.bump(currentId);
     }
 
     @Override
     public void updateCategory(CategoryDTO categoryDTO) {
-        Category category = this.getById(categoryDTO.getId());
+        String currentId = UserContext.getCurrentId();
+        // 只能修改当前用户的分类，否则清除的是当前用户而不是所有者的字典和版本
+        Category category = this.lambdaQuery()
+                .eq(Category::getId, categoryDTO.getId())
+                .eq(Category::getUserId, currentId)
+                .one();
         if (category == null) {
-            throw new BaseException("分类不存在");
+            throw new BaseException(CATEGORY_NOT_EXIST);
         }
-        List<Category> categories = this.getCategoriesByUserId(RedisContext.getCurrentId());
-        categories.stream()
-                .filter(c -> c.getName().equals(categoryDTO.getName()) && !c.getId().equals(categoryDTO.getId()))
+        categoryDictionary.getCategoryNames(currentId).entrySet().stream()
+                .filter(c -> c.getValue().equals(categoryDTO.getName()) && !c.getKey().equals(categoryDTO.getId()))
                 .findFirst()
                 .ifPresent(c -> {
-                    throw new BaseException("分类已存在");
+                    throw new BaseException(CATEGORY_EXISTS);
                 });
-        BeanUtils.copyProperties(categoryDTO, category);
-        boolean isOk = this.updateById(category);
+        CategoryConverter.INSTANCE.update(categoryDTO, category);
+        boolean isOk;
+        try {
+            isOk = this.updateById(category);
+        } catch (DuplicateKeyException e) {
+            throw new BaseException(CATEGORY_EXISTS);
+        }
         if (!isOk) {
             throw new BaseException(SYSTEM_ERROR);
         }
+        categoryDictionary.evict(currentId);
+        dataVersionService.bump(currentId);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void deleteCategory(String id) {
+        String currentId = UserContext.getCurrentId();
+        boolean isOk = this.lambdaUpdate()
+                .eq(Category::getId, id)
+                .eq(Category::getUserId, currentId)
+                .remove();
+        if (!isOk) {
+            throw new BaseException("分类不存在");
+        }
+        syncService.recordDeleted(currentId, SyncService.TYPE_CATEGORY, List.of(id));
+        // 提交前清除会让并发的查询把旧数据重新放入缓存
+        TransactionUtils.afterCommit(() -> {
+            categoryDictionary.evict(currentId);
+            // 分类下的 To Do 会变为未分类，直接重建计数
+            todoCounterService.invalidate(currentId);
+        });
+        dataVersionService.bump(currentId);
     }
 
     @Override
-    public String getCategoryNameById(String categoryId) {
-        return this.lambdaQuery().eq(Category::getId, categoryId)
-                .one().getName();
+    public Map<String, String> getCategoryNames(String userId) {
+        return categoryDictionary.getCategoryNames(userId);
     }
 }
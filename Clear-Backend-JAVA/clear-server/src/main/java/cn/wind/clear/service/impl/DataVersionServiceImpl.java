@@ -0,0 +1,87 @@
+package cn.wind.clear.service.impl;
+
+import cn.wind.clear.cache.TodoPageCache;
+import cn.wind.clear.context.UserContext;
+import cn.wind.clear.service.DataVersionService;
+import cn.wind.clear.utils.TransactionUtils;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户数据版本，保存在 Redis 字符串中，读取只需一次 GET
+ * <p>
+ * 版本号不存在(首次使用或已过期)时以当前毫秒时间为起点，保证新的版本号大于之前发出的任何版本号。
+ * 修改在数据写入之后才递增版本，查询在读取数据之前获取版本，
+ * 并发时最多让客户端多拉取一次，不会把旧数据标记为新版本
+ */
+@Service
+@Slf4j
+public class DataVersionServiceImpl implements DataVersionService {
+
+    // 数据版本在 Redis 中的前缀
+    private static final String VERSION_KEY_PREFIX = "clear:version:user:";
+
+    // 数据版本过期时间(天)，每次修改时刷新
+    private static final long VERSION_TTL_DAYS = 30;
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+    @Resource
+    private TodoPageCache todoPageCache;
+
+    @Override
+    public long getVersion(String userId) {
+        String key = VERSION_KEY_PREFIX + userId;
+        String version = stringRedisTemplate.opsForValue().get(key);
+        if (version == null) {
+            stringRedisTemplate.opsForValue()
+                    .setIfAbsent(key, String.valueOf(System.currentTimeMillis()), VERSION_TTL_DAYS, TimeUnit.DAYS);
+            version = stringRedisTemplate.opsForValue().get(key);
+        }
+        return Long.parseLong(version);
+    }
+
+    @Override
+    public void bump(String userId) {
+        // 事务提交前递增会让并发的查询以新版本号返回旧数据
+        TransactionUtils.afterCommit(() -> increment(userId));
+    }
+
+    @Override
+    public String getETag(String userId, long version) {
+        return "W/\"" + userId + "-" + version + "\"";
+    }
+
+    @Override
+    public String currentETag() {
+        String userId = UserContext.getCurrentId();
+        return this.getETag(userId, this.getVersion(userId));
+    }
+
+    private void increment(String userId) {
+        String key = VERSION_KEY_PREFIX + userId;
+        String initial = String.valueOf(System.currentTimeMillis());
+        stringRedisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public List<Object> execute(RedisOperations operations) throws DataAccessException {
+                operations.multi();
+                operations.opsForValue().setIfAbsent(key, initial);
+                operations.opsForValue().increment(key);
+                operations.expire(key, VERSION_TTL_DAYS, TimeUnit.DAYS);
+                return operations.exec();
+            }
+        });
+        // 本节点缓存的响应已过期，直接释放
+        todoPageCache.evict(userId);
+        log.debug("用户数据版本递增: {}", userId);
+    }
+}
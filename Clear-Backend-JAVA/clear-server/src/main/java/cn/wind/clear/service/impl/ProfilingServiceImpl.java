@@ -0,0 +1,105 @@
+package cn.wind.clear.service.impl;
+
+import cn.wind.clear.exception.BaseException;
+import cn.wind.clear.properties.AdminProperties;
+import cn.wind.clear.service.ProfilingService;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+import static cn.wind.clear.constant.MessageConstant.*;
+
+/**
+ * 按需 JFR 录制
+ * <p>
+ * 录制写入临时文件，到时后自动停止，stop 时把文件交给调用方导出。
+ * 除 JDK 内置事件外，录制中包含 cn.wind.clear 下的 SQL、Redis、JWT 和对象转换事件
+ */
+@Service
+@Slf4j
+public class ProfilingServiceImpl implements ProfilingService {
+
+    @Resource
+    private AdminProperties adminProperties;
+
+    private Recording recording;
+    private Path file;
+
+    @Override
+    public synchronized long startRecording(int seconds, String settings) {
+        if (recording != null) {
+            if (recording.getState() == RecordingState.RUNNING || recording.getState() == RecordingState.DELAYED) {
+                throw new BaseException(RECORDING_IN_PROGRESS);
+            }
+            // 上一次录制已到时但未导出，丢弃
+            discard();
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new BaseException(INVALID_RECORDING_SETTINGS);
+        }
+        Duration duration = Duration.ofSeconds(Math.min(Math.max(seconds, 1), adminProperties.getMaxRecordingSeconds()));
+        try {
+            file = StringUtils.hasText(adminProperties.getRecordingDir())
+                    ? Files.createTempFile(Files.createDirectories(Path.of(adminProperties.getRecordingDir())), "clear-", ".jfr")
+                    : Files.createTempFile("clear-", ".jfr");
+            recording = new Recording(configuration);
+            recording.setName("clear-admin");
+            recording.setDuration(duration);
+            recording.setToDisk(true);
+            recording.setDestination(file);
+            recording.start();
+        } catch (IOException e) {
+            discard();
+            throw new IllegalStateException("创建JFR录制文件失败", e);
+        }
+        log.info("开始JFR录制 {}, 配置 {}, 时长 {}s, 文件 {}", recording.getId(), settings, duration.toSeconds(), file);
+        return recording.getId();
+    }
+
+    @Override
+    public synchronized Path stopRecording() {
+        if (recording == null) {
+            throw new BaseException(RECORDING_NOT_STARTED);
+        }
+        if (recording.getState() == RecordingState.RUNNING || recording.getState() == RecordingState.DELAYED) {
+            // 停止时写入目标文件
+            recording.stop();
+        }
+        recording.close();
+        log.info("结束JFR录制 {}, 文件 {}", recording.getId(), file);
+        Path result = file;
+        recording = null;
+        file = null;
+        return result;
+    }
+
+    @PreDestroy
+    public synchronized void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("删除JFR录制文件失败: {}", file, e);
+            }
+            file = null;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package cn.wind.clear.service.impl;
+
+import cn.wind.clear.cache.CategoryDictionary;
+import cn.wind.clear.constant.MessageConstant;
+import cn.wind.clear.context.UserContext;
+import cn.wind.clear.converter.TodoConverter;
+import cn.wind.clear.entity.Category;
+import cn.wind.clear.entity.Todo;
+import cn.wind.clear.entity.Tombstone;
+import cn.wind.clear.exception.BaseException;
+import cn.wind.clear.mapper.CategoryMapper;
+import cn.wind.clear.mapper.TodoMapper;
+import cn.wind.clear.mapper.TombstoneMapper;
+import cn.wind.clear.properties.SyncProperties;
+import cn.wind.clear.service.SyncService;
+import cn.wind.clear.vo.CategoryVO;
+import cn.wind.clear.vo.ChangesVO;
+import cn.wind.clear.vo.TodoVO;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 增量同步
+ * <p>
+ * 新增和修改通过 updated_at 查询(由 MyMetaObjectHandler 填充，批量修改时由数据库的 ON UPDATE 维护)，
+ * 删除通过删除记录表查询，同步代价只与变化的数据量有关。
+ * 查询条件包含水位本身，返回的新水位比查询时间回退 watermarkLag，
+ * 跨越水位的数据可能重复返回，但不会遗漏。
+ * 每类数据每页最多返回 limit 条，按 (时间, id) 翻页，分页期间被修改的数据会移到后面的页中再次返回
+ */
+@Service
+@Slf4j
+public class SyncServiceImpl extends ServiceImpl<TombstoneMapper, Tombstone>
+        implements SyncService {
+
+    @Resource
+    private TodoMapper todoMapper;
+    @Resource
+    private CategoryMapper categoryMapper;
+    @Resource
+    private CategoryDictionary categoryDictionary;
+    @Resource
+    private SyncProperties syncProperties;
+
+    @Override
+    public void recordDeleted(String userId, String entityType, Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Tombstone> tombstones = ids.stream()
+                .map(id -> Tombstone.builder()
+                        .userId(userId)
+                        .entityType(entityType)
+                        .entityId(id)
+                        .deletedAt(now)
+                        .build())
+                .toList();
+        this.saveBatch(tombstones);
+    }
+
+    @Override
+    public ChangesVO getChanges(Long since, String cursor, Integer limit) {
+        String userId = UserContext.getCurrentId();
+        int size = limit == null || limit <= 0
+                ? syncProperties.getMaxChanges()
+                : Math.min(limit, syncProperties.getMaxChanges());
+        SyncCursor position = SyncCursor.decode(cursor);
+        if (position == null) {
+            long startedAt = System.currentTimeMillis();
+            long watermark = startedAt - syncProperties.getWatermarkLag();
+            long retentionStart = startedAt - syncProperties.getTombstoneRetentionDays() * 24L * 3600 * 1000;
+            if (since == null || since < retentionStart) {
+                // 删除记录已被清理，无法给出完整的增量
+                return ChangesVO.builder()
+                        .watermark(watermark)
+                        .fullResync(true)
+                        .todos(List.of())
+                        .categories(List.of())
+                        .deletedTodoIds(List.of())
+                        .deletedCategoryIds(List.of())
+                        .build();
+            }
+            // 客户端已同步到 since，回退后的水位不应早于它；后续分页沿用第一页的水位
+            position = new SyncCursor(since, Math.max(since, watermark), null, null, null);
+        }
+        LocalDateTime from = LocalDateTime.ofInstant(Instant.ofEpochMilli(position.since()), ZoneId.systemDefault());
+
+        List<Todo> todos = position.todo() == Position.DONE ? List.of() : todoMapper.selectPage(
+                new Page<>(1, size + 1, false),
+                after(new LambdaQueryWrapper<Todo>()
+                        .eq(Todo::getUserId, userId)
+                        .ge(Todo::getUpdatedAt, from), Todo::getUpdatedAt, Todo::getId, position.todo())
+                        .orderByAsc(Todo::getUpdatedAt)
+                        .orderByAsc(Todo::getId)).getRecords();
+        List<Category> categories = position.category() == Position.DONE ? List.of() : categoryMapper.selectPage(
+                new Page<>(1, size + 1, false),
+                after(new LambdaQueryWrapper<Category>()
+                        .eq(Category::getUserId, userId)
+                        .ge(Category::getUpdatedAt, from), Category::getUpdatedAt, Category::getId, position.category())
+                        .orderByAsc(Category::getUpdatedAt)
+                        .orderByAsc(Category::getId)).getRecords();
+        List<Tombstone> tombstones = position.tombstone() == Position.DONE ? List.of() : this.page(
+                new Page<>(1, size + 1, false),
+                after(new LambdaQueryWrapper<Tombstone>()
+                        .eq(Tombstone::getUserId, userId)
+                        .ge(Tombstone::getDeletedAt, from), Tombstone::getDeletedAt, Tombstone::getId, position.tombstone())
+                        .orderByAsc(Tombstone::getDeletedAt)
+                        .orderByAsc(Tombstone::getId)).getRecords();
+
+        // 每类数据多查一条用于判断是否还有下一页
+        Position nextTodo = next(todos, size, todo -> new Position(todo.getUpdatedAt(), todo.getId()));
+        Position nextCategory = next(categories, size, category -> new Position(category.getUpdatedAt(), category.getId()));
+        Position nextTombstone = next(tombstones, size, tombstone -> new Position(tombstone.getDeletedAt(), tombstone.getId()));
+        todos = todos.subList(0, Math.min(size, todos.size()));
+        categories = categories.subList(0, Math.min(size, categories.size()));
+        tombstones = tombstones.subList(0, Math.min(size, tombstones.size()));
+        boolean hasMore = nextTodo != Position.DONE || nextCategory != Position.DONE || nextTombstone != Position.DONE;
+
+        Map<String, String> categoryNames = categoryDictionary.getCategoryNames(userId);
+        List<TodoVO> todoVOs = todos.stream()
+                .map(todo -> TodoConverter.INSTANCE.toVO(todo, categoryNames.get(todo.getCategoryId())))
+                .toList();
+        List<CategoryVO> categoryVOs = categories.stream()
+                .map(category -> new CategoryVO(category.getId(), category.getName()))
+                .toList();
+        return ChangesVO.builder()
+                .watermark(position.watermark())
+                .fullResync(false)
+                .todos(todoVOs)
+                .categories(categoryVOs)
+                .deletedTodoIds(this.deletedIds(tombstones, TYPE_TODO))
+                .deletedCategoryIds(this.deletedIds(tombstones, TYPE_CATEGORY))
+                .nextCursor(hasMore ? SyncCursor.encode(new SyncCursor(position.since(), position.watermark(),
+                        nextTodo, nextCategory, nextTombstone)) : null)
+                .build();
+    }
+
+    /**
+     * 清理超过保留期限的删除记录
+     */
+    @Scheduled(fixedDelayString = "${clear.sync.purge-interval:3600000}")
+    public void purgeExpired() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minusDays(syncProperties.getTombstoneRetentionDays());
+        try {
+            int rows = this.baseMapper.delete(new LambdaQueryWrapper<Tombstone>()
+                    .lt(Tombstone::getDeletedAt, expiredBefore));
+            log.debug("清理过期删除记录, 共 {} 条", rows);
+        } catch (Exception e) {
+            log.error("清理过期删除记录失败: {}", e.getMessage());
+        }
+    }
+
+    private List<String> deletedIds(List<Tombstone> tombstones, String entityType) {
+        return tombstones.stream()
+                .filter(tombstone -> entityType.equals(tombstone.getEntityType()))
+                .map(Tombstone::getEntityId)
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * 只查询上一页最后一条之后的数据，按 (时间, id) 排序
+     */
+    private static <T> LambdaQueryWrapper<T> after(LambdaQueryWrapper<T> wrapper, SFunction<T, ?> timeColumn,
+                                                   SFunction<T, ?> idColumn, Position position) {
+        if (position == null) {
+            return wrapper;
+        }
+        // id 列为 BIGINT，按数值比较
+        Long id = Long.valueOf(position.id());
+        return wrapper.and(w -> w.gt(timeColumn, position.time())
+                .or(o -> o.eq(timeColumn, position.time()).gt(idColumn, id)));
+    }
+
+    /**
+     * 多查出的一条存在时返回本页最后一条的位置，否则返回 DONE
+     */
+    private static <T> Position next(List<T> records, int size, Function<T, Position> toPosition) {
+        return records.size() > size ? toPosition.apply(records.get(size - 1)) : Position.DONE;
+    }
+
+    /**
+     * 一类数据的分页位置，为 null 时从头查询，为 DONE 时已取完
+     */
+    private record Position(LocalDateTime time, String id) {
+
+        static final Position DONE = new Position(null, null);
+    }
+
+    /**
+     * 增量同步的分页游标，包含第一页的 since、水位和三类数据各自的位置
+     */
+    private record SyncCursor(long since, long watermark, Position todo, Position category, Position tombstone) {
+
+        private static final String SEPARATOR = "|";
+        private static final String FIELD_SEPARATOR = ",";
+        private static final String DONE = "-";
+
+        static String encode(SyncCursor cursor) {
+            String raw = cursor.since + SEPARATOR + cursor.watermark
+                    + SEPARATOR + encode(cursor.todo)
+                    + SEPARATOR + encode(cursor.category)
+                    + SEPARATOR + encode(cursor.tombstone);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static SyncCursor decode(String cursor) {
+            if (cursor == null || cursor.isEmpty()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\" + SEPARATOR, -1);
+                return new SyncCursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]),
+                        decodePosition(parts[2]), decodePosition(parts[3]), decodePosition(parts[4]));
+            } catch (RuntimeException e) {
+                throw new BaseException(MessageConstant.INVALID_CURSOR);
+            }
+        }
+
+        private static String encode(Position position) {
+            if (position == null) {
+                return "";
+            }
+            return position == Position.DONE ? DONE : position.time() + FIELD_SEPARATOR + position.id();
+        }
+
+        private static Position decodePosition(String value) {
+            if (value.isEmpty()) {
+                return null;
+            }
+            if (DONE.equals(value)) {
+                return Position.DONE;
+            }
+            int index = value.indexOf(FIELD_SEPARATOR);
+            String id = String.valueOf(Long.parseLong(value.substring(index + 1)));
+            return new Position(LocalDateTime.parse(value.substring(0, index)), id);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package cn.wind.clear.service.impl;
+
+import cn.wind.clear.constant.StatusConstant;
+import cn.wind.clear.dto.TodoCountDTO;
+import cn.wind.clear.mapper.TodoMapper;
+import cn.wind.clear.service.TodoCounterService;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * To Do 计数器，计数保存在 Redis 哈希中
+ * <p>
+ * 哈希中带有重建标记字段，增量更新使用 HINCRBY，
+ * 若哈希在更新时已过期，HINCRBY 只会生成缺少标记的残缺哈希，读取时发现后重建。
+ * 重建使用 WATCH 检测并发的增量更新，冲突时重新查询，不会覆盖重建期间写入的增量。
+ * 哈希设置了过期时间，其它原因产生的偏差也会在过期后自动纠正
+ */
+@Service
+@Slf4j
+public class TodoCounterServiceImpl implements TodoCounterService {
+
+    // 计数器在 Redis 中的前缀
+    private static final String COUNTER_KEY_PREFIX = "clear:counter:todo:";
+
+    private static final String BUILT_FIELD = "built";
+    private static final String DONE_FIELD = "done";
+    private static final String UNDONE_FIELD = "undone";
+    private static final String CATEGORY_FIELD_PREFIX = "cat:";
+    // 未分类 To Do 使用的分类字段
+    private static final String NO_CATEGORY = "none";
+
+    // 计数器过期时间(小时)
+    private static final long COUNTER_TTL_HOURS = 24;
+    // 重建与增量更新冲突时的最大尝试次数
+    private static final int REBUILD_ATTEMPTS = 3;
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+    @Resource
+    private TodoMapper todoMapper;
+
+    @Override
+    public void onAdd(String userId, String categoryId, Integer status) {
+        Map<String, Long> delta = new HashMap<>();
+        delta.merge(statusField(status), 1L, Long::sum);
+        delta.merge(categoryField(categoryId), 1L, Long::sum);
+        increment(userId, delta);
+    }
+
+    @Override
+    public void onUpdate(String userId, String oldCategoryId, Integer oldStatus, String newCategoryId, Integer newStatus) {
+        Map<String, Long> delta = new HashMap<>();
+        delta.merge(statusField(oldStatus), -1L, Long::sum);
+        delta.merge(statusField(newStatus), 1L, Long::sum);
+        delta.merge(categoryField(oldCategoryId), -1L, Long::sum);
+        delta.merge(categoryField(newCategoryId), 1L, Long::sum);
+        delta.values().removeIf(value -> value == 0);
+        increment(userId, delta);
+    }
+
+    @Override
+    public void onDelete(String userId, String categoryId, Integer status) {
+        Map<String, Long> delta = new HashMap<>();
+        delta.merge(statusField(status), -1L, Long::sum);
+        delta.merge(categoryField(categoryId), -1L, Long::sum);
+        increment(userId, delta);
+    }
+
+    @Override
+    public void invalidate(String userId) {
+        stringRedisTemplate.delete(COUNTER_KEY_PREFIX + userId);
+    }
+
+    @Override
+    public TodoCounts getCounts(String userId) {
+        String key = COUNTER_KEY_PREFIX + userId;
+        Map<String, String> fields = stringRedisTemplate.<String, String>opsForHash().entries(key);
+        if (!fields.containsKey(BUILT_FIELD) || hasNegative(fields)) {
+            fields = rebuild(userId);
+        }
+
+        long done = 0;
+        long undone = 0;
+        Map<String, Long> categoryTotals = new HashMap<>();
+        for (Map.Entry<String, String> entry : fields.entrySet()) {
+            String field = entry.getKey();
+            long value = Long.parseLong(entry.getValue());
+            if (DONE_FIELD.equals(field)) {
+                done = value;
+            } else if (UNDONE_FIELD.equals(field)) {
+                undone = value;
+            } else if (field.startsWith(CATEGORY_FIELD_PREFIX)) {
+                String categoryId = field.substring(CATEGORY_FIELD_PREFIX.length());
+                categoryTotals.put(NO_CATEGORY.equals(categoryId) ? null : categoryId, value);
+            }
+        }
+        return new TodoCounts(done, undone, categoryTotals);
+    }
+
+    /**
+     * 从数据库重建用户的计数
+     * <p>
+     * 查询数据库前 WATCH 计数键，查询期间有增量更新写入时 EXEC 放弃写入并重新查询，
+     * 避免用旧的查询结果覆盖已经写入的增量。多次冲突后直接返回查询结果，不写入 Redis
+     */
+    private Map<String, String> rebuild(String userId) {
+        log.debug("重建用户 To Do 计数: {}", userId);
+        String key = COUNTER_KEY_PREFIX + userId;
+        for (int attempt = 0; attempt < REBUILD_ATTEMPTS; attempt++) {
+            Map<String, String> fields = new HashMap<>();
+            List<Object> result = stringRedisTemplate.execute(new SessionCallback<List<Object>>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public List<Object> execute(RedisOperations operations) throws DataAccessException {
+                    operations.watch(key);
+                    fields.putAll(loadCounts(userId));
+                    operations.multi();
+                    operations.delete(key);
+                    operations.opsForHash().putAll(key, fields);
+                    operations.expire(key, COUNTER_TTL_HOURS, TimeUnit.HOURS);
+                    return operations.exec();
+                }
+            });
+            // 事务被放弃时返回空结果
+            if (result != null && !result.isEmpty()) {
+                return fields;
+            }
+            log.debug("重建用户 To Do 计数时发生并发更新，重试: {}", userId);
+        }
+        return loadCounts(userId);
+    }
+
+    /**
+     * 查询数据库中的计数，返回带重建标记的哈希字段
+     */
+    private Map<String, String> loadCounts(String userId) {
+        List<TodoCountDTO> counts = todoMapper.countByCategoryAndStatus(userId);
+        Map<String, Long> totals = new HashMap<>();
+        totals.put(DONE_FIELD, 0L);
+        totals.put(UNDONE_FIELD, 0L);
+        for (TodoCountDTO count : counts) {
+            totals.merge(statusField(count.getStatus()), count.getTotal(), Long::sum);
+            totals.merge(categoryField(count.getCategoryId()), count.getTotal(), Long::sum);
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        totals.forEach((field, value) -> fields.put(field, String.valueOf(value)));
+        fields.put(BUILT_FIELD, "1");
+        return fields;
+    }
+
+    /**
+     * 在一个事务中对多个字段做增量更新
+     */
+    private void increment(String userId, Map<String, Long> delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        String key = COUNTER_KEY_PREFIX + userId;
+        stringRedisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public List<Object> execute(RedisOperations operations) throws DataAccessException {
+                operations.multi();
+                HashOperations<String, String, String> hashOperations = operations.opsForHash();
+                delta.forEach((field, value) -> hashOperations.increment(key, field, value));
+                return operations.exec();
+            }
+        });
+    }
+
+    private static boolean hasNegative(Map<String, String> fields) {
+        return fields.values().stream().anyMatch(value -> value.startsWith("-"));
+    }
+
+    private static String statusField(Integer status) {
+        return StatusConstant.ENABLED.equals(status) ? DONE_FIELD : UNDONE_FIELD;
+    }
+
+    private static String categoryField(String categoryId) {
+        return CATEGORY_FIELD_PREFIX + (categoryId == null ? NO_CATEGORY : categoryId);
+    }
+}
@@ -0,0 +1,322 @@
+package cn.wind.clear.service.impl;
+
+import cn.wind.clear.cache.CategoryDictionary;
+import cn.wind.clear.constant.CategoryConstant;
+import cn.wind.clear.constant.MessageConstant;
+import cn.wind.clear.constant.StatusConstant;
+import cn.wind.clear.context.UserContext;
+import cn.wind.clear.dto.TodoImportDTO;
+import cn.wind.clear.entity.Category;
+import cn.wind.clear.entity.Todo;
+import cn.wind.clear.exception.BaseException;
+import cn.wind.clear.export.ExportFormat;
+import cn.wind.clear.export.ImportAbortedException;
+import cn.wind.clear.export.TodoImportReader;
+import cn.wind.clear.mapper.CategoryMapper;
+import cn.wind.clear.properties.TodoImportProperties;
+import cn.wind.clear.search.TodoSearchIndex;
+import cn.wind.clear.service.DataVersionService;
+import cn.wind.clear.service.TodoCounterService;
+import cn.wind.clear.service.TodoImportService;
+import cn.wind.clear.service.TodoService;
+import cn.wind.clear.vo.TodoImportProgressVO;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@Service
+@Slf4j
+public class TodoImportServiceImpl implements TodoImportService {
+    // 与表结构一致
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_CATEGORY_NAME_LENGTH = 50;
+    // 兼容两种导出格式的日期(分钟和秒)，以及 ISO 格式
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd[ ]['T']HH:mm[:ss]");
+
+    @Resource
+    private TodoService todoService;
+    @Resource
+    private CategoryMapper categoryMapper;
+    @Resource
+    private CategoryDictionary categoryDictionary;
+    @Resource
+    private TodoCounterService todoCounterService;
+    @Resource
+    private TodoSearchIndex todoSearchIndex;
+    @Resource
+    private DataVersionService dataVersionService;
+    @Resource
+    private TransactionTemplate transactionTemplate;
+    @Resource
+    private TodoImportProperties todoImportProperties;
+
+    @Override
+    public TodoImportProgressVO importTodos(ExportFormat format, InputStream in,
+                                            Consumer<TodoImportProgressVO> listener) {
+        ImportJob job = new ImportJob(UserContext.getCurrentId(), listener);
+        long start = System.currentTimeMillis();
+        // 不关闭 reader，输入流由调用方关闭
+        TodoImportReader reader = TodoImportReader.of(format, in, todoImportProperties.getMaxLineLength());
+        while (true) {
+            TodoImportDTO row;
+            try {
+                row = reader.next();
+            } catch (BaseException e) {
+                job.processed++;
+                job.error(reader.getLine(), e.getMessage());
+                continue;
+            } catch (ImportAbortedException e) {
+                log.warn("用户 {} 导入中止于第 {} 行: {}", job.userId, reader.getLine(), e.getMessage());
+                job.error(reader.getLine(), e.getMessage());
+                break;
+            } catch (IOException e) {
+                log.warn("用户 {} 导入读取失败于第 {} 行: {}", job.userId, reader.getLine(), e.getMessage());
+                job.error(reader.getLine(), MessageConstant.IMPORT_READ_FAILED);
+                break;
+            }
+            if (row == null) {
+                break;
+            }
+            if (job.processed >= todoImportProperties.getMaxRows()) {
+                job.error(reader.getLine(), MessageConstant.IMPORT_ROWS_EXCEEDED);
+                break;
+            }
+            job.processed++;
+            try {
+                job.add(this.toTodo(job, row), reader.getLine());
+            } catch (BaseException e) {
+                job.error(reader.getLine(), e.getMessage());
+            }
+            if (job.todos.size() >= todoImportProperties.getBatchSize()) {
+                this.flush(job);
+            }
+        }
+        this.flush(job);
+        log.info("用户 {} 导入 To Do: 读取 {} 行, 导入 {} 条, 失败 {} 行, 新建分类 {} 个, 耗时 {} ms", job.userId,
+                job.processed, job.imported, job.failed, job.createdCategories, System.currentTimeMillis() - start);
+        TodoImportProgressVO done = job.progress(TodoImportProgressVO.TYPE_DONE);
+        listener.accept(done);
+        return done;
+    }
+
+    /**
+     * 校验并转换一行数据，规则与单条添加一致
+     */
+    private Todo toTodo(ImportJob job, TodoImportDTO row) {
+        String title = row.getTitle() == null ? null : row.getTitle().strip();
+        if (title == null || title.isEmpty()) {
+            throw new BaseException(MessageConstant.EMPTY_TITLE);
+        }
+        if (title.length() > MAX_TITLE_LENGTH) {
+            throw new BaseException(MessageConstant.TITLE_TOO_LONG);
+        }
+        LocalDateTime dueDate = null;
+        if (row.getDueDate() != null && !row.getDueDate().isBlank()) {
+            try {
+                dueDate = LocalDateTime.parse(row.getDueDate().strip(), DATE_TIME_FORMATTER);
+            } catch (DateTimeParseException e) {
+                throw new BaseException(MessageConstant.INVALID_DATE);
+            }
+            if (dueDate.isBefore(LocalDateTime.now())) {
+                throw new BaseException(MessageConstant.DATE_EXPIRE);
+            }
+        }
+        Integer status = StatusConstant.DISABLED;
+        if (row.getStatus() != null && !row.getStatus().isBlank()) {
+            String value = row.getStatus().strip();
+            if (String.valueOf(StatusConstant.ENABLED).equals(value)) {
+                status = StatusConstant.ENABLED;
+            } else if (!String.valueOf(StatusConstant.DISABLED).equals(value)) {
+                throw new BaseException(MessageConstant.INVALID_STATUS);
+            }
+        }
+
+        Todo todo = new Todo();
+        todo.setUserId(job.userId);
+        todo.setTitle(title);
+        todo.setContent(row.getContent());
+        todo.setStatus(status);
+        todo.setDueDate(dueDate);
+        todo.setCategoryId(this.resolveCategoryId(job, row));
+        return todo;
+    }
+
+    /**
+     * 分类名称优先，便于导入其他账号导出的数据；名称不存在时在当前批次中创建
+     */
+    private String resolveCategoryId(ImportJob job, TodoImportDTO row) {
+        String name = row.getCategoryName() == null ? null : row.getCategoryName().strip();
+        if (name != null && !name.isEmpty()) {
+            String id = job.categoryIds.get(ImportJob.key(name));
+            if (id != null) {
+                return id;
+            }
+            if (name.length() > MAX_CATEGORY_NAME_LENGTH) {
+                throw new BaseException(MessageConstant.CATEGORY_NAME_TOO_LONG);
+            }
+            Category category = new Category();
+            category.setId(IdWorker.getIdStr());
+            category.setUserId(job.userId);
+            category.setName(name);
+            job.categoryIds.put(ImportJob.key(name), category.getId());
+            job.ownedCategoryIds.add(category.getId());
+            job.categories.add(category);
+            return category.getId();
+        }
+        if (row.getCategoryId() != null) {
+            if (!job.ownedCategoryIds.contains(row.getCategoryId())) {
+                throw new BaseException(MessageConstant.CATEGORY_NOT_EXIST);
+            }
+            return row.getCategoryId();
+        }
+        return job.defaultCategoryId;
+    }
+
+    /**
+     * 在一个事务中插入当前批次新建的分类和 To Do，提交后更新索引、计数和数据版本
+     */
+    private void flush(ImportJob job) {
+        if (job.todos.isEmpty() && job.categories.isEmpty()) {
+            return;
+        }
+        try {
+            try {
+                this.insertBatch(job);
+            } catch (DuplicateKeyException e) {
+                // 其它请求同时创建了同名分类，改用已有的分类后重试一次
+                log.info("用户 {} 导入时分类名称冲突, 重新加载分类后重试", job.userId);
+                this.reloadCategories(job);
+                this.insertBatch(job);
+            }
+            job.imported += job.todos.size();
+            job.createdCategories += job.categories.size();
+            job.todos.forEach(todoSearchIndex::index);
+            todoCounterService.invalidate(job.userId);
+            // 先清除分类字典再递增版本，否则并发的查询会以新版本缓存分类名称为空的页面
+            if (!job.categories.isEmpty()) {
+                categoryDictionary.evict(job.userId);
+            }
+            dataVersionService.bump(job.userId);
+        } catch (RuntimeException e) {
+            log.error("用户 {} 导入批次写入失败, 共 {} 行", job.userId, job.todos.size(), e);
+            // 本批次新建的分类已回滚，后续行需要重新创建
+            job.categories.forEach(category -> {
+                job.categoryIds.remove(ImportJob.key(category.getName()));
+                job.ownedCategoryIds.remove(category.getId());
+            });
+            job.lines.forEach(line -> job.error(line, MessageConstant.IMPORT_BATCH_FAILED));
+        }
+        job.todos.clear();
+        job.lines.clear();
+        job.categories.clear();
+        job.listener.accept(job.progress(TodoImportProgressVO.TYPE_PROGRESS));
+    }
+
+    private void insertBatch(ImportJob job) {
+        transactionTemplate.executeWithoutResult(status -> {
+            job.categories.forEach(categoryMapper::insert);
+            // 连接参数开启了 rewriteBatchedStatements，整批合并为多行 INSERT
+            todoService.saveBatch(job.todos, job.todos.size());
+        });
+    }
+
+    /**
+     * 从数据库重新加载分类，本批次待创建的分类已存在时改用已有的分类
+     */
+    private void reloadCategories(ImportJob job) {
+        categoryDictionary.evict(job.userId);
+        Map<String, String> existing = new HashMap<>();
+        categoryDictionary.getCategoryNames(job.userId)
+                .forEach((id, name) -> existing.putIfAbsent(ImportJob.key(name), id));
+        Map<String, String> replaced = new HashMap<>();
+        Iterator<Category> iterator = job.categories.iterator();
+        while (iterator.hasNext()) {
+            Category category = iterator.next();
+            String id = existing.get(ImportJob.key(category.getName()));
+            if (id != null) {
+                replaced.put(category.getId(), id);
+                job.categoryIds.put(ImportJob.key(category.getName()), id);
+                job.ownedCategoryIds.remove(category.getId());
+                job.ownedCategoryIds.add(id);
+                iterator.remove();
+            }
+        }
+        job.todos.forEach(todo -> todo.setCategoryId(replaced.getOrDefault(todo.getCategoryId(), todo.getCategoryId())));
+    }
+
+    /**
+     * 一次导入的状态，只保存当前批次和分类字典
+     */
+    private class ImportJob {
+        final String userId;
+        final Consumer<TodoImportProgressVO> listener;
+        // 分类名称(不区分大小写，与数据库的唯一索引一致) -> 分类id，包含导入过程中新建的分类
+        final Map<String, String> categoryIds = new HashMap<>();
+        final Set<String> ownedCategoryIds = new HashSet<>();
+        final String defaultCategoryId;
+        final List<Todo> todos = new ArrayList<>();
+        // 与 todos 对应的行号
+        final List<Integer> lines = new ArrayList<>();
+        final List<Category> categories = new ArrayList<>();
+        long processed;
+        long imported;
+        long failed;
+        int createdCategories;
+
+        ImportJob(String userId, Consumer<TodoImportProgressVO> listener) {
+            this.userId = userId;
+            this.listener = listener;
+            // 字典是分类字典进程内缓存的共享实例，只读取，条目复制到本次导入自己的映射中再修改
+            Map<String, String> names = categoryDictionary.getCategoryNames(userId);
+            names.forEach((id, name) -> categoryIds.putIfAbsent(key(name), id));
+            ownedCategoryIds.addAll(names.keySet());
+            defaultCategoryId = categoryIds.get(key(CategoryConstant.DEFAULT_CATEGORY));
+        }
+
+        static String key(String name) {
+            return name.toLowerCase(Locale.ROOT);
+        }
+
+        void add(Todo todo, int line) {
+            todos.add(todo);
+            lines.add(line);
+        }
+
+        void error(int line, String msg) {
+            failed++;
+            listener.accept(TodoImportProgressVO.builder()
+                    .type(TodoImportProgressVO.TYPE_ERROR)
+                    .line(line)
+                    .msg(msg)
+                    .build());
+        }
+
+        TodoImportProgressVO progress(String type) {
+            return TodoImportProgressVO.builder()
+                    .type(type)
+                    .processed(processed)
+                    .imported(imported)
+                    .failed(failed)
+                    .createdCategories(createdCategories)
+                    .build();
+        }
+    }
+}
@@ -3,36 +3,76 @@ package cn.wind.clear.service.impl;
 import cn.wind.clear.constant.CategoryConstant;
 import cn.wind.clear.constant.MessageConstant;
 import cn.wind.clear.constant.StatusConstant;
-import cn.wind.clear.context.RedisContext;
+import cn.wind.clear.context.UserContext;
+import cn.wind.clear.converter.TodoConverter;
+import cn.wind.clear.dto.TodoBatchDTO;
+import cn.wind.clear.dto.TodoBatchOperationDTO;
+import cn.wind.clear.dto.TodoBulkDTO;
 import cn.wind.clear.dto.TodoDTO;
+import cn.wind.clear.dto.TodoFilterDTO;
 import cn.wind.clear.dto.TodoPageQueryDTO;
 import cn.wind.clear.dto.UpdateTodoDTO;
 import cn.wind.clear.entity.Todo;
+import cn.wind.clear.export.ExportFormat;
+import cn.wind.clear.export.TodoExportWriter;
 import cn.wind.clear.exception.BaseException;
+import cn.wind.clear.jfr.BeanMappingEvent;
 import cn.wind.clear.mapper.TodoMapper;
 import cn.wind.clear.result.PageResult;
+import cn.wind.clear.search.TodoSearchIndex;
 import cn.wind.clear.service.CategoryService;
+import cn.wind.clear.service.DataVersionService;
+import cn.wind.clear.service.SyncService;
+import cn.wind.clear.service.TodoCounterService;
 import cn.wind.clear.service.TodoService;
+import cn.wind.clear.utils.SqlUtils;
+import cn.wind.clear.utils.TransactionUtils;
+import cn.wind.clear.vo.TodoBatchResultVO;
 import cn.wind.clear.vo.TodoVO;
 import cn.wind.clear.vo.UserStatusVO;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class TodoServiceImpl extends ServiceImpl<TodoMapper, Todo>
         implements TodoService {
+    // 游标分页未指定每页条数时的默认值
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int EXPORT_CHUNK_SIZE = 1000;
+    // 批量操作类型
+    private static final String OP_ADD = "add";
+    private static final String OP_UPDATE = "update";
+    private static final String OP_DELETE = "delete";
+
     @Resource
     CategoryService categoryService;
+    @Resource
+    TodoCounterService todoCounterService;
+    @Resource
+    TodoSearchIndex todoSearchIndex;
+    @Resource
+    DataVersionService dataVersionService;
+    @Resource
+    SyncService syncService;
 
     /**
      * 添加to do
@@ -48,95 +88,509 @@ public class TodoServiceImpl extends ServiceImpl<TodoMapper, Todo>
             throw new BaseException(MessageConstant.DATE_EXPIRE);
         }
 
-        Todo todo = new Todo();
-        BeanUtils.copyProperties(todoDTO, todo);
+        Todo todo = TodoConverter.INSTANCE.toEntity(todoDTO);
         todo.setCategoryId(todoDTO.getCategoryId() != null
                 ? todoDTO.getCategoryId()
-                : categoryService.getDefaultCategoryId(RedisContext.getCurrentId(), CategoryConstant.DEFAULT_CATEGORY));
+                : categoryService.getDefaultCategoryId(UserContext.getCurrentId(), CategoryConstant.DEFAULT_CATEGORY));
         todo.setDueDate(todoDTO.getDueDate() == null ? null : todoDTO.getDueDate());
         todo.setStatus(StatusConstant.DISABLED);
-        todo.setUserId(RedisContext.getCurrentId());
+        todo.setUserId(UserContext.getCurrentId());
 
         boolean isOk = this.save(todo);
         if (!isOk) {
             throw new BaseException(MessageConstant.SYSTEM_ERROR);
         }
+        todoCounterService.onAdd(todo.getUserId(), todo.getCategoryId(), todo.getStatus());
+        todoSearchIndex.index(todo);
+        dataVersionService.bump(todo.getUserId());
     }
 
     @Override
     public PageResult<TodoVO> pageQuery(TodoPageQueryDTO todoPageQueryDTO) {
         log.info("Todo分页查询: {}", todoPageQueryDTO);
-        LambdaQueryWrapper<Todo> queryWrapper = new LambdaQueryWrapper<>();
-        String userId = RedisContext.getCurrentId();
-        Integer status = todoPageQueryDTO.getStatus();
-        String categoryId = todoPageQueryDTO.getCategoryId();
-        queryWrapper.eq(userId != null, Todo::getUserId, userId)
-                .eq(categoryId != null,Todo::getCategoryId, categoryId)
-                .eq(status != null, Todo::getStatus, status)
-                .like(todoPageQueryDTO.getKeyword() != null, Todo::getContent, todoPageQueryDTO.getKeyword());
-        // 如果只有开始日期，则查询开始日期后的数据
-        if (todoPageQueryDTO.getStartDate() != null && todoPageQueryDTO.getEndDate() == null) {
-            LocalDate startOfDay = todoPageQueryDTO.getStartDate();
-            LocalDate endOfDay = LocalDate.of(2099, 12, 31); // 使用固定的未来日期作为终点
-            queryWrapper.ge(Todo::getDueDate, startOfDay)
-                    .lt(Todo::getDueDate, endOfDay);
-        }
-        // 如果只有结束日期，则查询结束日期前的数据
-        else if(todoPageQueryDTO.getStartDate() == null && todoPageQueryDTO.getEndDate() != null){
-            LocalDate startOfDay = LocalDate.of(1970, 1, 1); // 使用一个较早的日期作为起点
-            LocalDate endOfDay = todoPageQueryDTO.getEndDate().plusDays(1); // 结束日期加1天，以包含整个结束日期
-            queryWrapper.ge(Todo::getDueDate, startOfDay)
-                    .lt(Todo::getDueDate, endOfDay);
-        }
-        else if (todoPageQueryDTO.getStartDate() != null) {
-            // 有开始和结束日期，查询日期范围
-            queryWrapper.ge(Todo::getDueDate, todoPageQueryDTO.getStartDate())
-                    .lt(Todo::getDueDate, todoPageQueryDTO.getEndDate().plusDays(1));
-        }
-        queryWrapper.orderByDesc(Todo::getDueDate);
-        Page<Todo> page =
-                new Page<>(todoPageQueryDTO.getPage(), todoPageQueryDTO.getPageSize());
-        Page<Todo> res = this.page(page, queryWrapper);
-        List<TodoVO> todoList = res.getRecords().stream()
-                .map(todo -> {
-                    TodoVO todoVO = new TodoVO();
-                    BeanUtils.copyProperties(todo, todoVO);
-                    String categoryName = categoryService.getCategoryNameById(todo.getCategoryId());
-                    todoVO.setCategoryName(categoryName);
-                    return todoVO;
-                })
-                .toList();
+        String userId = UserContext.getCurrentId();
+        // 关键字检索优先使用倒排索引，索引不可用或命中过多时为 null，使用 LIKE 查询
+        List<String> searchIds = todoPageQueryDTO.getKeyword() != null && todoSearchIndex.isReady()
+                ? todoSearchIndex.search(userId, todoPageQueryDTO.getKeyword())
+                : null;
+        // 未传页码时使用游标分页
+        if (todoPageQueryDTO.getPage() == null) {
+            return this.cursorQuery(userId, todoPageQueryDTO, searchIds);
+        }
+        if (searchIds != null) {
+            return this.searchQuery(userId, todoPageQueryDTO, searchIds);
+        }
+        int current = Math.max(todoPageQueryDTO.getPage(), 1);
+        int pageSize = pageSize(todoPageQueryDTO);
+        TodoFilterDTO filter = this.buildFilter(userId, todoPageQueryDTO, null);
+        // withTotal 显式为 false 时跳过 COUNT 查询，总数为 0 时不再查询数据
+        boolean withTotal = !Boolean.FALSE.equals(todoPageQueryDTO.getWithTotal());
+        long total = withTotal ? this.baseMapper.countTodo(filter) : 0;
+        List<Todo> records = List.of();
+        if (!withTotal || total > 0) {
+            filter.setOffset((long) (current - 1) * pageSize);
+            filter.setLimit(pageSize);
+            records = this.baseMapper.selectTodoList(filter);
+        }
+        PageResult<TodoVO> result = new PageResult<>();
+        result.setTotal(total);
+        result.setSize((long) pageSize);
+        result.setCurrent((long) current);
+        result.setRecords(this.toTodoVOList(userId, records));
+        return result;
+    }
+
+    /**
+     * 游标分页
+     * <p>
+     * 按 (due_date, id) 倒序定位到上一页最后一条之后，截止日期为空的数据排在最后并按 id 倒序，
+     * 翻页深度不影响查询代价。总数默认取自计数器，需要精确总数时传 withTotal=true
+     */
+    private PageResult<TodoVO> cursorQuery(String userId, TodoPageQueryDTO todoPageQueryDTO, List<String> searchIds) {
+        int pageSize = pageSize(todoPageQueryDTO);
+        TodoCursor cursor = TodoCursor.decode(todoPageQueryDTO.getCursor());
+
+        TodoFilterDTO filter = this.buildFilter(userId, todoPageQueryDTO, searchIds);
+        Long total = Boolean.TRUE.equals(todoPageQueryDTO.getWithTotal())
+                ? this.baseMapper.countTodo(filter)
+                : this.getCachedTotal(userId, todoPageQueryDTO);
+
+        if (cursor != null) {
+            filter.setCursorDueDate(cursor.dueDate());
+            filter.setCursorId(cursor.id());
+        }
+        // 多取一条用于判断是否还有下一页
+        filter.setLimit(pageSize + 1);
+        List<Todo> records = this.baseMapper.selectTodoList(filter);
+
+        String nextCursor = null;
+        if (records.size() > pageSize) {
+            records = records.subList(0, pageSize);
+            Todo last = records.get(pageSize - 1);
+            nextCursor = TodoCursor.encode(last.getDueDate(), Long.parseLong(last.getId()));
+        }
+
+        PageResult<TodoVO> result = new PageResult<>();
+        result.setTotal(total);
+        result.setSize((long) pageSize);
+        result.setRecords(this.toTodoVOList(userId, records));
+        result.setNextCursor(nextCursor);
+        return result;
+    }
+
+    /**
+     * 关键字检索的页码分页
+     * <p>
+     * 先用其它查询条件过滤索引返回的 id(只查 id 列)，再按相关度分页，只回表查询当前页的数据
+     */
+    private PageResult<TodoVO> searchQuery(String userId, TodoPageQueryDTO todoPageQueryDTO, List<String> searchIds) {
+        List<String> ids = searchIds;
+        if (!ids.isEmpty()) {
+            Set<String> matched = new HashSet<>(this.baseMapper.selectTodoIds(
+                    this.buildFilter(userId, todoPageQueryDTO, searchIds)));
+            ids = ids.stream().filter(matched::contains).toList();
+        }
+
+        int current = Math.max(todoPageQueryDTO.getPage(), 1);
+        int pageSize = pageSize(todoPageQueryDTO);
+        int from = (int) Math.min((long) (current - 1) * pageSize, ids.size());
+        List<String> pageIds = ids.subList(from, Math.min(from + pageSize, ids.size()));
+        List<Todo> todos = new ArrayList<>();
+        if (!pageIds.isEmpty()) {
+            Map<String, Todo> byId = this.listByIds(pageIds).stream()
+                    .collect(Collectors.toMap(Todo::getId, todo -> todo));
+            pageIds.stream().map(byId::get).filter(Objects::nonNull).forEach(todos::add);
+        }
+
         PageResult<TodoVO> result = new PageResult<>();
-        BeanUtils.copyProperties(res, result);
-        result.setRecords(todoList);
+        result.setTotal((long) ids.size());
+        result.setSize((long) pageSize);
+        result.setCurrent((long) current);
+        result.setRecords(this.toTodoVOList(userId, todos));
         return result;
     }
 
     /**
-     * 删除to do
+     * 每页条数，未指定或不是正数时使用默认值
+     */
+    private static int pageSize(TodoPageQueryDTO todoPageQueryDTO) {
+        Integer pageSize = todoPageQueryDTO.getPageSize();
+        return pageSize == null || pageSize <= 0 ? DEFAULT_PAGE_SIZE : pageSize;
+    }
+
+    /**
+     * 根据查询条件构造 TodoMapper.xml 中列表模板的过滤条件，不含分页
+     * <p>
+     * 只传开始或结束日期时只加一侧的范围条件，结束日期包含当天
+     *
+     * @param searchIds 倒排索引检索到的 id，为 null 时关键字使用 LIKE 查询
+     */
+    private TodoFilterDTO buildFilter(String userId, TodoPageQueryDTO todoPageQueryDTO, List<String> searchIds) {
+        String keyword = todoPageQueryDTO.getKeyword();
+        return TodoFilterDTO.builder()
+                .userId(userId)
+                .categoryId(todoPageQueryDTO.getCategoryId())
+                .status(todoPageQueryDTO.getStatus())
+                .keyword(keyword != null && searchIds == null ? keyword : null)
+                // 补齐 IN 列表长度，避免每种长度各占一条预编译语句缓存
+                .ids(keyword != null ? SqlUtils.padInList(searchIds) : null)
+                .dueFrom(todoPageQueryDTO.getStartDate() == null ? null : todoPageQueryDTO.getStartDate().atStartOfDay())
+                .dueTo(todoPageQueryDTO.getEndDate() == null ? null : todoPageQueryDTO.getEndDate().plusDays(1).atStartOfDay())
+                .build();
+    }
+
+    /**
+     * 从计数器获取近似总数，只支持按状态、分类过滤，其它条件返回 null
+     */
+    private Long getCachedTotal(String userId, TodoPageQueryDTO todoPageQueryDTO) {
+        if (todoPageQueryDTO.getKeyword() != null
+                || todoPageQueryDTO.getStartDate() != null
+                || todoPageQueryDTO.getEndDate() != null
+                || (todoPageQueryDTO.getStatus() != null && todoPageQueryDTO.getCategoryId() != null)) {
+            return null;
+        }
+        TodoCounterService.TodoCounts counts = todoCounterService.getCounts(userId);
+        if (todoPageQueryDTO.getCategoryId() != null) {
+            return counts.categoryTotals().getOrDefault(todoPageQueryDTO.getCategoryId(), 0L);
+        }
+        if (todoPageQueryDTO.getStatus() != null) {
+            return StatusConstant.ENABLED.equals(todoPageQueryDTO.getStatus()) ? counts.done() : counts.undone();
+        }
+        return counts.done() + counts.undone();
+    }
+
+    private List<TodoVO> toTodoVOList(String userId, List<Todo> todos) {
+        // 分类名称统一从分类字典中获取，避免逐条查询
+        Map<String, String> categoryNames = categoryService.getCategoryNames(userId);
+        BeanMappingEvent event = new BeanMappingEvent();
+        event.begin();
+        List<TodoVO> list = todos.stream()
+                .map(todo -> TodoConverter.INSTANCE.toVO(todo, categoryNames.get(todo.getCategoryId())))
+                .toList();
+        event.end();
+        if (event.shouldCommit()) {
+            event.sourceType = Todo.class;
+            event.targetType = TodoVO.class;
+            event.count = list.size();
+            event.commit();
+        }
+        return list;
+    }
+
+    /**
+     * 删除to do，同时写入删除记录
+     * <p>
+     * 只能删除当前用户的 To Do；计数和索引在事务提交后更新
      *
      * @param id
      */
+    @Transactional(rollbackFor = Exception.class)
     public void deleteTodo(String id) {
-        boolean isOk = this.removeById(id);
+        String userId = UserContext.getCurrentId();
+        Todo todo = this.lambdaQuery()
+                .eq(Todo::getId, id)
+                .eq(Todo::getUserId, userId)
+                .one();
+        if (todo == null) {
+            throw new BaseException(MessageConstant.TODO_NOT_EXIST);
+        }
+        boolean isOk = this.lambdaUpdate()
+                .eq(Todo::getId, id)
+                .eq(Todo::getUserId, userId)
+                .remove();
         if (!isOk) {
-            throw new BaseException(MessageConstant.SYSTEM_ERROR);
+            throw new BaseException(MessageConstant.TODO_NOT_EXIST);
         }
+        syncService.recordDeleted(userId, SyncService.TYPE_TODO, List.of(id));
+        TransactionUtils.afterCommit(() -> {
+            todoCounterService.onDelete(userId, todo.getCategoryId(), todo.getStatus());
+            todoSearchIndex.remove(userId, id);
+        });
+        dataVersionService.bump(userId);
     }
 
     /**
      * 更新to do
+     * <p>
+     * 只能更新当前用户的 To Do。更新以读到的状态和分类为条件，并发修改时更新失败，
+     * 避免计数增量被重复应用；计数和索引在事务提交后更新
      *
      * @param updateTodoDTO
      */
+    @Transactional(rollbackFor = Exception.class)
     public void udpateTodo(UpdateTodoDTO updateTodoDTO) {
-        Todo todo = new Todo();
-        BeanUtils.copyProperties(updateTodoDTO, todo);
-        todo.setUserId(RedisContext.getCurrentId());
-        boolean isOk = this.updateById(todo);
+        String userId = UserContext.getCurrentId();
+        String id = updateTodoDTO.getId();
+        // 状态或分类变化时需要原记录来更新计数
+        Todo old = this.lambdaQuery()
+                .eq(Todo::getId, id)
+                .eq(Todo::getUserId, userId)
+                .one();
+        if (old == null) {
+            throw new BaseException(MessageConstant.TODO_NOT_EXIST);
+        }
+
+        Todo todo = TodoConverter.INSTANCE.toEntity(updateTodoDTO);
+        todo.setId(null);
+        todo.setUserId(null);
+        boolean isOk = this.update(todo, new LambdaQueryWrapper<Todo>()
+                .eq(Todo::getId, id)
+                .eq(Todo::getUserId, userId)
+                .eq(Todo::getStatus, old.getStatus())
+                .eq(old.getCategoryId() != null, Todo::getCategoryId, old.getCategoryId())
+                .isNull(old.getCategoryId() == null, Todo::getCategoryId));
         if (!isOk) {
-            throw new BaseException(MessageConstant.SYSTEM_ERROR);
+            throw new BaseException(MessageConstant.TODO_CONCURRENT_UPDATE);
+        }
+        boolean countsChanged = updateTodoDTO.getStatus() != null || updateTodoDTO.getCategoryId() != null;
+        // 标题或内容变化时重新建立索引，在事务内读取更新后的记录
+        Todo reindexed = updateTodoDTO.getTitle() != null || updateTodoDTO.getContent() != null
+                ? this.getById(id)
+                : null;
+        TransactionUtils.afterCommit(() -> {
+            if (countsChanged) {
+                todoCounterService.onUpdate(userId,
+                        old.getCategoryId(), old.getStatus(),
+                        todo.getCategoryId() != null ? todo.getCategoryId() : old.getCategoryId(),
+                        todo.getStatus() != null ? todo.getStatus() : old.getStatus());
+            }
+            if (reindexed != null) {
+                todoSearchIndex.index(reindexed);
+            }
+        });
+        dataVersionService.bump(userId);
+    }
+
+    /**
+     * 批量增删改 To Do
+     * <p>
+     * 先校验全部操作，任意一条不合法时都不执行并返回每条操作的结果；
+     * 校验通过后在同一个事务中按 新增、更新、删除 分组以 JDBC 批量执行
+     *
+     * @param todoBatchDTO
+     * @return 与请求顺序一致的每条操作结果
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<TodoBatchResultVO> batch(TodoBatchDTO todoBatchDTO) {
+        String userId = UserContext.getCurrentId();
+        List<TodoBatchOperationDTO> operations = todoBatchDTO.getOperations() == null
+                ? List.of()
+                : todoBatchDTO.getOperations();
+
+        // 一次查询出更新、删除涉及的记录，同时校验归属
+        Set<String> ids = operations.stream()
+                .filter(operation -> !OP_ADD.equals(operation.getOp()) && operation.getId() != null)
+                .map(TodoBatchOperationDTO::getId)
+                .collect(Collectors.toSet());
+        Map<String, Todo> owned = ids.isEmpty() ? Map.of() : this.lambdaQuery()
+                .eq(Todo::getUserId, userId)
+                .in(Todo::getId, ids)
+                .list().stream()
+                .collect(Collectors.toMap(Todo::getId, todo -> todo));
+
+        List<TodoBatchResultVO> results = new ArrayList<>(operations.size());
+        List<Todo> adds = new ArrayList<>();
+        List<TodoBatchResultVO> addResults = new ArrayList<>();
+        List<Todo> updates = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        boolean failed = false;
+        for (int i = 0; i < operations.size(); i++) {
+            TodoBatchOperationDTO operation = operations.get(i);
+            String error = this.validateBatchOperation(operation, owned);
+            TodoBatchResultVO result = TodoBatchResultVO.builder()
+                    .index(i)
+                    .op(operation.getOp())
+                    .id(operation.getId())
+                    .success(error == null)
+                    .msg(error)
+                    .build();
+            results.add(result);
+            if (error != null) {
+                failed = true;
+                continue;
+            }
+            Todo todo = TodoConverter.INSTANCE.toEntity(operation);
+            todo.setUserId(userId);
+            switch (operation.getOp()) {
+                case OP_ADD -> {
+                    todo.setId(null);
+                    todo.setCategoryId(operation.getCategoryId() != null
+                            ? operation.getCategoryId()
+                            : categoryService.getDefaultCategoryId(userId, CategoryConstant.DEFAULT_CATEGORY));
+                    todo.setStatus(StatusConstant.DISABLED);
+                    adds.add(todo);
+                    addResults.add(result);
+                }
+                case OP_UPDATE -> updates.add(todo);
+                default -> deletes.add(operation.getId());
+            }
+        }
+        if (failed) {
+            results.stream()
+                    .filter(TodoBatchResultVO::getSuccess)
+                    .forEach(result -> {
+                        result.setSuccess(false);
+                        result.setMsg(MessageConstant.BATCH_NOT_EXECUTED);
+                    });
+            return results;
+        }
+
+        if (!adds.isEmpty()) {
+            this.saveBatch(adds);
+            for (int i = 0; i < adds.size(); i++) {
+                addResults.get(i).setId(adds.get(i).getId());
+            }
+        }
+        if (!updates.isEmpty()) {
+            this.updateBatchById(updates);
         }
+        if (!deletes.isEmpty()) {
+            this.removeByIds(deletes);
+            syncService.recordDeleted(userId, SyncService.TYPE_TODO, deletes);
+        }
+
+        List<String> reindexIds = updates.stream()
+                .filter(todo -> todo.getTitle() != null || todo.getContent() != null)
+                .map(Todo::getId)
+                .filter(id -> !deletes.contains(id))
+                .toList();
+        // 在事务中读出更新后的记录，提交后再写入索引
+        List<Todo> reindexed = reindexIds.isEmpty() ? List.of() : this.listByIds(reindexIds);
+        if (!operations.isEmpty()) {
+            TransactionUtils.afterCommit(() -> {
+                todoCounterService.invalidate(userId);
+                adds.forEach(todoSearchIndex::index);
+                reindexed.forEach(todoSearchIndex::index);
+                deletes.forEach(id -> todoSearchIndex.remove(userId, id));
+            });
+            dataVersionService.bump(userId);
+        }
+        return results;
+    }
+
+    /**
+     * 校验单条批量操作，规则与单条接口一致
+     *
+     * @return 错误信息，合法时返回 null
+     */
+    private String validateBatchOperation(TodoBatchOperationDTO operation, Map<String, Todo> owned) {
+        if (OP_ADD.equals(operation.getOp())) {
+            if (operation.getTitle() == null || operation.getTitle().isEmpty()) {
+                return MessageConstant.EMPTY_TITLE;
+            }
+            if (operation.getDueDate() != null && operation.getDueDate().isBefore(LocalDateTime.now())) {
+                return MessageConstant.DATE_EXPIRE;
+            }
+            return null;
+        }
+        if (OP_UPDATE.equals(operation.getOp()) || OP_DELETE.equals(operation.getOp())) {
+            return owned.containsKey(operation.getId()) ? null : MessageConstant.TODO_NOT_EXIST;
+        }
+        return MessageConstant.UNSUPPORTED_BATCH_OP;
+    }
+
+    /**
+     * 按条件批量修改状态，如将某个分类下的 To Do 全部标记为完成
+     * <p>
+     * 只执行一条 UPDATE，已经是目标状态的数据不会被改写
+     *
+     * @param todoBulkDTO
+     * @return 修改的数量
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int bulkUpdateStatus(TodoBulkDTO todoBulkDTO) {
+        if (todoBulkDTO.getTargetStatus() == null) {
+            throw new BaseException(MessageConstant.EMPTY_TARGET_STATUS);
+        }
+        String userId = UserContext.getCurrentId();
+        LambdaUpdateWrapper<Todo> updateWrapper = new LambdaUpdateWrapper<Todo>()
+                .set(Todo::getStatus, todoBulkDTO.getTargetStatus())
+                .eq(Todo::getUserId, userId)
+                .eq(todoBulkDTO.getCategoryId() != null, Todo::getCategoryId, todoBulkDTO.getCategoryId())
+                .eq(todoBulkDTO.getStatus() != null, Todo::getStatus, todoBulkDTO.getStatus())
+                .ne(Todo::getStatus, todoBulkDTO.getTargetStatus());
+        int rows = this.baseMapper.update(null, updateWrapper);
+        if (rows > 0) {
+            TransactionUtils.afterCommit(() -> todoCounterService.invalidate(userId));
+            dataVersionService.bump(userId);
+        }
+        return rows;
+    }
+
+    /**
+     * 按条件批量删除，如删除全部已完成的 To Do
+     * <p>
+     * 先取出将被删除的 id，再按 id 执行一条 DELETE，删除记录与索引只涉及这些 id；至少需要一个过滤条件
+     *
+     * @param todoBulkDTO
+     * @return 删除的数量
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int bulkDelete(TodoBulkDTO todoBulkDTO) {
+        if (todoBulkDTO.getCategoryId() == null && todoBulkDTO.getStatus() == null) {
+            throw new BaseException(MessageConstant.EMPTY_BATCH_CONDITION);
+        }
+        String userId = UserContext.getCurrentId();
+        List<String> ids = this.list(this.buildBulkWrapper(userId, todoBulkDTO).select(Todo::getId)).stream()
+                .map(Todo::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int rows = this.baseMapper.delete(this.buildBulkWrapper(userId, todoBulkDTO).in(Todo::getId, ids));
+        syncService.recordDeleted(userId, SyncService.TYPE_TODO, ids);
+        if (rows > 0) {
+            TransactionUtils.afterCommit(() -> {
+                todoCounterService.invalidate(userId);
+                ids.forEach(id -> todoSearchIndex.remove(userId, id));
+            });
+            dataVersionService.bump(userId);
+        }
+        return rows;
+    }
+
+    private LambdaQueryWrapper<Todo> buildBulkWrapper(String userId, TodoBulkDTO todoBulkDTO) {
+        return new LambdaQueryWrapper<Todo>()
+                .eq(Todo::getUserId, userId)
+                .eq(todoBulkDTO.getCategoryId() != null, Todo::getCategoryId, todoBulkDTO.getCategoryId())
+                .eq(todoBulkDTO.getStatus() != null, Todo::getStatus, todoBulkDTO.getStatus());
+    }
+
+    @Override
+    public int rebuildSearchIndex() {
+        return todoSearchIndex.rebuildUser(UserContext.getCurrentId());
+    }
+
+    /**
+     * 按 id 分段查询，每段查询结束即归还连接，下载速度慢的客户端不会长时间占用连接池。
+     * 不在事务中执行，导出期间新增的 To Do 若 id 更大也会被导出
+     */
+    @Override
+    public long exportTodos(ExportFormat format, OutputStream out) throws IOException {
+        String currentId = UserContext.getCurrentId();
+        // 分类名称只加载一次，不随每行查询
+        Map<String, String> categoryNames = categoryService.getCategoryNames(currentId);
+        long count = 0;
+        try (TodoExportWriter writer = TodoExportWriter.of(format, out)) {
+            Long afterId = null;
+            List<Todo> chunk;
+            do {
+                chunk = this.baseMapper.selectTodoChunk(currentId, afterId, EXPORT_CHUNK_SIZE);
+                for (Todo todo : chunk) {
+                    writer.write(TodoConverter.INSTANCE.toVO(todo, categoryNames.get(todo.getCategoryId())));
+                }
+                count += chunk.size();
+                if (!chunk.isEmpty()) {
+                    afterId = Long.valueOf(chunk.get(chunk.size() - 1).getId());
+                }
+            } while (chunk.size() == EXPORT_CHUNK_SIZE);
+        }
+        out.flush();
+        log.info("用户 {} 导出 To Do {} 条，格式 {}", currentId, count, format);
+        return count;
     }
 
     @Override
@@ -149,14 +603,35 @@ public class TodoServiceImpl extends ServiceImpl<TodoMapper, Todo>
 
     @Override
     public UserStatusVO getTodoStatus(String currentId) {
-        Long numOfDone = this.lambdaQuery()
-                .eq(Todo::getUserId, currentId)
-                .eq(Todo::getStatus, StatusConstant.ENABLED)
-                .count();
-        Long numOfUndone = this.lambdaQuery()
-                .eq(Todo::getUserId, currentId)
-                .eq(Todo::getStatus, StatusConstant.DISABLED)
-                .count();
-        return new UserStatusVO(null,numOfDone, numOfUndone);
+        TodoCounterService.TodoCounts counts = todoCounterService.getCounts(currentId);
+        return new UserStatusVO(null, counts.done(), counts.undone());
+    }
+
+    /**
+     * 分页游标，内容为上一页最后一条数据的截止日期和 id
+     */
+    private record TodoCursor(LocalDateTime dueDate, Long id) {
+
+        private static final String SEPARATOR = "|";
+
+        static String encode(LocalDateTime dueDate, Long id) {
+            String raw = (dueDate == null ? "" : dueDate.toString()) + SEPARATOR + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static TodoCursor decode(String cursor) {
+            if (cursor == null || cursor.isEmpty()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int index = raw.lastIndexOf(SEPARATOR);
+                String dueDate = raw.substring(0, index);
+                return new TodoCursor(dueDate.isEmpty() ? null : LocalDateTime.parse(dueDate),
+                        Long.valueOf(raw.substring(index + 1)));
+            } catch (RuntimeException e) {
+                throw new BaseException(MessageConstant.INVALID_CURSOR);
+            }
+        }
     }
 }
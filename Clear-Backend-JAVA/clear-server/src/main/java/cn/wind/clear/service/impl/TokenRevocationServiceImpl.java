@@ -0,0 +1,102 @@
+package cn.wind.clear.service.impl;
+
+import cn.wind.clear.properties.AuthProperties;
+import cn.wind.clear.properties.JwtProperties;
+import cn.wind.clear.service.TokenRevocationService;
+import cn.wind.clear.utils.BloomFilter;
+import cn.wind.clear.utils.JwtUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 令牌吊销名单
+ * <p>
+ * 吊销名单以 ZSET 形式保存在 Redis 中(成员为令牌摘要，分值为令牌过期时间)，
+ * 每个节点在本地维护一份布隆过滤器并定时从 Redis 同步。
+ * 绝大多数请求在本地过滤器中判定为未吊销，无需访问 Redis；
+ * 只有命中过滤器时才回查 Redis 排除误判。
+ * 其它节点吊销的令牌最多在一个同步周期后生效
+ */
+@Service
+@Slf4j
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    // 吊销名单在 Redis 中的 key
+    private static final String REVOKED_KEY = "clear:auth:revoked";
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+    @Resource
+    private JwtProperties jwtProperties;
+    @Resource
+    private AuthProperties authProperties;
+
+    private volatile BloomFilter bloomFilter;
+    // 本节点吊销的令牌摘要 -> 吊销时间，同步替换过滤器后补入，避免读取名单与替换之间的吊销丢失
+    private final Map<String, Long> recentRevocations = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        this.bloomFilter = newBloomFilter();
+    }
+
+    @Override
+    public void revoke(String token) {
+        long expiresAt = JwtUtil.parseJWT(jwtProperties.getSecretKey(), token)
+                .getExpiration()
+                .getTime();
+        byte[] digest = JwtUtil.digest(token);
+        String member = HexFormat.of().formatHex(digest);
+        // 先登记再写入过滤器，同步线程替换过滤器后一定能看到这条记录
+        recentRevocations.put(member, System.currentTimeMillis());
+        stringRedisTemplate.opsForZSet().add(REVOKED_KEY, member, expiresAt);
+        bloomFilter.put(digest);
+    }
+
+    @Override
+    public boolean isRevoked(String token) {
+        byte[] digest = JwtUtil.digest(token);
+        if (!bloomFilter.mightContain(digest)) {
+            return false;
+        }
+        // 布隆过滤器可能误判，回查 Redis 确认
+        return stringRedisTemplate.opsForZSet().score(REVOKED_KEY, HexFormat.of().formatHex(digest)) != null;
+    }
+
+    /**
+     * 清理已过期的吊销记录，并用 Redis 中的名单重建本地布隆过滤器
+     */
+    @Scheduled(fixedDelayString = "${clear.auth.revocation-sync-interval:30000}")
+    public void sync() {
+        try {
+            long startedAt = System.currentTimeMillis();
+            stringRedisTemplate.opsForZSet().removeRangeByScore(REVOKED_KEY, 0, startedAt);
+            Set<String> revoked = stringRedisTemplate.opsForZSet().range(REVOKED_KEY, 0, -1);
+            BloomFilter filter = newBloomFilter();
+            if (revoked != null) {
+                revoked.forEach(digest -> filter.put(HexFormat.of().parseHex(digest)));
+            }
+            this.bloomFilter = filter;
+            // 读取名单之后本节点吊销的令牌可能只写入了旧过滤器，补入新过滤器；
+            // 同步开始之前的吊销已包含在本次读取的名单中，不再保留
+            recentRevocations.forEach((digest, revokedAt) -> filter.put(HexFormat.of().parseHex(digest)));
+            recentRevocations.values().removeIf(revokedAt -> revokedAt < startedAt);
+            log.debug("吊销名单同步完成, 共 {} 条", revoked == null ? 0 : revoked.size());
+        } catch (Exception e) {
+            log.error("吊销名单同步失败: {}", e.getMessage());
+        }
+    }
+
+    private BloomFilter newBloomFilter() {
+        return new BloomFilter(authProperties.getBloomExpectedInsertions(), authProperties.getBloomFalsePositiveRate());
+    }
+}
@@ -3,7 +3,8 @@ package cn.wind.clear.service.impl;
 import cn.wind.clear.constant.CategoryConstant;
 import cn.wind.clear.constant.MessageConstant;
 import cn.wind.clear.constant.StatusConstant;
-import cn.wind.clear.context.RedisContext;
+import cn.wind.clear.context.UserContext;
+import cn.wind.clear.converter.UserConverter;
 import cn.wind.clear.dto.UserDTO;
 import cn.wind.clear.dto.UserLoginDTO;
 import cn.wind.clear.entity.Category;
@@ -17,7 +18,6 @@ import cn.wind.clear.vo.UserStatusVO;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.util.DigestUtils;
 
@@ -46,8 +46,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User>
         }
 
         userLoginDTO.setPassword(DigestUtils.md5DigestAsHex(userLoginDTO.getPassword().getBytes()));
-        User user = new User();
-        BeanUtils.copyProperties(userLoginDTO, user);
+        User user = UserConverter.INSTANCE.toEntity(userLoginDTO);
 
         // 1. 检查用户登陆凭证是否有效
 
@@ -112,7 +111,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User>
 
     @Override
     public void updateTheme(Integer theme) {
-        boolean isOk = this.lambdaUpdate().eq(User::getId, RedisContext.getCurrentId())
+        boolean isOk = this.lambdaUpdate().eq(User::getId, UserContext.getCurrentId())
                 .set(User::getTheme, theme)
                 .update();
         if (!isOk) {
@@ -122,7 +121,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User>
 
     @Override
     public UserStatusVO getUserStatus() {
-        return todoService.getTodoStatus(RedisContext.getCurrentId());
+        return todoService.getTodoStatus(UserContext.getCurrentId());
     }
 
 
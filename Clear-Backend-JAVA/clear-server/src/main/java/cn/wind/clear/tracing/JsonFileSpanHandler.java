@@ -0,0 +1,120 @@
+package cn.wind.clear.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 把结束的 span 以 Zipkin v2 JSON 格式逐行追加到文件
+ * <p>
+ * 请求线程只负责入队，由后台线程写文件；队列写满时丢弃 span 并计数，不阻塞请求
+ */
+@Slf4j
+public class JsonFileSpanHandler extends SpanHandler implements Closeable {
+
+    private static final String POISON = "";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BlockingQueue<String> queue;
+    private final BufferedWriter writer;
+    private final Thread worker;
+    private final AtomicLong dropped = new AtomicLong();
+
+    public JsonFileSpanHandler(Path path, int queueSize) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.worker = new Thread(this::drain, "span-file-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+        log.info("span 写入文件: {}", path.toAbsolutePath());
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.FINISHED && !queue.offer(toJson(span))) {
+            dropped.incrementAndGet();
+        }
+        return true;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private String toJson(MutableSpan span) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("traceId", span.traceId());
+        json.put("parentId", span.parentId());
+        json.put("id", span.id());
+        json.put("kind", span.kind() == null ? null : span.kind().name());
+        json.put("name", span.name());
+        json.put("timestamp", span.startTimestamp());
+        json.put("duration", span.finishTimestamp() - span.startTimestamp());
+        json.put("localEndpoint", Map.of("serviceName", String.valueOf(span.localServiceName())));
+        Map<String, String> tags = new LinkedHashMap<>(span.tags());
+        if (span.error() != null && !tags.containsKey("error")) {
+            tags.put("error", String.valueOf(span.error().getMessage()));
+        }
+        json.put("tags", tags);
+        try {
+            return objectMapper.writeValueAsString(json);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                String line = queue.poll(1, TimeUnit.SECONDS);
+                if (line == POISON) {
+                    break;
+                }
+                if (line == null) {
+                    writer.flush();
+                    continue;
+                }
+                writer.write(line);
+                writer.newLine();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("写入 span 文件失败", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            queue.put(POISON);
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer.close();
+        if (dropped.get() > 0) {
+            log.warn("队列已满，丢弃了 {} 个 span", dropped.get());
+        }
+    }
+}
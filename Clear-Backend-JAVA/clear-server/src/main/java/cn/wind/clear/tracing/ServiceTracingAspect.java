@@ -0,0 +1,36 @@
+package cn.wind.clear.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.Resource;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * 为 service 实现类的公有方法生成 span，名称如 TodoServiceImpl.pageTodo
+ * <p>
+ * 基于 Spring AOP 代理，类内部的自调用不会生成 span
+ */
+@Aspect
+@Component
+public class ServiceTracingAspect {
+
+    @Resource
+    private Tracer tracer;
+
+    @Around("within(cn.wind.clear.service.impl..*) && execution(public * *(..))")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        String name = joinPoint.getTarget().getClass().getSimpleName() + "." + joinPoint.getSignature().getName();
+        Span span = tracer.nextSpan().name(name).start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package cn.wind.clear.tracing;
+
+import cn.wind.clear.metrics.SqlFingerprint;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.sql.Statement;
+
+/**
+ * SQL 链路追踪插件
+ * <p>
+ * 每条发给数据库的语句生成一个 span，以 mapper 方法命名，语句只记录指纹，不含参数值
+ */
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class}),
+        @Signature(type = StatementHandler.class, method = "batch", args = {Statement.class})
+})
+public class SqlTracingInterceptor implements Interceptor {
+
+    private final Tracer tracer;
+
+    public SqlTracingInterceptor(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        PluginUtils.MPStatementHandler handler = PluginUtils.mpStatementHandler((StatementHandler) invocation.getTarget());
+        MappedStatement mappedStatement = handler.mappedStatement();
+        String id = mappedStatement.getId();
+        Span span = tracer.nextSpan()
+                .name(id.substring(id.lastIndexOf('.', id.lastIndexOf('.') - 1) + 1))
+                .tag("db.system", "mysql")
+                .tag("db.operation", mappedStatement.getSqlCommandType().name())
+                .tag("db.statement", SqlFingerprint.of(handler.boundSql().getSql()))
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package cn.wind.clear.export;
+
+import cn.wind.clear.constant.MessageConstant;
+import cn.wind.clear.dto.TodoImportDTO;
+import cn.wind.clear.exception.BaseException;
+import cn.wind.clear.vo.TodoVO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvTodoImportReaderTest {
+
+    private static final int MAX_LINE_LENGTH = 1024;
+
+    @Test
+    void readsColumnsByHeaderName() throws IOException {
+        CsvTodoImportReader reader = reader("status,title,extra\r\n1,买菜,x\r\n");
+
+        TodoImportDTO row = reader.next();
+        assertThat(row.getTitle()).isEqualTo("买菜");
+        assertThat(row.getStatus()).isEqualTo("1");
+        assertThat(row.getContent()).isNull();
+        assertThat(reader.getLine()).isEqualTo(2);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void readsQuotedNewlinesAndDoubledQuotes() throws IOException {
+        CsvTodoImportReader reader = reader("title,content\n\"a, \"\"b\"\"\",\"line1\nline2\"\nnext,\n");
+
+        TodoImportDTO first = reader.next();
+        assertThat(first.getTitle()).isEqualTo("a, \"b\"");
+        assertThat(first.getContent()).isEqualTo("line1\nline2");
+        assertThat(reader.getLine()).isEqualTo(2);
+
+        TodoImportDTO second = reader.next();
+        assertThat(second.getTitle()).isEqualTo("next");
+        assertThat(reader.getLine()).isEqualTo(4);
+    }
+
+    @Test
+    void skipsBom() throws IOException {
+        assertThat(reader("\uFEFFtitle\nA\n").next().getTitle()).isEqualTo("A");
+        assertThat(reader("\uFEFF\"title\"\nA\n").next().getTitle()).isEqualTo("A");
+    }
+
+    @Test
+    void skipsBlankLines() throws IOException {
+        CsvTodoImportReader reader = reader("title\n\n  \nA\n");
+
+        assertThat(reader.next().getTitle()).isEqualTo("A");
+        assertThat(reader.getLine()).isEqualTo(4);
+    }
+
+    @Test
+    void stripsFormulaGuardQuote() throws IOException {
+        CsvTodoImportReader reader = reader("title,content\n'=SUM(A1),'\tx\n'plain,'\n");
+
+        TodoImportDTO first = reader.next();
+        assertThat(first.getTitle()).isEqualTo("=SUM(A1)");
+        assertThat(first.getContent()).isEqualTo("\tx");
+
+        TodoImportDTO second = reader.next();
+        assertThat(second.getTitle()).isEqualTo("'plain");
+        assertThat(second.getContent()).isEqualTo("'");
+    }
+
+    @Test
+    void readsExportedFile() throws IOException {
+        TodoVO todo = TodoVO.builder()
+                .id("1")
+                .title("=1+1")
+                .content("多行\n\"引号\", 逗号")
+                .status(1)
+                .categoryName("工作")
+                .build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvTodoExportWriter writer = new CsvTodoExportWriter(out)) {
+            writer.write(todo);
+        }
+
+        TodoImportDTO row = new CsvTodoImportReader(new ByteArrayInputStream(out.toByteArray()), MAX_LINE_LENGTH).next();
+        assertThat(row.getTitle()).isEqualTo(todo.getTitle());
+        assertThat(row.getContent()).isEqualTo(todo.getContent());
+        assertThat(row.getStatus()).isEqualTo("1");
+        assertThat(row.getCategoryName()).isEqualTo("工作");
+    }
+
+    @Test
+    void rejectsRowWithTooManyFieldsAndContinues() throws IOException {
+        CsvTodoImportReader reader = reader("title\nA,B\nC\n");
+
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(BaseException.class)
+                .hasMessage(MessageConstant.INVALID_IMPORT_ROW);
+        assertThat(reader.getLine()).isEqualTo(2);
+        assertThat(reader.next().getTitle()).isEqualTo("C");
+    }
+
+    @Test
+    void rejectsUnterminatedQuoteAsRow() throws IOException {
+        CsvTodoImportReader reader = reader("title\nA\n\"B\nC\n");
+
+        assertThat(reader.next().getTitle()).isEqualTo("A");
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(BaseException.class)
+                .hasMessage(MessageConstant.INVALID_IMPORT_ROW);
+        assertThat(reader.getLine()).isEqualTo(3);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void abortsWithoutTitleColumn() {
+        assertThatThrownBy(() -> reader("name,content\nA,B\n").next())
+                .isInstanceOf(ImportAbortedException.class)
+                .hasMessage(MessageConstant.IMPORT_MISSING_TITLE);
+    }
+
+    @Test
+    void abortsOnLineLongerThanLimit() throws IOException {
+        CsvTodoImportReader reader = new CsvTodoImportReader(
+                new ByteArrayInputStream(("title\nshort\n" + "x".repeat(20) + "\n").getBytes(StandardCharsets.UTF_8)), 10);
+
+        assertThat(reader.next().getTitle()).isEqualTo("short");
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(ImportAbortedException.class)
+                .hasMessage(MessageConstant.IMPORT_LINE_TOO_LONG);
+    }
+
+    private static CsvTodoImportReader reader(String text) {
+        return new CsvTodoImportReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), MAX_LINE_LENGTH);
+    }
+}
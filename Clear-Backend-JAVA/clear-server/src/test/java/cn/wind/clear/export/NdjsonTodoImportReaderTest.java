@@ -0,0 +1,74 @@
+package cn.wind.clear.export;
+
+import cn.wind.clear.constant.MessageConstant;
+import cn.wind.clear.dto.TodoImportDTO;
+import cn.wind.clear.exception.BaseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NdjsonTodoImportReaderTest {
+
+    private static final int MAX_LINE_LENGTH = 1024;
+
+    @Test
+    void readsOneObjectPerLine() throws IOException {
+        NdjsonTodoImportReader reader = reader(
+                "{\"title\":\"买菜\",\"status\":1,\"content\":\"a\\nb\",\"id\":\"9\"}\r\n{\"title\":\"B\",\"dueDate\":null}");
+
+        TodoImportDTO first = reader.next();
+        assertThat(first.getTitle()).isEqualTo("买菜");
+        assertThat(first.getStatus()).isEqualTo("1");
+        assertThat(first.getContent()).isEqualTo("a\nb");
+        assertThat(reader.getLine()).isEqualTo(1);
+
+        TodoImportDTO second = reader.next();
+        assertThat(second.getTitle()).isEqualTo("B");
+        assertThat(second.getDueDate()).isNull();
+        assertThat(reader.getLine()).isEqualTo(2);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void skipsBomAndBlankLines() throws IOException {
+        NdjsonTodoImportReader reader = reader("\uFEFF{\"title\":\"A\"}\n\n   \n{\"title\":\"B\"}\n");
+
+        assertThat(reader.next().getTitle()).isEqualTo("A");
+        assertThat(reader.next().getTitle()).isEqualTo("B");
+        assertThat(reader.getLine()).isEqualTo(4);
+    }
+
+    @Test
+    void rejectsInvalidRowAndContinues() throws IOException {
+        NdjsonTodoImportReader reader = reader("{\"title\":\n[1]\n{\"title\":\"C\"}\n");
+
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(BaseException.class)
+                .hasMessage(MessageConstant.INVALID_IMPORT_ROW);
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(BaseException.class)
+                .hasMessage(MessageConstant.INVALID_IMPORT_ROW);
+        assertThat(reader.next().getTitle()).isEqualTo("C");
+        assertThat(reader.getLine()).isEqualTo(3);
+    }
+
+    @Test
+    void abortsOnLineLongerThanLimit() throws IOException {
+        NdjsonTodoImportReader reader = new NdjsonTodoImportReader(new ByteArrayInputStream(
+                ("{\"title\":\"A\"}\n{\"title\":\"" + "x".repeat(20) + "\"}\n").getBytes(StandardCharsets.UTF_8)), 15);
+
+        assertThat(reader.next().getTitle()).isEqualTo("A");
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(ImportAbortedException.class)
+                .hasMessage(MessageConstant.IMPORT_LINE_TOO_LONG);
+    }
+
+    private static NdjsonTodoImportReader reader(String text) {
+        return new NdjsonTodoImportReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), MAX_LINE_LENGTH);
+    }
+}
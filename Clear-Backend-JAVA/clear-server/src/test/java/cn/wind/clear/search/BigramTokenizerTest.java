@@ -0,0 +1,54 @@
+package cn.wind.clear.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BigramTokenizerTest {
+
+    @Test
+    void splitsLatinWordsAndCjkBigramsInMixedText() {
+        assertThat(BigramTokenizer.tokenizeForIndex("Meeting 会议纪要 v2"))
+                .containsExactly("meeting", "会", "议", "纪", "要", "会议", "议纪", "纪要", "v2");
+        assertThat(BigramTokenizer.tokenizeForQuery("Meeting 会议纪要 v2"))
+                .containsExactly("meeting", "会议", "议纪", "纪要", "v2");
+    }
+
+    @Test
+    void breaksLatinWordsAtCjkBoundaries() {
+        assertThat(BigramTokenizer.tokenizeForQuery("abc日本語xyz"))
+                .containsExactly("abc", "日本", "本語", "xyz");
+    }
+
+    @Test
+    void keepsSingleCjkCharacterForQuery() {
+        assertThat(BigramTokenizer.tokenizeForQuery("会")).containsExactly("会");
+        assertThat(BigramTokenizer.tokenizeForQuery("买 菜")).containsExactly("买", "菜");
+    }
+
+    @Test
+    void treatsSurrogatePairsAsOneCharacter() {
+        String first = new String(Character.toChars(0x20000));
+        String second = new String(Character.toChars(0x20001));
+        assertThat(BigramTokenizer.tokenizeForIndex(first + second))
+                .containsExactly(first, second, first + second);
+        assertThat(BigramTokenizer.tokenizeForQuery(first)).containsExactly(first);
+        assertThat(BigramTokenizer.isCjk(first)).isTrue();
+    }
+
+    @Test
+    void ignoresPunctuation() {
+        assertThat(BigramTokenizer.tokenizeForQuery("#")).isEmpty();
+        assertThat(BigramTokenizer.tokenizeForQuery("+ - ，。")).isEmpty();
+        assertThat(BigramTokenizer.tokenizeForQuery("c++")).containsExactly("c");
+        assertThat(BigramTokenizer.tokenizeForQuery(null)).isEmpty();
+    }
+
+    @Test
+    void distinguishesCjkTerms() {
+        assertThat(BigramTokenizer.isCjk("会议")).isTrue();
+        assertThat(BigramTokenizer.isCjk("かな")).isTrue();
+        assertThat(BigramTokenizer.isCjk("meeting")).isFalse();
+        assertThat(BigramTokenizer.isCjk("")).isFalse();
+    }
+}
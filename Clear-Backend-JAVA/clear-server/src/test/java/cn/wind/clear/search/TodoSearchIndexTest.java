@@ -0,0 +1,136 @@
+package cn.wind.clear.search;
+
+import cn.wind.clear.entity.Todo;
+import cn.wind.clear.properties.SearchProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoSearchIndexTest {
+
+    private static final String USER_ID = "1";
+
+    @TempDir
+    Path tempDir;
+
+    private SearchProperties searchProperties;
+    private TodoSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchProperties = new SearchProperties();
+        searchProperties.setIndexPath(tempDir.resolve("search-index.bin").toString());
+        searchIndex = newIndex();
+    }
+
+    @Test
+    void ranksTitleMatchesAboveContentMatches() {
+        searchIndex.index(todo("11", "weekly meeting", null));
+        searchIndex.index(todo("12", "notes", "meeting with design"));
+        searchIndex.index(todo("13", "groceries", null));
+
+        assertThat(searchIndex.search(USER_ID, "meeting")).containsExactly("11", "12");
+    }
+
+    @Test
+    void matchesLatinTermsBySubstring() {
+        searchIndex.index(todo("11", "meeting", null));
+        searchIndex.index(todo("12", "meet the team", null));
+        searchIndex.index(todo("13", "sweet", null));
+
+        assertThat(searchIndex.search(USER_ID, "meet")).containsExactlyInAnyOrder("11", "12");
+        assertThat(searchIndex.search(USER_ID, "eet")).containsExactlyInAnyOrder("11", "12", "13");
+        assertThat(searchIndex.search(USER_ID, "MEETING")).containsExactly("11");
+    }
+
+    @Test
+    void requiresAllTerms() {
+        searchIndex.index(todo("11", "budget meeting", null));
+        searchIndex.index(todo("12", "meeting", "budget"));
+        searchIndex.index(todo("13", "meeting", null));
+
+        assertThat(searchIndex.search(USER_ID, "meet budget")).containsExactly("11", "12");
+    }
+
+    @Test
+    void matchesCjkByBigram() {
+        searchIndex.index(todo("11", "周会议程", null));
+        searchIndex.index(todo("12", "会见客户", null));
+
+        assertThat(searchIndex.search(USER_ID, "会议")).containsExactly("11");
+        assertThat(searchIndex.search(USER_ID, "会")).containsExactlyInAnyOrder("11", "12");
+        assertThat(searchIndex.search(USER_ID, "议会")).isEmpty();
+    }
+
+    @Test
+    void fallsBackWhenKeywordHasNoTerms() {
+        searchIndex.index(todo("11", "c++ #1", null));
+
+        assertThat(searchIndex.search(USER_ID, "#")).isNull();
+        assertThat(searchIndex.search(USER_ID, "+")).isNull();
+    }
+
+    @Test
+    void fallsBackWhenMatchesExceedLimit() {
+        searchProperties.setMaxMatches(1);
+        searchIndex.index(todo("11", "meeting", null));
+        searchIndex.index(todo("12", "meeting", null));
+
+        assertThat(searchIndex.search(USER_ID, "meeting")).isNull();
+    }
+
+    @Test
+    void removesAndReindexesDocuments() {
+        searchIndex.index(todo("11", "meeting", null));
+        searchIndex.index(todo("12", "meeting", null));
+        searchIndex.remove(USER_ID, "11");
+        searchIndex.index(todo("12", "lunch", null));
+
+        assertThat(searchIndex.search(USER_ID, "meeting")).isEmpty();
+        assertThat(searchIndex.search(USER_ID, "lunch")).containsExactly("12");
+    }
+
+    @Test
+    void keepsUsersSeparate() {
+        searchIndex.index(todo("11", "meeting", null));
+
+        assertThat(searchIndex.search("2", "meeting")).isEmpty();
+    }
+
+    @Test
+    void restoresIndexFromSnapshot() throws Exception {
+        searchIndex.index(todo("11", "weekly meeting", "会议纪要"));
+        searchIndex.index(todo("12", "notes", "meeting"));
+        searchIndex.saveSnapshot();
+
+        TodoSearchIndex restored = newIndex();
+        assertThat(restored.loadSnapshot()).isTrue();
+        assertThat(restored.search(USER_ID, "meet")).containsExactly("11", "12");
+        assertThat(restored.search(USER_ID, "纪要")).containsExactly("11");
+    }
+
+    @Test
+    void reportsMissingSnapshot() throws Exception {
+        assertThat(newIndex().loadSnapshot()).isFalse();
+    }
+
+    private TodoSearchIndex newIndex() {
+        TodoSearchIndex index = new TodoSearchIndex();
+        ReflectionTestUtils.setField(index, "searchProperties", searchProperties);
+        return index;
+    }
+
+    private static Todo todo(String id, String title, String content) {
+        return Todo.builder()
+                .id(id)
+                .userId(USER_ID)
+                .title(title)
+                .content(content)
+                .build();
+    }
+}
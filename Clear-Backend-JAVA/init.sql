@@ -7,6 +7,8 @@ CREATE TABLE user (
     id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '用户ID',
     username VARCHAR(50) NOT NULL UNIQUE COMMENT '用户名',
     password VARCHAR(100) NOT NULL COMMENT '密码（加密存储）',
+    email VARCHAR(100) NULL COMMENT '邮箱',
+    theme TINYINT NOT NULL DEFAULT 0 COMMENT '主题',
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '注册时间',
     updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '信息更新时间'
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户表';
@@ -35,3 +37,29 @@ CREATE TABLE todo (
     FOREIGN KEY (user_id) REFERENCES user(id) ON DELETE CASCADE,
     FOREIGN KEY (category_id) REFERENCES category(id) ON DELETE SET NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='待办事项表';
+
+-- 支持按截止日期倒序的页码分页与游标分页 (due_date, id)
+CREATE INDEX idx_todo_user_due ON todo (user_id, due_date, id);
+-- 按状态或分类过滤时同样按 (due_date, id) 有序，无需额外排序
+CREATE INDEX idx_todo_user_status_due ON todo (user_id, status, due_date, id);
+CREATE INDEX idx_todo_user_category_due ON todo (user_id, category_id, due_date, id);
+
+-- 增量同步: 按更新时间查询用户修改过的数据
+CREATE INDEX idx_todo_user_updated ON todo (user_id, updated_at);
+CREATE INDEX idx_category_user_updated ON category (user_id, updated_at);
+
+-- 同一用户的分类名称唯一，并发创建(如导入时自动创建分类)由数据库保证不重复。
+-- 已有数据库需执行 upgrade/001_category_unique_name.sql 合并重复的分类后创建该索引
+CREATE UNIQUE INDEX uk_category_user_name ON category (user_id, name);
+
+-- 创建删除记录表，增量同步时告知客户端哪些数据已被删除
+CREATE TABLE tombstone (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '记录ID',
+    user_id BIGINT NOT NULL COMMENT '所属用户ID',
+    entity_type VARCHAR(16) NOT NULL COMMENT '被删除的数据类型（todo、category）',
+    entity_id BIGINT NOT NULL COMMENT '被删除的数据ID',
+    deleted_at DATETIME NOT NULL COMMENT '删除时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='删除记录表';
+
+CREATE INDEX idx_tombstone_user_deleted ON tombstone (user_id, deleted_at);
+CREATE INDEX idx_tombstone_deleted ON tombstone (deleted_at);
@@ -0,0 +1,39 @@
+-- 已有数据库升级: 同一用户的分类名称唯一(uk_category_user_name)
+-- 新建的数据库由 init.sql 直接创建该索引，无需执行本脚本。
+-- 新增、修改分类和导入时自动创建分类都依赖该索引保证不重复，升级应用前必须执行。
+-- 名称比较使用列的排序规则(utf8mb4_unicode_ci)，与唯一索引一致: 不区分大小写，忽略末尾空格。
+-- 执行后删除 Redis 中的 clear:counter:todo:* 键，计数会在下次读取时从数据库重建
+USE Clear;
+
+START TRANSACTION;
+
+-- 每组同名分类保留 id 最小的一个，其余的合并到保留的分类
+CREATE TEMPORARY TABLE category_duplicate AS
+SELECT c.id AS id, c.user_id AS user_id, k.keep_id AS keep_id
+FROM category c
+JOIN (
+    SELECT user_id, name, MIN(id) AS keep_id
+    FROM category
+    GROUP BY user_id, name
+    HAVING COUNT(*) > 1
+) k ON c.user_id = k.user_id AND c.name = k.name AND c.id <> k.keep_id;
+
+-- 重复分类下的 To Do 改为保留的分类，updated_at 随之更新，增量同步的客户端会重新拉取
+UPDATE todo t
+JOIN category_duplicate d ON t.category_id = d.id
+SET t.category_id = d.keep_id;
+
+-- 写入删除记录，增量同步的客户端据此移除被合并的分类
+INSERT INTO tombstone (user_id, entity_type, entity_id, deleted_at)
+SELECT user_id, 'category', id, NOW()
+FROM category_duplicate;
+
+DELETE c
+FROM category c
+JOIN category_duplicate d ON c.id = d.id;
+
+COMMIT;
+
+DROP TEMPORARY TABLE category_duplicate;
+
+CREATE UNIQUE INDEX uk_category_user_name ON category (user_id, name);